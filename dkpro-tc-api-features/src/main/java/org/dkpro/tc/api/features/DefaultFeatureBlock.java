@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An immutable block of features which all carry their default value. A feature extractor that
+ * produces many features of which only a few are set for a target, e.g. the top-k n-grams,
+ * returns only the set features and shares one block with all instances. The default features are
+ * added to an {@link Instance} only if a writer asks for the full feature list.
+ */
+public final class DefaultFeatureBlock
+{
+    private final Feature[] features;
+    private final String[] names;
+    private final boolean isZero;
+
+    /**
+     * @param defaultFeatures
+     *            the features of this block with their default values, the features are shared
+     *            between all instances and must not be modified
+     */
+    public DefaultFeatureBlock(Collection<Feature> defaultFeatures)
+    {
+        features = defaultFeatures.toArray(new Feature[0]);
+        Arrays.sort(features);
+
+        names = new String[features.length];
+        boolean zero = true;
+        for (int i = 0; i < features.length; i++) {
+            names[i] = features[i].getName();
+            zero &= isZero(features[i].getValue());
+        }
+        isZero = zero;
+    }
+
+    private static boolean isZero(Object value)
+    {
+        return value instanceof Number && ((Number) value).doubleValue() == 0.0;
+    }
+
+    public int size()
+    {
+        return features.length;
+    }
+
+    /**
+     * @param i
+     *            the position of the feature, features are sorted by name
+     * @return the default feature at this position
+     */
+    public Feature getFeature(int i)
+    {
+        return features[i];
+    }
+
+    public boolean contains(String featureName)
+    {
+        return Arrays.binarySearch(names, featureName) >= 0;
+    }
+
+    /**
+     * @param keep
+     *            decides by the feature name whether a feature is kept
+     * @return this block if all features are kept, otherwise a new block with the kept features
+     */
+    public DefaultFeatureBlock retain(Predicate<String> keep)
+    {
+        List<Feature> kept = null;
+        for (int i = 0; i < features.length; i++) {
+            boolean k = keep.test(names[i]);
+            if (!k && kept == null) {
+                kept = new ArrayList<>(Arrays.asList(features).subList(0, i));
+            }
+            else if (k && kept != null) {
+                kept.add(features[i]);
+            }
+        }
+        return kept == null ? this : new DefaultFeatureBlock(kept);
+    }
+
+    /**
+     * @return true if all default values are numeric zeros, sparse formats can omit such a block
+     *         entirely
+     */
+    public boolean isZero()
+    {
+        return isZero;
+    }
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import org.dkpro.tc.api.exception.TextClassificationException;
+
+/**
+ * Implemented by feature extractors which return only the features that are set for a target. The
+ * remaining features are described once by a shared {@link DefaultFeatureBlock} which is added to
+ * each instance in dense feature mode.
+ */
+public interface DefaultFeatureProvider
+{
+    /**
+     * @return the features this extractor returns when nothing is found for a target, never null
+     * @throws TextClassificationException
+     *             if the default features could not be created
+     */
+    DefaultFeatureBlock getDefaultFeatures() throws TextClassificationException;
+}
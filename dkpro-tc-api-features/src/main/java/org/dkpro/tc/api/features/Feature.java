@@ -68,6 +68,15 @@ public class Feature
         this.type = type;
     }
 
+    /**
+     * @return the escaper shared by all features, its counters tell how well the cache of escaped
+     *         names is sized
+     */
+    public static FeatureNameEscaper getNameEscaper()
+    {
+        return escaper;
+    }
+
     public Set<Feature> asSet()
     {
         Set<Feature> set = new TreeSet<Feature>();
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable mapping of (escaped) feature names to dense integer ids. Ids are assigned in the
+ * lexicographic order of the feature names, i.e. sorting features by their id yields the same order
+ * as sorting them by their name. This allows writers to work on primitive ids instead of repeatedly
+ * hashing and comparing feature name strings.
+ */
+public class FeatureDictionary
+    implements FeatureVocabulary
+{
+    private final String[] id2name;
+    private final Map<String, Integer> name2id;
+
+    public FeatureDictionary(Collection<String> featureNames)
+    {
+        TreeSet<String> sorted = new TreeSet<>(featureNames);
+        id2name = new String[sorted.size()];
+        name2id = new HashMap<>(sorted.size() * 4 / 3 + 1);
+
+        int id = 0;
+        for (String name : sorted) {
+            id2name[id] = name;
+            name2id.put(name, id);
+            id++;
+        }
+    }
+
+    /**
+     * @param featureName
+     *            the name of a feature
+     * @return the id of the feature or -1 if the feature is not part of this dictionary
+     */
+    public int getId(String featureName)
+    {
+        Integer id = name2id.get(featureName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id
+     *            an id of this dictionary
+     * @return the feature name with this id
+     */
+    public String getName(int id)
+    {
+        return id2name[id];
+    }
+
+    @Override
+    public boolean contains(String featureName)
+    {
+        return name2id.containsKey(featureName);
+    }
+
+    public int size()
+    {
+        return id2name.length;
+    }
+
+    /**
+     * @return all feature names sorted in the order of their ids
+     */
+    public List<String> getNames()
+    {
+        List<String> names = new ArrayList<>(id2name.length);
+        Collections.addAll(names, id2name);
+        return names;
+    }
+}
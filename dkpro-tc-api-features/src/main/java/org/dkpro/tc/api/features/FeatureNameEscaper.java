@@ -17,25 +17,66 @@
  ******************************************************************************/
 package org.dkpro.tc.api.features;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.util.FeatureUtil;
 
 /**
  * Escapes features to ensure that they do not contain non-standard characters.
- * This class is thread-safe if used as static instance.
+ * This class is thread-safe and does not block.
+ * <p>
+ * Names that need no escaping are returned as they are and never cached. The
+ * escaped forms of all other names are kept in a bounded cache of two
+ * generations: new entries go into the current generation, once it is full it
+ * becomes the previous one and the old previous generation is dropped. An entry
+ * that is hit in the previous generation moves to the current one, so names
+ * that are used over and over survive while the long tail of an open
+ * vocabulary is evicted. The capacity defaults to {@value #DEFAULT_CAPACITY}
+ * and can be set with the system property {@value #PROP_CAPACITY}, a capacity
+ * of zero disables caching.
  */
 public class FeatureNameEscaper {
 
-	private Map<String, String> mapping = new HashMap<>();
-	private Semaphore createLock = new Semaphore(1);
+	/**
+	 * System property to set the capacity of the escaper used by
+	 * {@link Feature}.
+	 */
+	public static final String PROP_CAPACITY = "dkpro.tc.featureNameEscaper.capacity";
+
+	public static final int DEFAULT_CAPACITY = 100000;
+
+	private final int generationSize;
+	private final AtomicReference<Generations> generations;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder bypasses = new LongAdder();
+
+	public FeatureNameEscaper() {
+		this(Integer.getInteger(PROP_CAPACITY, DEFAULT_CAPACITY));
+	}
 
 	/**
-	 * Escapes feature names. The substitution is synchronized by
-	 * a @link{java.util.concurrent.Semaphore} if used by multiple threads.
+	 * @param capacity
+	 *            the maximal number of escaped names that are kept, zero
+	 *            disables caching
+	 */
+	public FeatureNameEscaper(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative but was [" + capacity + "]");
+		}
+		generationSize = capacity / 2;
+		generations = new AtomicReference<>(new Generations(new ConcurrentHashMap<>(),
+				new ConcurrentHashMap<>()));
+	}
+
+	/**
+	 * Escapes feature names.
 	 * 
 	 * @param rawName
 	 *            the unescaped name of the feature
@@ -46,20 +87,120 @@ public class FeatureNameEscaper {
 	 */
 	public String escape(String rawName) throws TextClassificationException {
 
-		if (mapping.containsKey(rawName)) {
-			return mapping.get(rawName);
+		if (!requiresEscaping(rawName)) {
+			bypasses.increment();
+			return rawName;
+		}
+
+		if (generationSize == 0) {
+			misses.increment();
+			return FeatureUtil.escapeFeatureName(rawName);
 		}
 
-		String escaped = rawName;
-		try {
-			createLock.acquire();
+		Generations g = generations.get();
+		String escaped = g.current.get(rawName);
+		if (escaped != null) {
+			hits.increment();
+			return escaped;
+		}
+
+		escaped = g.previous.get(rawName);
+		if (escaped != null) {
+			hits.increment();
+		} else {
+			misses.increment();
 			escaped = FeatureUtil.escapeFeatureName(rawName);
-			mapping.put(rawName, escaped);
-			createLock.release();
-		} catch (InterruptedException e) {
-			throw new TextClassificationException(e);
+		}
+
+		g.current.put(rawName, escaped);
+		if (g.current.size() >= generationSize) {
+			rotate(g);
 		}
 
 		return escaped;
 	}
+
+	private void rotate(Generations full) {
+		// only one of several threads that see the full generation succeeds, the
+		// others continue with the new generations on their next call
+		Generations next = new Generations(new ConcurrentHashMap<>(), full.current);
+		if (generations.compareAndSet(full, next)) {
+			evictions.add(full.previous.size());
+		}
+	}
+
+	/**
+	 * Mirrors the character test of
+	 * {@link FeatureUtil#escapeFeatureName(String)}.
+	 */
+	static boolean requiresEscaping(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c != '_' && !Character.isLetterOrDigit(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return number of lookups answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return number of lookups for which the name had to be escaped
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return number of cached names that have been dropped
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return number of lookups of names that need no escaping and bypassed
+	 *         the cache
+	 */
+	public long getBypassCount() {
+		return bypasses.sum();
+	}
+
+	/**
+	 * @return the current number of cached names
+	 */
+	public int size() {
+		Generations g = generations.get();
+		return g.current.size() + g.previous.size();
+	}
+
+	/**
+	 * @return the maximal number of cached names
+	 */
+	public int getCapacity() {
+		return generationSize * 2;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d, bypasses=%d)",
+				FeatureNameEscaper.class.getSimpleName(), size(), getCapacity(), getHitCount(), getMissCount(),
+				getEvictionCount(), getBypassCount());
+	}
+
+	private static final class Generations {
+		final Map<String, String> current;
+		final Map<String, String> previous;
+
+		Generations(Map<String, String> current, Map<String, String> previous) {
+			this.current = current;
+			this.previous = previous;
+		}
+	}
 }
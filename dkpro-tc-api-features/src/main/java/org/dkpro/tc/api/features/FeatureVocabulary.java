@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+/**
+ * A set of known feature names, for instance the features seen during training or the features a
+ * data writer has attributes for. Implementations are expected to answer lookups in constant time.
+ */
+public interface FeatureVocabulary
+{
+    /**
+     * @param featureName
+     *            the (escaped) name of a feature
+     * @return true if the feature is part of this vocabulary
+     */
+    boolean contains(String featureName);
+
+    /**
+     * Removes all features from the instance that are not part of this vocabulary.
+     * 
+     * @param instance
+     *            the instance to filter
+     */
+    default void retainKnownFeatures(Instance instance)
+    {
+        instance.retainFeatures(this::contains);
+    }
+}
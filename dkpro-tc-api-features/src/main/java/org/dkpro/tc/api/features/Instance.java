@@ -20,18 +20,31 @@ package org.dkpro.tc.api.features;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang.StringUtils;
 
 /**
  * Internal representation of an instance.
- *
+ * 
+ * Features are kept sorted by name while the instance is assembled, each modification restores
+ * the order. Features which carry their default value can be attached as shared
+ * {@link DefaultFeatureBlock}s, they are only merged into the list that {@link #getFeatures()}
+ * returns.
+ * 
+ * The read accessors {@link #getFeatures()}, {@link #getSparseFeatures()} and
+ * {@link #getNumberOfFeatures()} do not modify the instance, an instance that is no longer
+ * modified can be read by several threads.
  */
 public class Instance
 {
     private List<Feature> features;
+    private transient List<DefaultFeatureBlock> defaultBlocks;
     private List<String> outcomes;
     private double weight;
     private int sequenceId;
@@ -46,25 +59,30 @@ public class Instance
 
     public Instance(Collection<Feature> features, String outcome)
     {
-        this.features = new ArrayList<Feature>(features);
-        this.features.sort(getComparator());
+        this.features = sorted(features);
         this.outcomes = new ArrayList<String>();
         this.outcomes.add(outcome.intern());
     }
 
     public Instance(Collection<Feature> features, String... outcomes)
     {
-        this.features = new ArrayList<Feature>(features);
-        this.features.sort(getComparator());
+        this.features = sorted(features);
         this.outcomes = Arrays.asList(outcomes);
     }
 
     public Instance(Collection<Feature> features, List<String> outcomes)
     {
-        this.features = new ArrayList<Feature>(features);
+        this.features = sorted(features);
         this.outcomes = outcomes;
     }
 
+    private static List<Feature> sorted(Collection<Feature> features)
+    {
+        List<Feature> list = new ArrayList<Feature>(features);
+        list.sort(getComparator());
+        return list;
+    }
+
     public void setOutcomes(Collection<String> outcomes)
     {
         this.outcomes.clear();
@@ -73,16 +91,69 @@ public class Instance
 
     public void addFeature(Feature feature)
     {
-        features.add(feature);
-        features.sort(getComparator());
+        int last = features.size() - 1;
+        if (last < 0 || getComparator().compare(features.get(last), feature) <= 0) {
+            features.add(feature);
+            return;
+        }
+        int pos = Collections.binarySearch(features, feature, getComparator());
+        features.add(pos < 0 ? -pos - 1 : pos, feature);
     }
 
     public void addFeatures(Collection<Feature> featureCollection)
     {
         features.addAll(featureCollection);
+        // the list consists of sorted runs, which makes the sort close to linear
         features.sort(getComparator());
     }
 
+    /**
+     * Attaches a block of default features. A feature of the block is only part of this instance if
+     * no feature with the same name is set explicitly.
+     * 
+     * @param block
+     *            the shared block of default features
+     */
+    public void addDefaultFeatures(DefaultFeatureBlock block)
+    {
+        if (defaultBlocks == null) {
+            defaultBlocks = new ArrayList<>();
+        }
+        defaultBlocks.add(block);
+    }
+
+    /**
+     * Adds the features of all attached default blocks that are not set explicitly to the feature
+     * list. Must be called before the instance is serialized as the blocks are not serialized.
+     */
+    public void fillDefaultFeatures()
+    {
+        if (defaultBlocks == null) {
+            return;
+        }
+        features = withDefaultFeatures();
+        defaultBlocks = null;
+    }
+
+    private List<Feature> withDefaultFeatures()
+    {
+        List<Feature> all = new ArrayList<>(features);
+        Set<String> names = new HashSet<>();
+        for (Feature f : features) {
+            names.add(f.getName());
+        }
+        for (DefaultFeatureBlock block : defaultBlocks) {
+            for (int i = 0; i < block.size(); i++) {
+                Feature f = block.getFeature(i);
+                if (names.add(f.getName())) {
+                    all.add(f);
+                }
+            }
+        }
+        all.sort(getComparator());
+        return all;
+    }
+
     public String getOutcome()
     {
         if (outcomes.size() > 0) {
@@ -122,15 +193,95 @@ public class Instance
         return this.jcasId;
     }
 
+    /**
+     * Merges the default features into a new list if default blocks are attached, call
+     * {@link #fillDefaultFeatures()} first to merge them only once.
+     * 
+     * @return the unmodifiable features of this instance sorted by their name, including the
+     *         features of the default blocks
+     */
     public Collection<Feature> getFeatures()
     {
-        return features;
+        if (defaultBlocks == null) {
+            return Collections.unmodifiableList(features);
+        }
+        return Collections.unmodifiableList(withDefaultFeatures());
+    }
+
+    /**
+     * Returns the features of this instance without the default features whose value is zero. Sparse
+     * formats, which treat missing features as zero, should prefer this method over
+     * {@link #getFeatures()}.
+     * 
+     * @return the unmodifiable features sorted by their name
+     */
+    public Collection<Feature> getSparseFeatures()
+    {
+        if (defaultBlocks != null) {
+            for (DefaultFeatureBlock block : defaultBlocks) {
+                if (!block.isZero()) {
+                    return getFeatures();
+                }
+            }
+        }
+        return Collections.unmodifiableList(features);
+    }
+
+    /**
+     * @return the number of features of this instance including the features of the default
+     *         blocks
+     */
+    public int getNumberOfFeatures()
+    {
+        if (defaultBlocks == null) {
+            return features.size();
+        }
+        int count = features.size();
+        Set<String> names = new HashSet<>();
+        for (Feature f : features) {
+            names.add(f.getName());
+        }
+        for (DefaultFeatureBlock block : defaultBlocks) {
+            for (int i = 0; i < block.size(); i++) {
+                if (names.add(block.getFeature(i).getName())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all features whose name is not accepted, including the features of the default
+     * blocks. The default blocks stay attached and are not added to the feature list.
+     * 
+     * @param keep
+     *            decides by the feature name whether a feature is kept
+     */
+    public void retainFeatures(Predicate<String> keep)
+    {
+        List<Feature> kept = new ArrayList<>(features.size());
+        for (Feature f : features) {
+            if (keep.test(f.getName())) {
+                kept.add(f);
+            }
+        }
+        if (kept.size() != features.size()) {
+            // filtering keeps the order, a sorted list stays sorted
+            features = kept;
+        }
+
+        if (defaultBlocks != null) {
+            for (int i = 0; i < defaultBlocks.size(); i++) {
+                defaultBlocks.set(i, defaultBlocks.get(i).retain(keep));
+            }
+        }
     }
 
     public void setFeatures(Collection<Feature> featureSet)
     {
-        features = new ArrayList<Feature>(featureSet);
-        features.sort(getComparator());
+        features = sorted(featureSet);
+        defaultBlocks = null;
     }
 
     /**
@@ -174,17 +325,19 @@ public class Instance
         return sb.toString();
     }
 
-    private Comparator<Feature> getComparator()
+    private static Comparator<Feature> getComparator()
     {
-        return new Comparator<Feature>()
-        {
-
-            @Override
-            public int compare(Feature o1, Feature o2)
-            {
-                return o1.name.compareTo(o2.name);
-            }
-        };
+        return NAME_COMPARATOR;
     }
 
+    private static final Comparator<Feature> NAME_COMPARATOR = new Comparator<Feature>()
+    {
+
+        @Override
+        public int compare(Feature o1, Feature o2)
+        {
+            return o1.name.compareTo(o2.name);
+        }
+    };
+
 }
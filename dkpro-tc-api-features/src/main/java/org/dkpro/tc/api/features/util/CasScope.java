@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.uima.cas.CAS;
+import org.apache.uima.jcas.JCas;
+
+/**
+ * Holds values derived from a CAS, e.g. annotation indexes, which all feature extractors share
+ * while this CAS is processed. The component that runs the feature extractors opens a scope when
+ * a new CAS arrives and closes it once all extractors are done with the CAS:
+ *
+ * <pre>
+ * try (CasScope scope = CasScope.open(jcas)) {
+ *     // run the feature extractors
+ * }
+ * </pre>
+ *
+ * A scope is bound to the opening thread. Values are only cached for the CAS the scope was opened
+ * for, including its views. Without an open scope, {@link #get} returns null and callers compute
+ * the value on each call.
+ */
+public final class CasScope
+    implements AutoCloseable
+{
+    private static final ThreadLocal<CasScope> CURRENT = new ThreadLocal<>();
+
+    private final CAS cas;
+    private final CasScope enclosing;
+    private final Map<CAS, Map<String, Object>> values;
+
+    private CasScope(CAS cas, CasScope enclosing, Map<CAS, Map<String, Object>> values)
+    {
+        this.cas = cas;
+        this.enclosing = enclosing;
+        this.values = values;
+    }
+
+    /**
+     * Opens a scope for the CAS of the given view. If a scope for the same CAS is open already,
+     * the new scope shares its values.
+     *
+     * @param aJCas
+     *            any view of the CAS
+     * @return the scope, which has to be closed by the caller
+     */
+    public static CasScope open(JCas aJCas)
+    {
+        CAS cas = aJCas.getCasImpl().getBaseCAS();
+        CasScope current = CURRENT.get();
+        Map<CAS, Map<String, Object>> values = current != null && current.cas == cas
+                ? current.values : new HashMap<>();
+        CasScope scope = new CasScope(cas, current, values);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @param aJCas
+     *            the view the value was derived from
+     * @param aKey
+     *            the key of the value
+     * @param aType
+     *            the class of the value
+     * @return the value or null if no scope is open for the CAS or the value has not been stored
+     */
+    public static <T> T get(JCas aJCas, String aKey, Class<T> aType)
+    {
+        CasScope scope = getScope(aJCas);
+        if (scope == null) {
+            return null;
+        }
+        Map<String, Object> viewValues = scope.values.get(aJCas.getCas());
+        return viewValues != null ? aType.cast(viewValues.get(aKey)) : null;
+    }
+
+    /**
+     * Stores a value for the remainder of the scope. Does nothing if no scope is open for the CAS.
+     *
+     * @param aJCas
+     *            the view the value was derived from
+     * @param aKey
+     *            the key of the value
+     * @param aValue
+     *            the value
+     */
+    public static void put(JCas aJCas, String aKey, Object aValue)
+    {
+        CasScope scope = getScope(aJCas);
+        if (scope != null) {
+            scope.values.computeIfAbsent(aJCas.getCas(), k -> new HashMap<>()).put(aKey, aValue);
+        }
+    }
+
+    private static CasScope getScope(JCas aJCas)
+    {
+        CasScope scope = CURRENT.get();
+        if (scope == null || scope.cas != aJCas.getCasImpl().getBaseCAS()) {
+            return null;
+        }
+        return scope;
+    }
+
+    @Override
+    public void close()
+    {
+        if (enclosing == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(enclosing);
+        }
+    }
+}
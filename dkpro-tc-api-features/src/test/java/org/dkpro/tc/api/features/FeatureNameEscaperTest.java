@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dkpro.tc.api.features.util.FeatureUtil;
+import org.junit.Test;
+
+public class FeatureNameEscaperTest
+{
+    @Test
+    public void namesWithoutSpecialCharactersBypassTheCache() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(10);
+
+        assertEquals("plain_name12", escaper.escape("plain_name12"));
+        assertEquals(0, escaper.size());
+        assertEquals(1, escaper.getBypassCount());
+        assertEquals(0, escaper.getMissCount());
+    }
+
+    @Test
+    public void escapedNamesAreCached() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(10);
+
+        assertEquals("mYu38u35u64u92u40_feature12", escaper.escape("mY&#@\\(_feature12"));
+        assertEquals("mYu38u35u64u92u40_feature12", escaper.escape("mY&#@\\(_feature12"));
+        assertEquals(1, escaper.getMissCount());
+        assertEquals(1, escaper.getHitCount());
+        assertEquals(1, escaper.size());
+    }
+
+    @Test
+    public void cacheIsBounded() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(10);
+
+        for (int i = 0; i < 1000; i++) {
+            String raw = "n-" + i;
+            assertEquals(FeatureUtil.escapeFeatureName(raw), escaper.escape(raw));
+            assertTrue(escaper.size() <= escaper.getCapacity());
+        }
+        assertEquals(1000, escaper.getMissCount());
+        assertEquals(1000, escaper.size() + escaper.getEvictionCount());
+    }
+
+    @Test
+    public void frequentNamesSurviveEviction() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(10);
+
+        escaper.escape("frequent-name");
+        for (int i = 0; i < 100; i++) {
+            escaper.escape("rare-" + i);
+            escaper.escape("frequent-name");
+        }
+        assertEquals(100, escaper.getHitCount());
+        assertEquals(101, escaper.getMissCount());
+    }
+
+    @Test
+    public void zeroCapacityDisablesCaching() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(0);
+
+        assertEquals("au45b", escaper.escape("a-b"));
+        assertEquals("au45b", escaper.escape("a-b"));
+        assertEquals(0, escaper.size());
+        assertEquals(2, escaper.getMissCount());
+    }
+
+    @Test
+    public void concurrentEscaping() throws Exception
+    {
+        FeatureNameEscaper escaper = new FeatureNameEscaper(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        String raw = "name." + (i % 200);
+                        if (!FeatureUtil.escapeFeatureName(raw).equals(escaper.escape(raw))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> r : results) {
+                assertTrue(r.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertEquals(40000, escaper.getHitCount() + escaper.getMissCount());
+    }
+}
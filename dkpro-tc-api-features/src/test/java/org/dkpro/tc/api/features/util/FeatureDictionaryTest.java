@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.api.features.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureDictionary;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.junit.Test;
+
+public class FeatureDictionaryTest
+{
+    @Test
+    public void idsFollowTheNameOrder()
+    {
+        FeatureDictionary dictionary = new FeatureDictionary(
+                Arrays.asList("ngram_c", "ngram_a", "ngram_b", "ngram_a"));
+
+        assertEquals(3, dictionary.size());
+        assertEquals(0, dictionary.getId("ngram_a"));
+        assertEquals(1, dictionary.getId("ngram_b"));
+        assertEquals(2, dictionary.getId("ngram_c"));
+        assertEquals("ngram_b", dictionary.getName(1));
+        assertEquals(Arrays.asList("ngram_a", "ngram_b", "ngram_c"), dictionary.getNames());
+    }
+
+    @Test
+    public void unknownFeatureNames()
+    {
+        FeatureDictionary dictionary = new FeatureDictionary(Arrays.asList("ngram_a"));
+
+        assertTrue(dictionary.contains("ngram_a"));
+        assertFalse(dictionary.contains("ngram_x"));
+        assertEquals(-1, dictionary.getId("ngram_x"));
+    }
+
+    @Test
+    public void retainKnownFeatures() throws Exception
+    {
+        FeatureDictionary dictionary = new FeatureDictionary(Arrays.asList("ngram_a", "ngram_c"));
+
+        Instance instance = new Instance();
+        instance.addFeature(new Feature("ngram_c", 1, FeatureType.NUMERIC));
+        instance.addFeature(new Feature("ngram_b", 1, FeatureType.NUMERIC));
+        instance.addFeature(new Feature("ngram_a", 1, FeatureType.NUMERIC));
+
+        dictionary.retainKnownFeatures(instance);
+
+        assertEquals(2, instance.getNumberOfFeatures());
+        Iterator<Feature> iterator = instance.getFeatures().iterator();
+        assertEquals("ngram_a", iterator.next().getName());
+        assertEquals("ngram_c", iterator.next().getName());
+    }
+}
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.DefaultFeatureBlock;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
@@ -257,4 +258,106 @@ public class InstanceTest
         assertEquals(3, i.getSequencePosition());
         assertTrue(i.toString().startsWith("4711-234"));
     }
+
+    @Test
+    public void instanceFeaturesAreSortedByNameOnAccess() throws Exception
+    {
+        Instance instance = new Instance();
+        instance.addFeature(new Feature("featureC", 1, FeatureType.NUMERIC));
+        instance.addFeatures(Arrays.asList(new Feature("featureB", 2, FeatureType.NUMERIC),
+                new Feature("featureA", 3, FeatureType.NUMERIC)));
+        assertEquals(3, instance.getNumberOfFeatures());
+
+        Iterator<Feature> iterator = instance.getFeatures().iterator();
+        assertEquals("featureA", iterator.next().getName());
+        assertEquals("featureB", iterator.next().getName());
+        assertEquals("featureC", iterator.next().getName());
+
+        instance.addFeature(new Feature("feature0", 4, FeatureType.NUMERIC));
+        assertEquals("feature0", instance.getFeatures().iterator().next().getName());
+    }
+
+    @Test
+    public void defaultFeaturesAreFilledInOnlyForUnsetFeatures() throws Exception
+    {
+        DefaultFeatureBlock block = new DefaultFeatureBlock(
+                Arrays.asList(new Feature("ngram_b", 0, true, FeatureType.BOOLEAN),
+                        new Feature("ngram_a", 0, true, FeatureType.BOOLEAN),
+                        new Feature("ngram_c", 0, true, FeatureType.BOOLEAN)));
+        assertTrue(block.isZero());
+        assertTrue(block.contains("ngram_a"));
+
+        Instance instance = new Instance();
+        instance.addFeature(new Feature("ngram_b", 1, false, FeatureType.BOOLEAN));
+        instance.addDefaultFeatures(block);
+
+        // zero defaults are omitted in the sparse view
+        assertEquals(1, instance.getSparseFeatures().size());
+
+        List<Feature> features = new ArrayList<>(instance.getFeatures());
+        assertEquals(3, features.size());
+        assertEquals("ngram_a", features.get(0).getName());
+        assertEquals(0, features.get(0).getValue());
+        assertEquals("ngram_b", features.get(1).getName());
+        assertEquals(1, features.get(1).getValue());
+        assertEquals("ngram_c", features.get(2).getName());
+        assertEquals(0, features.get(2).getValue());
+    }
+
+    @Test
+    public void retainFeaturesFiltersDefaultBlocksWithoutFillingThem() throws Exception
+    {
+        DefaultFeatureBlock block = new DefaultFeatureBlock(
+                Arrays.asList(new Feature("ngram_a", 0, true, FeatureType.BOOLEAN),
+                        new Feature("ngram_b", 0, true, FeatureType.BOOLEAN),
+                        new Feature("ngram_c", 0, true, FeatureType.BOOLEAN)));
+        assertTrue(block.retain(name -> true) == block);
+
+        Instance instance = new Instance();
+        instance.addFeature(new Feature("ngram_b", 1, false, FeatureType.BOOLEAN));
+        instance.addFeature(new Feature("unknown", 1, FeatureType.NUMERIC));
+        instance.addDefaultFeatures(block);
+
+        instance.retainFeatures(name -> !name.equals("unknown") && !name.equals("ngram_c"));
+
+        assertEquals(1, instance.getSparseFeatures().size());
+
+        List<Feature> features = new ArrayList<>(instance.getFeatures());
+        assertEquals(2, features.size());
+        assertEquals("ngram_a", features.get(0).getName());
+        assertEquals("ngram_b", features.get(1).getName());
+        assertEquals(1, features.get(1).getValue());
+    }
+
+    @Test
+    public void readAccessorsDoNotModifyTheInstance() throws Exception
+    {
+        DefaultFeatureBlock block = new DefaultFeatureBlock(
+                Arrays.asList(new Feature("ngram_a", 0, true, FeatureType.BOOLEAN),
+                        new Feature("ngram_b", 0, true, FeatureType.BOOLEAN)));
+
+        Instance instance = new Instance();
+        instance.addFeature(new Feature("ngram_c", 1, false, FeatureType.BOOLEAN));
+        instance.addFeature(new Feature("ngram_b", 1, false, FeatureType.BOOLEAN));
+        instance.addDefaultFeatures(block);
+
+        assertEquals(3, instance.getNumberOfFeatures());
+        assertEquals(3, instance.getFeatures().size());
+        // the full list did not fill in the defaults
+        List<Feature> sparse = new ArrayList<>(instance.getSparseFeatures());
+        assertEquals(2, sparse.size());
+        assertEquals("ngram_b", sparse.get(0).getName());
+        assertEquals("ngram_c", sparse.get(1).getName());
+
+        try {
+            instance.getFeatures().clear();
+            fail("Expected the feature list to be unmodifiable");
+        }
+        catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        instance.fillDefaultFeatures();
+        assertEquals(3, instance.getSparseFeatures().size());
+    }
 }
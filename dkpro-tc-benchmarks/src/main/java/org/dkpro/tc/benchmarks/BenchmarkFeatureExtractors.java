@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.features.pair.core.length.DiffNrOfSentencesPairFeatureExtractor;
+import org.dkpro.tc.features.pair.core.length.DiffNrOfTokensPairFeatureExtractor;
+import org.dkpro.tc.features.style.InitialCharacterUpperCase;
+import org.dkpro.tc.features.twitter.NumberOfHashTags;
+
+/**
+ * The feature extractor sets the benchmarks run per feature mode. Only extractors that do not
+ * depend on a meta collection step are used, the benchmarks measure the per-CAS costs.
+ */
+public class BenchmarkFeatureExtractors
+{
+    private BenchmarkFeatureExtractors()
+    {
+        // static utility
+    }
+
+    public static FeatureExtractorResource_ImplBase[] create(String featureMode) throws Exception
+    {
+        List<Class<? extends FeatureExtractorResource_ImplBase>> classes = new ArrayList<>();
+        switch (featureMode) {
+        case Constants.FM_DOCUMENT:
+            classes.add(NumberOfHashTags.class);
+            classes.add(TokenCountFeatureExtractor.class);
+            break;
+        case Constants.FM_UNIT:
+        case Constants.FM_SEQUENCE:
+            classes.add(InitialCharacterUpperCase.class);
+            classes.add(TokenCountFeatureExtractor.class);
+            break;
+        case Constants.FM_PAIR:
+            classes.add(DiffNrOfTokensPairFeatureExtractor.class);
+            classes.add(DiffNrOfSentencesPairFeatureExtractor.class);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown feature mode [" + featureMode + "]");
+        }
+
+        FeatureExtractorResource_ImplBase[] extractors = new FeatureExtractorResource_ImplBase[classes
+                .size()];
+        for (int i = 0; i < extractors.length; i++) {
+            ExternalResourceDescription desc = ExternalResourceFactory
+                    .createExternalResourceDescription(classes.get(i),
+                            FeatureExtractorResource_ImplBase.PARAM_UNIQUE_EXTRACTOR_NAME,
+                            classes.get(i).getSimpleName());
+            extractors[i] = (FeatureExtractorResource_ImplBase) UIMAFramework
+                    .produceResource(desc.getResourceSpecifier(), null);
+        }
+        return extractors;
+    }
+}
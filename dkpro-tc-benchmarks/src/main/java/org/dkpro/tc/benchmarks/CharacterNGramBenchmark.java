@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.features.ngram.meta.CharacterNGramMC;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+
+/**
+ * Cost of {@link CharacterNGramMC#getAnnotationCharacterNgrams} for whole documents and for the
+ * single tokens a unit or sequence setup passes in. One operation is one document.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterNGramBenchmark
+{
+    @Param("20")
+    public int documents;
+
+    @Param({ "5", "50" })
+    public int sentences;
+
+    @Param("15")
+    public int tokensPerSentence;
+
+    @Param("2")
+    public int minN;
+
+    @Param("4")
+    public int maxN;
+
+    private List<TextClassificationTarget> targets;
+    private List<List<Token>> tokens;
+    private int cursor;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        List<JCas> corpus = new SyntheticCorpus(42, 5000).createCorpus(Constants.FM_DOCUMENT,
+                documents, sentences, tokensPerSentence);
+        targets = new ArrayList<>();
+        tokens = new ArrayList<>();
+        for (JCas jcas : corpus) {
+            targets.add(JCasUtil.selectSingle(jcas, TextClassificationTarget.class));
+            tokens.add(new ArrayList<>(JCasUtil.select(jcas, Token.class)));
+        }
+    }
+
+    @Benchmark
+    public FrequencyDistribution<String> documentNgrams()
+    {
+        TextClassificationTarget target = targets.get(cursor);
+        cursor = (cursor + 1) % targets.size();
+        return CharacterNGramMC.getAnnotationCharacterNgrams(target, true, minN, maxN,
+                CharacterNGramMC.CHAR_WORD_BEGIN, CharacterNGramMC.CHAR_WORD_END);
+    }
+
+    @Benchmark
+    public void tokenNgrams(Blackhole bh)
+    {
+        List<Token> documentTokens = tokens.get(cursor);
+        cursor = (cursor + 1) % tokens.size();
+        for (Token t : documentTokens) {
+            bh.consume(CharacterNGramMC.getAnnotationCharacterNgrams(t, true, minN, maxN,
+                    CharacterNGramMC.CHAR_WORD_BEGIN, CharacterNGramMC.CHAR_WORD_END));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.JsonDataWriter;
+import org.dkpro.tc.core.task.uima.InstanceExtractor;
+import org.dkpro.tc.io.libsvm.LibsvmDataFormatWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of serializing the instances of one CAS with {@link LibsvmDataFormatWriter} and the
+ * Gson-based {@link JsonDataWriter}. The output goes to a temporary folder which is reset before
+ * each iteration, so the file sizes stay bounded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataWriterBenchmark
+{
+    private static final String[] OUTCOMES = { "NEG", "NEU", "POS" };
+
+    @Param({ Constants.FM_DOCUMENT, Constants.FM_UNIT })
+    public String featureMode;
+
+    @Param("20")
+    public int documents;
+
+    @Param("10")
+    public int sentences;
+
+    @Param("15")
+    public int tokensPerSentence;
+
+    private List<List<Instance>> batches;
+    private File outputFolder;
+    private LibsvmDataFormatWriter libsvmWriter;
+    private JsonDataWriter jsonWriter;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception
+    {
+        List<JCas> corpus = new SyntheticCorpus(42, 5000).createCorpus(featureMode, documents,
+                sentences, tokensPerSentence);
+        InstanceExtractor extractor = new InstanceExtractor(featureMode,
+                BenchmarkFeatureExtractors.create(featureMode), true);
+
+        batches = new ArrayList<>();
+        Set<String> featureNames = new TreeSet<>();
+        for (JCas jcas : corpus) {
+            List<Instance> instances = extractor.getInstances(jcas, true);
+            for (Instance i : instances) {
+                for (Feature f : i.getFeatures()) {
+                    featureNames.add(f.getName());
+                }
+            }
+            batches.add(instances);
+        }
+
+        outputFolder = Files.createTempDirectory("dkpro-tc-benchmark").toFile();
+        FileUtils.writeLines(new File(outputFolder, Constants.FILENAME_FEATURES), UTF_8.name(),
+                featureNames);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws Exception
+    {
+        FileUtils.deleteQuietly(new File(outputFolder, JsonDataWriter.JSON_FILE_NAME));
+
+        libsvmWriter = new LibsvmDataFormatWriter();
+        libsvmWriter.init(outputFolder, true, Constants.LM_SINGLE_LABEL, featureMode, false,
+                OUTCOMES);
+        jsonWriter = new JsonDataWriter();
+        jsonWriter.init(outputFolder, true, Constants.LM_SINGLE_LABEL, featureMode, false,
+                OUTCOMES);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws Exception
+    {
+        libsvmWriter.close();
+        jsonWriter.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial()
+    {
+        FileUtils.deleteQuietly(outputFolder);
+    }
+
+    private List<Instance> next()
+    {
+        List<Instance> batch = batches.get(cursor);
+        cursor = (cursor + 1) % batches.size();
+        return batch;
+    }
+
+    @Benchmark
+    public void libsvm() throws Exception
+    {
+        libsvmWriter.writeClassifierFormat(next());
+    }
+
+    @Benchmark
+    public void json() throws Exception
+    {
+        jsonWriter.writeClassifierFormat(next());
+    }
+}
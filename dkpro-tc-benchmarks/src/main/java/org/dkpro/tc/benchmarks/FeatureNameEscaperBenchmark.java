@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dkpro.tc.api.features.FeatureNameEscaper;
+import org.dkpro.tc.api.features.util.FeatureUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of escaping feature names with the shared {@link FeatureNameEscaper}, single-threaded and
+ * contended, compared against the uncached {@link FeatureUtil#escapeFeatureName(String)}. A part
+ * of the names contains characters that require escaping, as n-gram names over punctuation do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureNameEscaperBenchmark
+{
+    private static final String[] SPECIAL = { "-", "'", ".", "ä", "#", "," };
+
+    @Param({ "1000", "100000" })
+    public int distinctNames;
+
+    private String[] names;
+    private FeatureNameEscaper escaper;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        Random random = new Random(42);
+        names = new String[distinctNames];
+        for (int i = 0; i < distinctNames; i++) {
+            StringBuilder sb = new StringBuilder("ngram_");
+            sb.append(Integer.toString(i, 36));
+            if (random.nextInt(4) == 0) {
+                sb.append(SPECIAL[random.nextInt(SPECIAL.length)]);
+                sb.append(Integer.toString(random.nextInt(1000), 36));
+            }
+            names[i] = sb.toString();
+        }
+
+        // the escaper is warmed up, with more distinct names than fit into its cache the run
+        // measures misses and evictions as well
+        escaper = new FeatureNameEscaper();
+        for (String n : names) {
+            escaper.escape(n);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        int position;
+
+        @Setup
+        public void setup()
+        {
+            position = (int) (Thread.currentThread().getId() * 7919);
+        }
+
+        String next(String[] names)
+        {
+            position = (position + 1) % names.length;
+            return names[position];
+        }
+    }
+
+    @Benchmark
+    public String escapeUncached(Cursor cursor)
+    {
+        return FeatureUtil.escapeFeatureName(cursor.next(names));
+    }
+
+    @Benchmark
+    public String escapeCached(Cursor cursor) throws Exception
+    {
+        return escaper.escape(cursor.next(names));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String escapeCachedContended(Cursor cursor) throws Exception
+    {
+        return escaper.escape(cursor.next(names));
+    }
+}
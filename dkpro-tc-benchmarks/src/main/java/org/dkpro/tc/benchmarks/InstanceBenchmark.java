@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.uima.InstanceExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of building an {@link Instance} from the features of one document, once with the features
+ * added as collection and once one by one, followed by the sorted retrieval every writer performs.
+ * The feature sets are taken from a real extraction run over a synthetic corpus.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstanceBenchmark
+{
+    @Param("20")
+    public int documents;
+
+    @Param({ "5", "50" })
+    public int sentences;
+
+    @Param("15")
+    public int tokensPerSentence;
+
+    private List<List<Feature>> featureSets;
+    private int cursor;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        List<JCas> corpus = new SyntheticCorpus(42, 5000).createCorpus(Constants.FM_DOCUMENT,
+                documents, sentences, tokensPerSentence);
+        InstanceExtractor extractor = new InstanceExtractor(Constants.FM_DOCUMENT,
+                BenchmarkFeatureExtractors.create(Constants.FM_DOCUMENT), true);
+
+        featureSets = new ArrayList<>();
+        for (JCas jcas : corpus) {
+            for (Instance i : extractor.getInstances(jcas, false)) {
+                featureSets.add(new ArrayList<>(i.getFeatures()));
+            }
+        }
+    }
+
+    private List<Feature> next()
+    {
+        List<Feature> features = featureSets.get(cursor);
+        cursor = (cursor + 1) % featureSets.size();
+        return features;
+    }
+
+    @Benchmark
+    public Collection<Feature> addFeatures()
+    {
+        Instance instance = new Instance();
+        instance.addFeatures(next());
+        return instance.getFeatures();
+    }
+
+    @Benchmark
+    public void addFeatureOneByOne(Blackhole bh)
+    {
+        Instance instance = new Instance();
+        for (Feature f : next()) {
+            instance.addFeature(f);
+        }
+        bh.consume(instance.getFeatures());
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.uima.InstanceExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-CAS cost of {@link InstanceExtractor}, i.e. running the feature extractors and assembling
+ * the instances, in all feature modes. One operation is the extraction of one CAS.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstanceExtractorBenchmark
+{
+    @Param({ Constants.FM_DOCUMENT, Constants.FM_UNIT, Constants.FM_SEQUENCE, Constants.FM_PAIR })
+    public String featureMode;
+
+    @Param({ "false", "true" })
+    public boolean sparse;
+
+    @Param("20")
+    public int documents;
+
+    @Param("10")
+    public int sentences;
+
+    @Param("15")
+    public int tokensPerSentence;
+
+    private List<JCas> corpus;
+    private InstanceExtractor extractor;
+    private int cursor;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        corpus = new SyntheticCorpus(42, 5000).createCorpus(featureMode, documents, sentences,
+                tokensPerSentence);
+        extractor = new InstanceExtractor(featureMode,
+                BenchmarkFeatureExtractors.create(featureMode), true);
+    }
+
+    @Benchmark
+    public List<Instance> extract() throws Exception
+    {
+        JCas jcas = corpus.get(cursor);
+        cursor = (cursor + 1) % corpus.size();
+        return extractor.getInstances(jcas, sparse);
+    }
+}
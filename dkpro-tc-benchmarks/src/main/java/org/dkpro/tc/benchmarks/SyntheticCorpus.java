@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.JCasId;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationSequence;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.Constants;
+
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+
+/**
+ * Builds synthetic, but otherwise fully annotated, JCas objects in the shape the feature
+ * extraction expects for each feature mode. The texts are drawn from a generated vocabulary with
+ * a skewed frequency distribution so that frequent and rare tokens are mixed as in natural text.
+ * The same seed always produces the same corpus.
+ */
+public class SyntheticCorpus
+{
+    private static final String[] SYLLABLES = { "ka", "lo", "mi", "ne", "ru", "sa", "te", "vo",
+            "bi", "da", "fe", "gu", "ho", "ji", "pa", "ze" };
+
+    private static final String[] OUTCOMES = { "NEG", "NEU", "POS" };
+
+    private final Random random;
+    private final String[] vocabulary;
+    private int nextId = 0;
+
+    public SyntheticCorpus(long seed, int vocabularySize)
+    {
+        random = new Random(seed);
+        vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary[i] = word(i);
+        }
+    }
+
+    /**
+     * Creates the given number of documents for the feature mode.
+     * 
+     * @param featureMode
+     *            one of the feature modes defined in {@link Constants}
+     * @param documents
+     *            number of documents
+     * @param sentences
+     *            number of sentences per document, in pair mode per view
+     * @param tokensPerSentence
+     *            number of tokens per sentence
+     * @return the annotated documents
+     * @throws Exception
+     *             if a CAS cannot be created
+     */
+    public List<JCas> createCorpus(String featureMode, int documents, int sentences,
+            int tokensPerSentence)
+        throws Exception
+    {
+        List<JCas> corpus = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            corpus.add(createDocument(featureMode, sentences, tokensPerSentence));
+        }
+        return corpus;
+    }
+
+    public JCas createDocument(String featureMode, int sentences, int tokensPerSentence)
+        throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+
+        JCasId id = new JCasId(jcas);
+        id.setId(nextId++);
+        id.addToIndexes();
+
+        switch (featureMode) {
+        case Constants.FM_DOCUMENT:
+            fillText(jcas, sentences, tokensPerSentence);
+            addTarget(jcas, 0, jcas.getDocumentText().length());
+            break;
+        case Constants.FM_UNIT:
+            fillText(jcas, sentences, tokensPerSentence);
+            for (Token t : JCasUtil.select(jcas, Token.class)) {
+                addTarget(jcas, t.getBegin(), t.getEnd());
+            }
+            break;
+        case Constants.FM_SEQUENCE:
+            fillText(jcas, sentences, tokensPerSentence);
+            for (Sentence s : JCasUtil.select(jcas, Sentence.class)) {
+                new TextClassificationSequence(jcas, s.getBegin(), s.getEnd()).addToIndexes();
+            }
+            for (Token t : JCasUtil.select(jcas, Token.class)) {
+                addTarget(jcas, t.getBegin(), t.getEnd());
+            }
+            break;
+        case Constants.FM_PAIR:
+            jcas.setDocumentText("");
+            fillText(jcas.createView(Constants.PART_ONE), sentences, tokensPerSentence);
+            fillText(jcas.createView(Constants.PART_TWO), sentences, tokensPerSentence);
+            addOutcome(jcas, 0, 0);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown feature mode [" + featureMode + "]");
+        }
+
+        return jcas;
+    }
+
+    private void fillText(JCas jcas, int sentences, int tokensPerSentence)
+    {
+        StringBuilder sb = new StringBuilder();
+        List<int[]> tokens = new ArrayList<>();
+        List<int[]> sents = new ArrayList<>();
+
+        for (int s = 0; s < sentences; s++) {
+            int sentenceBegin = sb.length();
+            for (int t = 0; t < tokensPerSentence; t++) {
+                String w = drawWord();
+                if (t == 0) {
+                    w = Character.toUpperCase(w.charAt(0)) + w.substring(1);
+                }
+                tokens.add(new int[] { sb.length(), sb.length() + w.length() });
+                sb.append(w);
+                sb.append(t + 1 < tokensPerSentence ? " " : "");
+            }
+            tokens.add(new int[] { sb.length(), sb.length() + 1 });
+            sb.append(".");
+            sents.add(new int[] { sentenceBegin, sb.length() });
+            sb.append(" ");
+        }
+
+        jcas.setDocumentText(sb.toString().trim());
+        jcas.setDocumentLanguage("en");
+
+        for (int[] s : sents) {
+            new Sentence(jcas, s[0], s[1]).addToIndexes();
+        }
+        for (int[] t : tokens) {
+            new Token(jcas, t[0], t[1]).addToIndexes();
+        }
+    }
+
+    private void addTarget(JCas jcas, int begin, int end)
+    {
+        TextClassificationTarget target = new TextClassificationTarget(jcas, begin, end);
+        target.addToIndexes();
+        addOutcome(jcas, begin, end);
+    }
+
+    private void addOutcome(JCas jcas, int begin, int end)
+    {
+        TextClassificationOutcome outcome = new TextClassificationOutcome(jcas, begin, end);
+        outcome.setOutcome(OUTCOMES[random.nextInt(OUTCOMES.length)]);
+        outcome.setWeight(1.0);
+        outcome.addToIndexes();
+    }
+
+    private String drawWord()
+    {
+        // cubing a uniform draw favours the low ranks, a cheap approximation of Zipf's law
+        double r = random.nextDouble();
+        return vocabulary[(int) (r * r * r * vocabulary.length)];
+    }
+
+    private static String word(int rank)
+    {
+        StringBuilder sb = new StringBuilder();
+        int n = rank;
+        do {
+            sb.append(SYLLABLES[n % SYLLABLES.length]);
+            n /= SYLLABLES.length;
+        }
+        while (n > 0);
+        return sb.toString();
+    }
+}
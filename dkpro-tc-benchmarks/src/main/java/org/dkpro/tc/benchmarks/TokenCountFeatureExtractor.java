@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureExtractor;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+
+/**
+ * Counts the tokens of the target by surface form. Other than the shipped extractors this one
+ * produces an open-ended, vocabulary-sized feature space without a meta collection step, which is
+ * what stresses the instance and writer code paths.
+ */
+public class TokenCountFeatureExtractor
+    extends FeatureExtractorResource_ImplBase
+    implements FeatureExtractor
+{
+    public static final String FEATURE_PREFIX = "tok_";
+
+    @Override
+    public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
+        throws TextClassificationException
+    {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Token t : JCasUtil.selectCovered(jcas, Token.class, aTarget)) {
+            counts.merge(t.getCoveredText(), 1, Integer::sum);
+        }
+
+        Set<Feature> features = new HashSet<>();
+        for (Entry<String, Integer> e : counts.entrySet()) {
+            features.add(new Feature(FEATURE_PREFIX + e.getKey(), e.getValue(), FeatureType.NUMERIC));
+        }
+        return features;
+    }
+}
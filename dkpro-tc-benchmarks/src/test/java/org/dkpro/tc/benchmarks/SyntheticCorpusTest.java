@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationSequence;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.uima.InstanceExtractor;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+
+public class SyntheticCorpusTest
+{
+    @Test
+    public void documentMode() throws Exception
+    {
+        JCas jcas = new SyntheticCorpus(1, 100).createDocument(Constants.FM_DOCUMENT, 3, 4);
+
+        assertEquals(3, JCasUtil.select(jcas, Sentence.class).size());
+        // four words and the full stop per sentence
+        assertEquals(15, JCasUtil.select(jcas, Token.class).size());
+        assertEquals(1, JCasUtil.select(jcas, TextClassificationTarget.class).size());
+        assertEquals(1, JCasUtil.select(jcas, TextClassificationOutcome.class).size());
+        for (Token t : JCasUtil.select(jcas, Token.class)) {
+            assertEquals(t.getCoveredText().trim(), t.getCoveredText());
+        }
+    }
+
+    @Test
+    public void sequenceMode() throws Exception
+    {
+        JCas jcas = new SyntheticCorpus(1, 100).createDocument(Constants.FM_SEQUENCE, 3, 4);
+
+        assertEquals(3, JCasUtil.select(jcas, TextClassificationSequence.class).size());
+        assertEquals(15, JCasUtil.select(jcas, TextClassificationTarget.class).size());
+        assertEquals(15, JCasUtil.select(jcas, TextClassificationOutcome.class).size());
+    }
+
+    @Test
+    public void sameSeedSameCorpus() throws Exception
+    {
+        List<JCas> a = new SyntheticCorpus(7, 100).createCorpus(Constants.FM_UNIT, 2, 2, 5);
+        List<JCas> b = new SyntheticCorpus(7, 100).createCorpus(Constants.FM_UNIT, 2, 2, 5);
+
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getDocumentText(), b.get(i).getDocumentText());
+        }
+    }
+
+    @Test
+    public void extractionInAllModes() throws Exception
+    {
+        String[] modes = { Constants.FM_DOCUMENT, Constants.FM_UNIT, Constants.FM_SEQUENCE,
+                Constants.FM_PAIR };
+        int[] expected = { 1, 10, 10, 1 };
+
+        for (int m = 0; m < modes.length; m++) {
+            JCas jcas = new SyntheticCorpus(1, 100).createDocument(modes[m], 2, 4);
+            InstanceExtractor extractor = new InstanceExtractor(modes[m],
+                    BenchmarkFeatureExtractors.create(modes[m]), true);
+
+            List<Instance> instances = extractor.getInstances(jcas, false);
+            assertEquals(modes[m], expected[m], instances.size());
+        }
+    }
+}
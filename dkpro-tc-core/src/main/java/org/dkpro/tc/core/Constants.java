@@ -201,6 +201,13 @@ public interface Constants
      */
     String DIM_ENFORCE_MATCHING_FEATURES_DURING_TESTING = "enforceMatchingFeatures";
 
+    /**
+     * Number of threads which are used to run the feature extractors. Each thread uses its own
+     * instances of the feature extractors. The meta collectors of the MetaInfoTask are run on the
+     * same number of threads. Defaults to a single thread if not set.
+     */
+    String DIM_EXTRACTION_THREADS = "extractionThreads";
+
     /*
      * Learning modes
      */
@@ -26,9 +26,20 @@ public interface DeepLearningConstants
 
     String FILENAME_PRUNED_EMBEDDING = "prunedEmbedding.txt";
 
+    /**
+     * The pruned embedding as memory-mapped binary file with float32 vectors, which is read with
+     * {@link org.dkpro.tc.core.task.deep.EmbeddingStore}. It holds the same vectors as
+     * {@link #FILENAME_PRUNED_EMBEDDING} and is only written if
+     * {@link #DIM_BINARY_EMBEDDING_FOLDER} is set.
+     */
+    String FILENAME_PRUNED_EMBEDDING_BINARY = "prunedEmbedding.bin";
+
     String FILENAME_INSTANCE_VECTOR = "instanceVectors.txt";
     String FILENAME_OUTCOME_VECTOR = "outcomeVectors.txt";
 
+    String FILENAME_INSTANCE_VECTOR_NUMPY = "instanceVectors.npy";
+    String FILENAME_OUTCOME_VECTOR_NUMPY = "outcomeVectors.npy";
+
     String FILENAME_INSTANCE_MAPPING = "instanceMapping.txt";
     String FILENAME_OUTCOME_MAPPING = "outcomeMapping.txt";
     String FILENAME_VOCABULARY = "vocabulary.txt";
@@ -40,6 +51,15 @@ public interface DeepLearningConstants
     String DIM_MAXIMUM_LENGTH = "dimMaximumLength";
     String DIM_PRETRAINED_EMBEDDINGS = "dimEmbedding";
 
+    /**
+     * Folder in which a text embedding provided by {@link #DIM_PRETRAINED_EMBEDDINGS} is converted
+     * once into a binary embedding, later runs look up the vocabulary in the binary file instead of
+     * scanning the text embedding. If not set, text embeddings are scanned on every run. Binary
+     * embeddings are always used directly. Setting the folder also writes the pruned embedding in
+     * binary format, see {@link #FILENAME_PRUNED_EMBEDDING_BINARY}.
+     */
+    String DIM_BINARY_EMBEDDING_FOLDER = "dimBinaryEmbeddingFolder";
+
     /**
      * Path to the Python installation which should be used to execute the Python code.
      */
@@ -66,6 +86,14 @@ public interface DeepLearningConstants
      */
     String DIM_VECTORIZE_TO_INTEGER = "dimVectorizeToInteger";
 
+    /**
+     * Writes the integer-mapped vectors additionally as NumPy <code>.npy</code> matrices which are
+     * padded to the maximum length. Instance matrices are padded with zero, outcome matrices with
+     * minus one. The user code receives the <code>.npy</code> files instead of the text files.
+     * Requires {@link #DIM_VECTORIZE_TO_INTEGER}.
+     */
+    String DIM_VECTORIZE_TO_NUMPY = "dimVectorizeToNumpy";
+
     /**
      * For specifying a certain seed initialization value. If not provided, this value is
      * initialized with a fixed constant value which is passed to the deep learning code. Depending
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.uima.UimaContext;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.impl.CASMgrSerializer;
+import org.apache.uima.cas.impl.Serialization;
+import org.apache.uima.cas.impl.TypeSystemImpl;
+import org.apache.uima.collection.CollectionException;
+import org.apache.uima.fit.component.CasCollectionReader_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.Progress;
+import org.apache.uima.util.ProgressImpl;
+
+/**
+ * Reads the CAS stored in a container written by the {@link CasContainerWriter}. By default all
+ * CAS are read in the order in which they were written. If ids are provided, only the CAS with
+ * these ids are read, which allows random access into the container without reading the CAS that
+ * are not requested.
+ */
+public class CasContainerReader
+    extends CasCollectionReader_ImplBase
+{
+    /**
+     * The folder the container was written to
+     */
+    public static final String PARAM_SOURCE_LOCATION = "sourceLocation";
+    @ConfigurationParameter(name = PARAM_SOURCE_LOCATION, mandatory = true)
+    private File sourceLocation;
+
+    /**
+     * The ids of the CAS that shall be read. If not set, all CAS in the container are read
+     */
+    public static final String PARAM_CAS_IDS = "casIds";
+    @ConfigurationParameter(name = PARAM_CAS_IDS, mandatory = false)
+    private Integer[] casIds;
+
+    /**
+     * @param folder
+     *            a folder
+     * @return true if the folder holds a container written by the {@link CasContainerWriter}
+     */
+    public static boolean isContainer(File folder)
+    {
+        return new File(folder, CasContainerWriter.INDEX_FILE).exists();
+    }
+
+    private TypeSystemImpl typeSystem;
+    private List<Entry> entries;
+    private int current;
+
+    private RandomAccessFile segment;
+    private String segmentName;
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        try {
+            typeSystem = readTypeSystem(
+                    new File(sourceLocation, CasContainerWriter.TYPE_SYSTEM_FILE));
+            entries = selectEntries(
+                    readIndex(new File(sourceLocation, CasContainerWriter.INDEX_FILE)));
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+
+        current = 0;
+        segment = null;
+        segmentName = null;
+    }
+
+    private TypeSystemImpl readTypeSystem(File file) throws Exception
+    {
+        ObjectInputStream ois = null;
+        try {
+            ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+            CASMgrSerializer casMgrSerializer = (CASMgrSerializer) ois.readObject();
+            TypeSystemImpl ts = casMgrSerializer.getTypeSystem();
+            ts.commit();
+            return ts;
+        }
+        finally {
+            IOUtils.closeQuietly(ois);
+        }
+    }
+
+    private List<Entry> readIndex(File file) throws IOException
+    {
+        List<Entry> index = new ArrayList<>();
+        for (String line : FileUtils.readLines(file, UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            // the trailing document id column is informative only
+            String[] split = line.split("\t", 5);
+            index.add(new Entry(Integer.parseInt(split[0]), split[1], Long.parseLong(split[2]),
+                    Integer.parseInt(split[3])));
+        }
+        return index;
+    }
+
+    private List<Entry> selectEntries(List<Entry> index)
+    {
+        if (casIds == null) {
+            return index;
+        }
+
+        Map<Integer, Entry> byId = new HashMap<>();
+        for (Entry e : index) {
+            byId.put(e.id, e);
+        }
+
+        List<Entry> selected = new ArrayList<>();
+        for (Integer id : casIds) {
+            Entry e = byId.get(id);
+            if (e == null) {
+                throw new IllegalArgumentException("No CAS with id [" + id
+                        + "] found in container [" + sourceLocation.getAbsolutePath() + "]");
+            }
+            selected.add(e);
+        }
+        return selected;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException, CollectionException
+    {
+        return current < entries.size();
+    }
+
+    @Override
+    public void getNext(CAS aCAS) throws IOException, CollectionException
+    {
+        Entry entry = entries.get(current++);
+
+        byte[] data = new byte[entry.length];
+        RandomAccessFile raf = getSegment(entry.segment);
+        raf.seek(entry.offset);
+        raf.readFully(data);
+
+        try {
+            Serialization.deserializeCAS(aCAS, new ByteArrayInputStream(data), typeSystem,
+                    null);
+        }
+        catch (Exception e) {
+            throw new CollectionException(e);
+        }
+    }
+
+    private RandomAccessFile getSegment(String name) throws IOException
+    {
+        if (!name.equals(segmentName)) {
+            closeSegment();
+            segment = new RandomAccessFile(new File(sourceLocation, name), "r");
+            segmentName = name;
+        }
+        return segment;
+    }
+
+    private void closeSegment() throws IOException
+    {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+            segmentName = null;
+        }
+    }
+
+    @Override
+    public Progress[] getProgress()
+    {
+        return new Progress[] { new ProgressImpl(current, entries.size(), Progress.ENTITIES) };
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closeSegment();
+    }
+
+    private static class Entry
+    {
+        final int id;
+        final String segment;
+        final long offset;
+        final int length;
+
+        Entry(int id, String segment, long offset, int length)
+        {
+            this.id = id;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
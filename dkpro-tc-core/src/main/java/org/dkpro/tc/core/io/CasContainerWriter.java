@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.TypeSystem;
+import org.apache.uima.cas.impl.CASImpl;
+import org.apache.uima.cas.impl.Serialization;
+import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.fit.factory.TypeSystemDescriptionFactory;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.CasCreationUtils;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+/**
+ * Writes all processed CAS into a small number of large, append-only segment files instead of
+ * creating one file per CAS. Each CAS is serialized in the compressed binary format (form 6)
+ * without an embedded type system; the type system is stored only once for the whole container
+ * when the collection is complete, so an empty collection yields a readable, empty container.
+ * An index file records for each CAS its id, the segment it is stored in, its offset and length
+ * in that segment and the document id. The {@link CasContainerReader} uses this index to read the
+ * CAS back either sequentially or by id.
+ */
+public class CasContainerWriter
+    extends JCasAnnotator_ImplBase
+{
+    /**
+     * Name of the index file in the container folder
+     */
+    public static final String INDEX_FILE = "container.index";
+
+    /**
+     * Name of the file in the container folder that holds the type system of the stored CAS
+     */
+    public static final String TYPE_SYSTEM_FILE = "typesystem.ser";
+
+    /**
+     * File suffix of the segment files. Deliberately differs from the <i>.bin</i> suffix of the
+     * single CAS files, which are collected by file listings in the tasks
+     */
+    public static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * The folder the container is written to
+     */
+    public static final String PARAM_TARGET_LOCATION = "targetLocation";
+    @ConfigurationParameter(name = PARAM_TARGET_LOCATION, mandatory = true)
+    private File targetLocation;
+
+    /**
+     * A new segment file is started as soon as the current one exceeds this size in bytes
+     */
+    public static final String PARAM_SEGMENT_SIZE = "segmentSize";
+    @ConfigurationParameter(name = PARAM_SEGMENT_SIZE, mandatory = true, defaultValue = "268435456")
+    private int segmentSize;
+
+    private Writer indexWriter;
+    private OutputStream segmentStream;
+    private String segmentName;
+    private int segmentNumber;
+    private long segmentOffset;
+    private int casId;
+    private TypeSystem typeSystem;
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        if (segmentSize <= 0) {
+            throw new ResourceInitializationException(new IllegalArgumentException(
+                    "Segment size must be greater than zero but was [" + segmentSize + "]"));
+        }
+
+        try {
+            if (!targetLocation.exists() && !targetLocation.mkdirs()) {
+                throw new IOException(
+                        "Could not create folder [" + targetLocation.getAbsolutePath() + "]");
+            }
+            indexWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(new File(targetLocation, INDEX_FILE)), UTF_8));
+        }
+        catch (IOException e) {
+            throw new ResourceInitializationException(e);
+        }
+
+        segmentStream = null;
+        segmentNumber = 0;
+        segmentOffset = 0;
+        casId = 0;
+        typeSystem = null;
+    }
+
+    @Override
+    public void process(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        try {
+            if (typeSystem == null) {
+                typeSystem = aJCas.getTypeSystem();
+            }
+
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            Serialization.serializeWithCompression(aJCas.getCas(), bos, aJCas.getTypeSystem());
+
+            if (segmentStream == null || segmentOffset >= segmentSize) {
+                openNextSegment();
+            }
+
+            bos.writeTo(segmentStream);
+
+            indexWriter.write(casId + "\t" + segmentName + "\t" + segmentOffset + "\t"
+                    + bos.size() + "\t" + getDocumentId(aJCas) + "\n");
+
+            segmentOffset += bos.size();
+            casId++;
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    private String getDocumentId(JCas aJCas)
+    {
+        DocumentMetaData dmd = DocumentMetaData.get(aJCas);
+        if (dmd.getDocumentId() == null) {
+            return "";
+        }
+        // tabs and line breaks would break the index format
+        return dmd.getDocumentId().replaceAll("[\t\r\n]", " ");
+    }
+
+    private void writeTypeSystem() throws Exception
+    {
+        // without any CAS, the type system is taken from the types detected on the classpath
+        CAS cas = typeSystem != null ? CasCreationUtils.createCas(typeSystem, null, null, null)
+                : CasCreationUtils.createCas(
+                        TypeSystemDescriptionFactory.createTypeSystemDescription(), null, null);
+
+        ObjectOutputStream oos = null;
+        try {
+            oos = new ObjectOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(new File(targetLocation, TYPE_SYSTEM_FILE))));
+            oos.writeObject(Serialization.serializeCASMgr((CASImpl) cas.getLowLevelCAS()));
+        }
+        finally {
+            IOUtils.closeQuietly(oos);
+        }
+    }
+
+    private void openNextSegment() throws IOException
+    {
+        closeSegment();
+
+        segmentName = String.format(Locale.US, "segment-%05d%s", segmentNumber++,
+                SEGMENT_SUFFIX);
+        segmentStream = new BufferedOutputStream(
+                new FileOutputStream(new File(targetLocation, segmentName)));
+        segmentOffset = 0;
+    }
+
+    private void closeSegment() throws IOException
+    {
+        if (segmentStream != null) {
+            segmentStream.close();
+            segmentStream = null;
+        }
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        super.collectionProcessComplete();
+
+        try {
+            closeSegment();
+            indexWriter.close();
+            writeTypeSystem();
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+}
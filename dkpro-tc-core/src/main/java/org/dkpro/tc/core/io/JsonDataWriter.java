@@ -73,6 +73,7 @@ public class JsonDataWriter
             Iterator<Instance> iterator = instances.iterator();
             while (iterator.hasNext()) {
                 Instance next = iterator.next();
+                next.fillDefaultFeatures();
                 bw.write(gson.toJson(next) + "\n");
             }
             bw.close();
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.ml;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM-wide registry for data of a trained model that does not change during prediction, e.g. the
+ * classifier of a backend or the feature and outcome mappings. Each instance of a load model
+ * connector acquires the data in its initialization and releases it when it is destroyed. The
+ * data is loaded by the first instance that acquires it, all further instances of the same model
+ * location share this copy, and it is dropped when the last instance released it.
+ * <p>
+ * Only data that is safe for concurrent read access must be registered; state that is modified
+ * while classifying remains in the connector instances.
+ */
+public final class SharedModelRegistry
+{
+    private static final Map<String, Entry> entries = new HashMap<>();
+
+    private SharedModelRegistry()
+    {
+        // static access only
+    }
+
+    @FunctionalInterface
+    public interface Loader<T>
+    {
+        T load() throws Exception;
+    }
+
+    /**
+     * Returns the shared data registered under the name for the model location, the data is loaded
+     * if no other user currently holds it. Each call has to be paired with a call of
+     * {@link #release(File, String)}.
+     * 
+     * @param tcModelLocation
+     *            the model folder
+     * @param name
+     *            the name of the data within the model, which should be unique for the type of data
+     *            that is loaded
+     * @param loader
+     *            loads the data if it is not registered yet
+     * @return the shared data
+     * @throws Exception
+     *             if the data cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T acquire(File tcModelLocation, String name, Loader<T> loader)
+        throws Exception
+    {
+        String key = getKey(tcModelLocation, name);
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.references++;
+        }
+
+        // loading happens outside of the registry lock, other models can be loaded meanwhile
+        try {
+            return (T) entry.get(loader);
+        }
+        catch (Exception e) {
+            release(tcModelLocation, name);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the data acquired before, the data is removed from the registry when it has no
+     * users left.
+     * 
+     * @param tcModelLocation
+     *            the model folder
+     * @param name
+     *            the name of the data
+     */
+    public static void release(File tcModelLocation, String name)
+    {
+        String key = getKey(tcModelLocation, name);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && --entry.references == 0) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    static int size()
+    {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String getKey(File tcModelLocation, String name)
+    {
+        String location;
+        try {
+            location = tcModelLocation.getCanonicalPath();
+        }
+        catch (IOException e) {
+            location = tcModelLocation.getAbsolutePath();
+        }
+        return location + File.pathSeparator + name;
+    }
+
+    private static class Entry
+    {
+        int references;
+        private Object value;
+        private boolean loaded;
+
+        synchronized Object get(Loader<?> loader) throws Exception
+        {
+            if (!loaded) {
+                value = loader.load();
+                loaded = true;
+            }
+            return value;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDe
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -31,6 +32,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.LogFactory;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.descriptor.TypeCapability;
@@ -49,8 +51,10 @@ import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
 import org.dkpro.tc.api.features.meta.MetaDependent;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasContainerReader;
 import org.dkpro.tc.core.task.uima.ConnectorConstants;
 import org.dkpro.tc.core.task.uima.ExtractFeaturesConnector;
+import org.dkpro.tc.core.task.uima.FeatureCache;
 
 import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
 
@@ -72,6 +76,10 @@ public class ExtractFeaturesTask
      */
     public static final String INPUT_KEY = "input";
     public static final String COLLECTION_INPUT_KEY = "collectionInput";
+    /**
+     * Public name of the folder of an optional {@link FeatureCacheTask} output
+     */
+    public static final String FEATURE_CACHE_INPUT_KEY = "featureCacheInput";
 
     @Discriminator(name = DIM_FEATURE_FILTERS)
     private List<String> featureFilters = Collections.<String> emptyList();
@@ -106,13 +114,32 @@ public class ExtractFeaturesTask
     @Discriminator(name = DIM_ENFORCE_MATCHING_FEATURES_DURING_TESTING)
     private boolean enforceMatchingFeatures;
 
+    @Discriminator(name = DIM_EXTRACTION_THREADS)
+    private Integer extractionThreads;
+
     private boolean isTesting = false;
 
+    private boolean useFeatureCache = false;
+
     public void setTesting(boolean isTesting)
     {
         this.isTesting = isTesting;
     }
 
+    /**
+     * Takes the features of fold-invariant feature extractors from the output of a
+     * {@link FeatureCacheTask}, which has to be imported as {@link #FEATURE_CACHE_INPUT_KEY}. The
+     * cache is only used if it covers all CAS this task processes, otherwise all features are
+     * extracted as usual.
+     * 
+     * @param useFeatureCache
+     *            use the feature cache
+     */
+    public void setUseFeatureCache(boolean useFeatureCache)
+    {
+        this.useFeatureCache = useFeatureCache;
+    }
+
     @Override
     public AnalysisEngineDescription getAnalysisEngineDescription(TaskContext aContext)
         throws ResourceInitializationException
@@ -174,6 +201,17 @@ public class ExtractFeaturesTask
                     featureExtractorDescriptions, PARAM_REQUIRED_TYPES, requiredTypes,
                     PARAM_ENFORCE_MATCHING_FEATURES, enforceMatchingFeatures));
 
+            int threads = extractionThreads != null ? extractionThreads : 1;
+            if (threads > 1) {
+                parameters.addAll(Arrays.asList(PARAM_EXTRACTION_THREADS, threads,
+                        PARAM_FEATURE_EXTRACTOR_DESCRIPTORS,
+                        toXml(featureExtractorDescriptions)));
+            }
+
+            if (useFeatureCache) {
+                addFeatureCacheParameters(aContext, featureExtractorDescriptions, parameters);
+            }
+
             return AnalysisEngineFactory.createEngineDescription(ExtractFeaturesConnector.class,
                     parameters.toArray());
         }
@@ -200,6 +238,10 @@ public class ExtractFeaturesTask
     	//Train-test setups
     	else if (filesRoot == null) {
             File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
+            if (CasContainerReader.isContainer(root)) {
+                return createReaderDescription(CasContainerReader.class,
+                        CasContainerReader.PARAM_SOURCE_LOCATION, root);
+            }
             Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
             return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
                     files);
@@ -212,6 +254,42 @@ public class ExtractFeaturesTask
         }
     }
 
+    private void addFeatureCacheParameters(TaskContext aContext,
+            List<ExternalResourceDescription> featureExtractorDescriptions,
+            List<Object> parameters)
+        throws Exception
+    {
+        Collection<String> files = isTesting ? files_validation : files_training;
+        File cacheFolder = aContext.getFolder(FEATURE_CACHE_INPUT_KEY, AccessMode.READONLY);
+        if (files == null || !FeatureCache.exists(cacheFolder)
+                || !FeatureCache.covers(cacheFolder, files)) {
+            LogFactory.getLog(getClass()).debug("Feature cache is not applicable to ["
+                    + getType() + "], extracting all features");
+            return;
+        }
+
+        List<Integer> cached = new ArrayList<>();
+        for (int i = 0; i < featureExtractorDescriptions.size(); i++) {
+            if (FeatureCacheTask.isFoldInvariant(featureExtractorDescriptions.get(i))) {
+                cached.add(i);
+            }
+        }
+
+        parameters.addAll(Arrays.asList(PARAM_FEATURE_CACHE_DIRECTORY, cacheFolder,
+                PARAM_CACHED_FEATURE_EXTRACTORS, cached.toArray(new Integer[0])));
+    }
+
+    private String[] toXml(List<ExternalResourceDescription> descriptions) throws Exception
+    {
+        String[] xml = new String[descriptions.size()];
+        for (int i = 0; i < xml.length; i++) {
+            StringWriter sw = new StringWriter();
+            descriptions.get(i).toXML(sw);
+            xml[i] = sw.toString();
+        }
+        return xml;
+    }
+
     private boolean isLearningCurveTaskWithFixedTestSet() {
 		// This a hybrid that has N CV folds which are exclusively used for training but
 		// without validation set (from the CV dimension) but defines the validation set
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task;
+
+import static org.apache.uima.fit.factory.AnalysisEngineFactory.createEngineDescription;
+import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDescription;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.collection.CollectionReaderDescription;
+import org.apache.uima.fit.component.NoOpAnnotator;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.lab.engine.TaskContext;
+import org.dkpro.lab.storage.StorageService.AccessMode;
+import org.dkpro.lab.task.Discriminator;
+import org.dkpro.lab.uima.task.impl.UimaTaskBase;
+import org.dkpro.tc.api.features.TcFeature;
+import org.dkpro.tc.api.features.TcFeatureSet;
+import org.dkpro.tc.api.features.meta.MetaDependent;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.uima.ConnectorConstants;
+import org.dkpro.tc.core.task.uima.FeatureCache;
+import org.dkpro.tc.core.task.uima.FeatureCacheConnector;
+
+import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
+
+/**
+ * Extracts the features of all feature extractors that do not depend on meta collection once for
+ * every CAS of the input and stores them in a {@link FeatureCache}. The features of such extractors
+ * are the same in every cross-validation fold, the {@link ExtractFeaturesTask} of each fold takes
+ * them from the cache and only runs the meta-dependent extractors.
+ */
+public class FeatureCacheTask
+    extends UimaTaskBase
+    implements Constants, ConnectorConstants
+{
+    /**
+     * Public name of the folder where the cache is stored within the task
+     */
+    public static final String OUTPUT_KEY = "output";
+    /**
+     * Public name of the folder where the input documents are stored within the task
+     */
+    public static final String INPUT_KEY = "input";
+
+    @Discriminator(name = DIM_FEATURE_MODE)
+    private String featureMode;
+
+    @Discriminator(name = DIM_FEATURE_USE_SPARSE)
+    private boolean useSparse;
+
+    @Discriminator(name = DIM_FEATURE_SET)
+    private TcFeatureSet featureExtractors;
+
+    @Override
+    public AnalysisEngineDescription getAnalysisEngineDescription(TaskContext aContext)
+        throws ResourceInitializationException
+    {
+        File outputDir = aContext.getFolder(OUTPUT_KEY, AccessMode.READWRITE);
+
+        try {
+            List<ExternalResourceDescription> invariant = new ArrayList<>();
+            for (TcFeature feClosure : featureExtractors) {
+                ExternalResourceDescription feDesc = feClosure.getActualValue();
+                if (isFoldInvariant(feDesc)) {
+                    invariant.add(feDesc);
+                }
+            }
+
+            if (invariant.isEmpty()) {
+                // no cache is created, the folds extract all features themselves
+                return createEngineDescription(NoOpAnnotator.class);
+            }
+
+            return createEngineDescription(FeatureCacheConnector.class,
+                    FeatureCacheConnector.PARAM_OUTPUT_DIRECTORY, outputDir,
+                    PARAM_FEATURE_MODE, featureMode, PARAM_USE_SPARSE_FEATURES, useSparse,
+                    PARAM_FEATURE_EXTRACTORS, invariant);
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
+    @Override
+    public CollectionReaderDescription getCollectionReaderDescription(TaskContext aContext)
+        throws ResourceInitializationException, IOException
+    {
+        File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
+        Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
+
+        FeatureCache.writeFiles(aContext.getFolder(OUTPUT_KEY, AccessMode.READWRITE), files);
+
+        return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
+                files);
+    }
+
+    /**
+     * @param feDesc
+     *            the description of a feature extractor
+     * @return true if the features the extractor produces for a CAS do not depend on the training
+     *         data, i.e. the extractor does not rely on meta collection
+     * @throws ClassNotFoundException
+     *             if the extractor class cannot be loaded
+     */
+    public static boolean isFoldInvariant(ExternalResourceDescription feDesc)
+        throws ClassNotFoundException
+    {
+        return !MetaDependent.class.isAssignableFrom(MetaInfoTask.getClass(feDesc));
+    }
+}
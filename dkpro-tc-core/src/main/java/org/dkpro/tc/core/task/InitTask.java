@@ -38,6 +38,7 @@ import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.TcFeature;
 import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasContainerWriter;
 import org.dkpro.tc.core.task.uima.AssignIdConnector;
 import org.dkpro.tc.core.task.uima.DocumentModeAnnotator;
 import org.dkpro.tc.core.task.uima.OutcomeCollector;
@@ -95,6 +96,8 @@ public class InitTask
 
     private List<String> operativeViews;
 
+    private boolean useCasContainer = false;
+
     @Override
     public CollectionReaderDescription getCollectionReaderDescription(TaskContext aContext)
         throws ResourceInitializationException, IOException
@@ -126,10 +129,18 @@ public class InitTask
         throws ResourceInitializationException, IOException
     {
         String output = isTesting ? OUTPUT_KEY_TEST : OUTPUT_KEY_TRAIN;
-        AnalysisEngineDescription xmiWriter = createEngineDescription(BinaryCasWriter.class,
-                BinaryCasWriter.PARAM_TARGET_LOCATION,
-                aContext.getFolder(output, AccessMode.READWRITE).getPath(),
-                BinaryCasWriter.PARAM_FORMAT, "6+");
+        AnalysisEngineDescription xmiWriter;
+        if (useCasContainer) {
+            xmiWriter = createEngineDescription(CasContainerWriter.class,
+                    CasContainerWriter.PARAM_TARGET_LOCATION,
+                    aContext.getFolder(output, AccessMode.READWRITE));
+        }
+        else {
+            xmiWriter = createEngineDescription(BinaryCasWriter.class,
+                    BinaryCasWriter.PARAM_TARGET_LOCATION,
+                    aContext.getFolder(output, AccessMode.READWRITE).getPath(),
+                    BinaryCasWriter.PARAM_FORMAT, "6+");
+        }
 
         // special connector that just checks whether there are no instances and outputs a
         // meaningful error message then
@@ -262,4 +273,18 @@ public class InitTask
         this.operativeViews = operativeViews;
     }
 
+    /**
+     * Writes the preprocessed CAS into a single {@link CasContainerWriter container} instead of
+     * one file per CAS. Only tasks that read their input with a reader created for the whole
+     * output folder support the container, i.e. train-test setups. Setups that enumerate the CAS
+     * files, such as cross-validation folds, require the default.
+     * 
+     * @param useCasContainer
+     *            true to write a container, false (default) writes one binary file per CAS
+     */
+    public void setUseCasContainer(boolean useCasContainer)
+    {
+        this.useCasContainer = useCasContainer;
+    }
+
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import static org.apache.uima.fit.factory.CollectionReaderFactory.createReaderDe
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -36,6 +37,7 @@ import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.cas.CAS;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AggregateBuilder;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
 import org.apache.uima.fit.factory.ConfigurationParameterFactory;
 import org.apache.uima.resource.CustomResourceSpecifier;
 import org.apache.uima.resource.ExternalResourceDescription;
@@ -53,8 +55,10 @@ import org.dkpro.tc.api.features.TcFeatureSet;
 import org.dkpro.tc.api.features.meta.MetaCollectorConfiguration;
 import org.dkpro.tc.api.features.meta.MetaDependent;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.io.CasContainerReader;
 import org.dkpro.tc.core.feature.SequenceContextMetaCollector;
 import org.dkpro.tc.core.feature.UnitContextMetaCollector;
+import org.dkpro.tc.core.task.uima.ParallelMetaCollectorConnector;
 
 import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
 
@@ -93,6 +97,9 @@ public class MetaInfoTask
     @Discriminator(name = DIM_RECORD_CONTEXT)
     private boolean recordContext;
 
+    @Discriminator(name = DIM_EXTRACTION_THREADS)
+    private Integer extractionThreads;
+
     private Set<String> featureExtractorNames = new HashSet<>();
 
     private Random r = new Random();
@@ -104,6 +111,10 @@ public class MetaInfoTask
         // TrainTest setup: input files are set as imports
         if (filesRoot == null || files_training == null) {
             File root = aContext.getFolder(INPUT_KEY, AccessMode.READONLY);
+            if (CasContainerReader.isContainer(root)) {
+                return createReaderDescription(CasContainerReader.class,
+                        CasContainerReader.PARAM_SOURCE_LOCATION, root);
+            }
             Collection<File> files = FileUtils.listFiles(root, new String[] { "bin" }, true);
 
             return createReaderDescription(BinaryCasReader.class, BinaryCasReader.PARAM_PATTERNS,
@@ -174,6 +185,17 @@ public class MetaInfoTask
         // extracted, as in the regression demo)
         aContext.getFolder(META_KEY, AccessMode.READONLY);
 
+        // the meta collectors run in parallel on copies of the CAS, which does not support the
+        // sofa mapping of operative views
+        int threads = extractionThreads != null ? extractionThreads : 1;
+        if (threads > 1 && metaCollectors.size() > 1 && operativeViews == null) {
+            return AnalysisEngineFactory.createEngineDescription(
+                    ParallelMetaCollectorConnector.class,
+                    ParallelMetaCollectorConnector.PARAM_META_COLLECTOR_DESCRIPTORS,
+                    toXml(metaCollectors), ParallelMetaCollectorConnector.PARAM_THREADS,
+                    threads);
+        }
+
         AggregateBuilder builder = new AggregateBuilder();
 
         for (AnalysisEngineDescription metaCollector : metaCollectors) {
@@ -189,6 +211,23 @@ public class MetaInfoTask
         return builder.createAggregateDescription();
     }
 
+    private String[] toXml(List<AnalysisEngineDescription> descriptions)
+        throws ResourceInitializationException
+    {
+        String[] xml = new String[descriptions.size()];
+        for (int i = 0; i < xml.length; i++) {
+            StringWriter sw = new StringWriter();
+            try {
+                descriptions.get(i).toXML(sw);
+            }
+            catch (Exception e) {
+                throw new ResourceInitializationException(e);
+            }
+            xml[i] = sw.toString();
+        }
+        return xml;
+    }
+
     public static Class<?> getClass(ExternalResourceDescription feDesc)
         throws ClassNotFoundException
     {
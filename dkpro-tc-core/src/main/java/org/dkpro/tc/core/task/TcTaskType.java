@@ -23,7 +23,7 @@ public enum TcTaskType
     FACADE_TASK,
 
     // Shallow tasks
-    INIT_TRAIN, INIT_TEST, COLLECTION, META, FEATURE_EXTRACTION_TRAIN, FEATURE_EXTRACTION_TEST, MACHINE_LEARNING_ADAPTER, EVALUATION, CROSS_VALIDATION, SERIALIZATION_TASK, NO_TYPE,
+    INIT_TRAIN, INIT_TEST, COLLECTION, META, FEATURE_EXTRACTION_TRAIN, FEATURE_EXTRACTION_TEST, FEATURE_CACHE, MACHINE_LEARNING_ADAPTER, EVALUATION, CROSS_VALIDATION, SERIALIZATION_TASK, NO_TYPE,
 
     // Deep tasks
     PREPARATION, VECTORIZATION_TRAIN, VECTORIZATION_TEST, EMBEDDING;
@@ -0,0 +1,630 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.deep;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A read-only, memory-mapped binary version of a text embedding file in which each line holds a
+ * token followed by the values of its vector. Tokens are located through an open-addressing hash
+ * table stored in the file, i.e. a lookup touches only the pages of the requested token instead of
+ * scanning the entire embedding. A text embedding is converted once by
+ * {@link #convert(File, File)}, subsequent runs map the binary file directly. The binary format
+ * can also be written directly by a {@link Builder}. Besides the float32 values, the original text
+ * of each vector is kept, so that pruned text embeddings can be written without losing precision.
+ * 
+ * <pre>
+ * int    magic, version, size, dimension, tableSize
+ * long   offset of the token section
+ * int[]  hash table with tableSize slots, holding entry index + 1 or 0 if empty
+ * long[] 64-bit hash of each entry
+ * long[] offset of each entry's token
+ * float[] size * dimension vector values
+ * (int length, byte[] utf-8 token, int length or -1, byte[] utf-8 vector text) entries
+ * </pre>
+ * 
+ * Files of version 1 hold no vector texts, the token is the last element of an entry.
+ */
+public class EmbeddingStore
+    implements Closeable
+{
+    public static final String FILE_SUFFIX = ".bin";
+
+    private static final int MAGIC = 0x54434542;
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_TEXT = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+
+    private final RandomAccessFile file;
+    private final MappedFile mapped;
+
+    private final int version;
+    private final int size;
+    private final int dimension;
+    private final int tableSize;
+
+    private final long tableOffset;
+    private final long hashOffset;
+    private final long tokenOffsetOffset;
+    private final long vectorOffset;
+
+    public EmbeddingStore(File binaryEmbedding) throws IOException
+    {
+        file = new RandomAccessFile(binaryEmbedding, "r");
+        mapped = new MappedFile(file.getChannel());
+
+        version = mapped.getInt(4);
+        if (mapped.getInt(0) != MAGIC || !isSupported(version)) {
+            close();
+            throw new IOException(
+                    "File [" + binaryEmbedding.getAbsolutePath() + "] is no binary embedding");
+        }
+        size = mapped.getInt(8);
+        dimension = mapped.getInt(12);
+        tableSize = mapped.getInt(16);
+
+        tableOffset = HEADER_BYTES;
+        hashOffset = tableOffset + (long) tableSize * Integer.BYTES;
+        tokenOffsetOffset = hashOffset + (long) size * Long.BYTES;
+        vectorOffset = tokenOffsetOffset + (long) size * Long.BYTES;
+    }
+
+    /**
+     * @param embedding
+     *            an embedding file
+     * @return true if the file starts with the header of a binary embedding
+     * @throws IOException
+     *             in case of an error
+     */
+    public static boolean isBinary(File embedding) throws IOException
+    {
+        if (embedding.length() < HEADER_BYTES) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(embedding))) {
+            return in.readInt() == MAGIC && isSupported(in.readInt());
+        }
+    }
+
+    private static boolean isSupported(int version)
+    {
+        return version == VERSION || version == VERSION_WITHOUT_TEXT;
+    }
+
+    /**
+     * Opens the binary version of an embedding. A binary embedding is mapped directly. A text
+     * embedding is converted once into the given folder, the binary file is re-used as long as it
+     * is newer than the text embedding. The folder of the text embedding is never written to.
+     * 
+     * @param embedding
+     *            a text or binary embedding
+     * @param binaryFolder
+     *            folder of the binary versions of text embeddings, may be null
+     * @return the store or null if the embedding is a text embedding and no folder is provided
+     * @throws IOException
+     *             in case of an error
+     */
+    public static EmbeddingStore open(File embedding, File binaryFolder) throws IOException
+    {
+        if (isBinary(embedding)) {
+            return new EmbeddingStore(embedding);
+        }
+        if (binaryFolder == null) {
+            return null;
+        }
+
+        // the path is part of the name, embeddings with the same name in different folders differ
+        String path = embedding.getCanonicalPath();
+        File binary = new File(binaryFolder, embedding.getName() + "-"
+                + Integer.toHexString(path.hashCode()) + FILE_SUFFIX);
+        if (binary.exists() && binary.lastModified() >= embedding.lastModified()
+                && isBinary(binary) && readVersion(binary) == VERSION) {
+            return new EmbeddingStore(binary);
+        }
+
+        FileUtils.forceMkdir(binaryFolder);
+        LogFactory.getLog(EmbeddingStore.class).info("Converting embedding [" + path
+                + "] once into binary format [" + binary.getAbsolutePath() + "]");
+        convert(embedding, binary);
+        return new EmbeddingStore(binary);
+    }
+
+    /**
+     * Converts a text embedding into the binary format. Empty lines, a leading
+     * <code>size dimension</code> line as used by fastText and lines whose vector length differs
+     * from the first vector are skipped. If a token occurs several times, its first vector is
+     * used.
+     * 
+     * @param textEmbedding
+     *            the embedding in text format
+     * @param binaryEmbedding
+     *            the output file
+     * @throws IOException
+     *             in case of an error
+     */
+    public static void convert(File textEmbedding, File binaryEmbedding) throws IOException
+    {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(textEmbedding), UTF_8));
+                Builder builder = new Builder(
+                        binaryEmbedding.getAbsoluteFile().getParentFile())) {
+
+            boolean first = true;
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] split = line.split(" ");
+                if (first && split.length == 2 && isInteger(split[0]) && isInteger(split[1])) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+
+                if (builder.getDimension() >= 0 && split.length - 1 != builder.getDimension()) {
+                    continue;
+                }
+                float[] vector = new float[split.length - 1];
+                for (int i = 1; i < split.length; i++) {
+                    vector[i - 1] = Float.parseFloat(split[i]);
+                }
+                builder.add(split[0], vector, line.substring(split[0].length() + 1));
+            }
+
+            builder.build(binaryEmbedding);
+        }
+    }
+
+    /**
+     * Collects tokens and their vectors in temporary files and writes them as binary embedding.
+     * All vectors must have the same length, if a token is added several times its first vector is
+     * used.
+     */
+    public static class Builder
+        implements Closeable
+    {
+        private final File tokens;
+        private final File vectors;
+        private final DataOutputStream tokenOut;
+        private final DataOutputStream vectorOut;
+
+        private int size = 0;
+        private int dimension = -1;
+        private long[] hashes = new long[1024];
+        private long[] tokenOffsets = new long[1024];
+        private long tokenBytes = 0;
+
+        public Builder() throws IOException
+        {
+            this(null);
+        }
+
+        /**
+         * @param tempFolder
+         *            folder of the temporary files, usually the folder of the binary embedding. If
+         *            null, the default temporary folder is used
+         * @throws IOException
+         *             in case of an error
+         */
+        public Builder(File tempFolder) throws IOException
+        {
+            tokens = File.createTempFile("embeddingTokens", ".tmp", tempFolder);
+            vectors = File.createTempFile("embeddingVectors", ".tmp", tempFolder);
+            tokenOut = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tokens)));
+            vectorOut = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(vectors)));
+        }
+
+        /**
+         * @return length of the vectors or -1 if no vector was added yet
+         */
+        public int getDimension()
+        {
+            return dimension;
+        }
+
+        public void add(String token, float[] vector) throws IOException
+        {
+            add(token, vector, null);
+        }
+
+        /**
+         * @param token
+         *            the token
+         * @param vector
+         *            the vector of the token
+         * @param vectorText
+         *            the vector as it is written in the text embedding, may be null
+         * @throws IOException
+         *             in case of an error
+         */
+        public void add(String token, float[] vector, String vectorText) throws IOException
+        {
+            if (dimension < 0) {
+                dimension = vector.length;
+            }
+            if (vector.length != dimension) {
+                throw new IllegalArgumentException("Expected a vector of length [" + dimension
+                        + "] but the vector of token [" + token + "] has length [" + vector.length
+                        + "]");
+            }
+
+            for (float f : vector) {
+                vectorOut.writeFloat(f);
+            }
+
+            byte[] bytes = token.getBytes(UTF_8);
+            tokenOut.writeInt(bytes.length);
+            tokenOut.write(bytes);
+            int textBytes = 0;
+            if (vectorText != null) {
+                byte[] text = vectorText.getBytes(UTF_8);
+                tokenOut.writeInt(text.length);
+                tokenOut.write(text);
+                textBytes = text.length;
+            }
+            else {
+                tokenOut.writeInt(-1);
+            }
+
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                tokenOffsets = Arrays.copyOf(tokenOffsets, size * 2);
+            }
+            hashes[size] = hash(bytes);
+            tokenOffsets[size] = tokenBytes;
+            tokenBytes += 2 * Integer.BYTES + bytes.length + textBytes;
+            size++;
+        }
+
+        /**
+         * Writes the binary embedding. The file is written to a temporary file in the target
+         * folder first and then moved into place.
+         * 
+         * @param binaryEmbedding
+         *            the output file
+         * @throws IOException
+         *             in case of an error
+         */
+        public void build(File binaryEmbedding) throws IOException
+        {
+            tokenOut.close();
+            vectorOut.close();
+
+            int tableSize = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+            int[] table = new int[tableSize];
+            try (RandomAccessFile tokenIn = new RandomAccessFile(tokens, "r")) {
+                for (int i = 0; i < size; i++) {
+                    int slot = slot(hashes[i], tableSize);
+                    boolean duplicate = false;
+                    while (table[slot] != 0) {
+                        int other = table[slot] - 1;
+                        // tokens that only share the hash are distinct entries
+                        if (hashes[other] == hashes[i] && Arrays.equals(
+                                readToken(tokenIn, other), readToken(tokenIn, i))) {
+                            duplicate = true;
+                            break;
+                        }
+                        slot = (slot + 1) & (tableSize - 1);
+                    }
+                    if (!duplicate) {
+                        table[slot] = i + 1;
+                    }
+                }
+            }
+
+            int dim = Math.max(0, dimension);
+            long tokenSection = HEADER_BYTES + (long) tableSize * Integer.BYTES
+                    + 2L * size * Long.BYTES + (long) size * dim * Float.BYTES;
+
+            File folder = binaryEmbedding.getAbsoluteFile().getParentFile();
+            File target = File.createTempFile(binaryEmbedding.getName(), ".tmp", folder);
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(target)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(size);
+                    out.writeInt(dim);
+                    out.writeInt(tableSize);
+                    out.writeLong(tokenSection);
+                    for (int t : table) {
+                        out.writeInt(t);
+                    }
+                    for (int i = 0; i < size; i++) {
+                        out.writeLong(hashes[i]);
+                    }
+                    for (int i = 0; i < size; i++) {
+                        out.writeLong(tokenSection + tokenOffsets[i]);
+                    }
+                    copy(vectors, out);
+                    copy(tokens, out);
+                }
+
+                Files.move(target.toPath(), binaryEmbedding.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally {
+                FileUtils.deleteQuietly(target);
+            }
+        }
+
+        private byte[] readToken(RandomAccessFile tokenIn, int idx) throws IOException
+        {
+            tokenIn.seek(tokenOffsets[idx]);
+            byte[] bytes = new byte[tokenIn.readInt()];
+            tokenIn.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            tokenOut.close();
+            vectorOut.close();
+            FileUtils.deleteQuietly(tokens);
+            FileUtils.deleteQuietly(vectors);
+        }
+    }
+
+    private static void copy(File source, DataOutputStream out) throws IOException
+    {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(source))) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static int readVersion(File binaryEmbedding) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(binaryEmbedding))) {
+            in.readInt();
+            return in.readInt();
+        }
+    }
+
+    private static boolean isInteger(String s)
+    {
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return !s.isEmpty();
+    }
+
+    private static long hash(byte[] token)
+    {
+        // 64-bit FNV-1a
+        long h = 0xcbf29ce484222325L;
+        for (byte b : token) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static int slot(long hash, int tableSize)
+    {
+        return (int) (hash ^ (hash >>> 32)) & (tableSize - 1);
+    }
+
+    /**
+     * @return number of vectors in the embedding
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return length of the vectors
+     */
+    public int getDimension()
+    {
+        return dimension;
+    }
+
+    /**
+     * @param token
+     *            a token
+     * @return the vector of the token or null if the embedding has no vector for it
+     */
+    public float[] getVector(String token)
+    {
+        int idx = indexOf(token);
+        if (idx < 0) {
+            return null;
+        }
+        float[] vector = new float[dimension];
+        long pos = vectorOffset + (long) idx * dimension * Float.BYTES;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = Float.intBitsToFloat(mapped.getInt(pos + (long) i * Float.BYTES));
+        }
+        return vector;
+    }
+
+    /**
+     * @param token
+     *            a token
+     * @return the vector of the token as it was written in the text embedding or null if the
+     *         embedding has no vector for it. If the original text was not stored, the float
+     *         values are formatted by {@link #toString(float[])}.
+     */
+    public String getVectorText(String token)
+    {
+        int idx = indexOf(token);
+        if (idx < 0) {
+            return null;
+        }
+        if (version == VERSION) {
+            long pos = mapped.getLong(tokenOffsetOffset + (long) idx * Long.BYTES);
+            pos += Integer.BYTES + mapped.getInt(pos);
+            int length = mapped.getInt(pos);
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = mapped.get(pos + Integer.BYTES + i);
+                }
+                return new String(bytes, UTF_8);
+            }
+        }
+        return toString(getVector(token));
+    }
+
+    public boolean contains(String token)
+    {
+        return indexOf(token) >= 0;
+    }
+
+    private int indexOf(String token)
+    {
+        byte[] bytes = token.getBytes(UTF_8);
+        long h = hash(bytes);
+        int slot = slot(h, tableSize);
+        while (true) {
+            int entry = mapped.getInt(tableOffset + (long) slot * Integer.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int idx = entry - 1;
+            if (mapped.getLong(hashOffset + (long) idx * Long.BYTES) == h
+                    && tokenEquals(idx, bytes)) {
+                return idx;
+            }
+            slot = (slot + 1) & (tableSize - 1);
+        }
+    }
+
+    private boolean tokenEquals(int idx, byte[] bytes)
+    {
+        long pos = mapped.getLong(tokenOffsetOffset + (long) idx * Long.BYTES);
+        if (mapped.getInt(pos) != bytes.length) {
+            return false;
+        }
+        pos += Integer.BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            if (mapped.get(pos + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats a vector as space-separated values as used by the text format of embeddings
+     * 
+     * @param vector
+     *            the vector
+     * @return the vector as string
+     */
+    public static String toString(float[] vector)
+    {
+        StringBuilder sb = new StringBuilder(vector.length * 10);
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(" ");
+            }
+            sb.append(vector[i]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        file.close();
+    }
+
+    /**
+     * Maps a file of arbitrary length as a sequence of buffers, as a single
+     * {@link MappedByteBuffer} is limited to 2 GB.
+     */
+    private static class MappedFile
+    {
+        private static final int CHUNK_BITS = 30;
+        private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+        private final MappedByteBuffer[] chunks;
+
+        MappedFile(FileChannel channel) throws IOException
+        {
+            long length = channel.size();
+            int numChunks = (int) ((length + CHUNK_MASK) >>> CHUNK_BITS);
+            chunks = new MappedByteBuffer[numChunks];
+            for (int i = 0; i < numChunks; i++) {
+                long start = (long) i << CHUNK_BITS;
+                chunks[i] = channel.map(MapMode.READ_ONLY, start,
+                        Math.min(1L << CHUNK_BITS, length - start));
+            }
+        }
+
+        byte get(long pos)
+        {
+            return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK));
+        }
+
+        int getInt(long pos)
+        {
+            MappedByteBuffer chunk = chunks[(int) (pos >>> CHUNK_BITS)];
+            int offset = (int) (pos & CHUNK_MASK);
+            if (offset + Integer.BYTES <= chunk.limit()) {
+                return chunk.getInt(offset);
+            }
+            int value = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                value = (value << 8) | (get(pos + i) & 0xff);
+            }
+            return value;
+        }
+
+        long getLong(long pos)
+        {
+            return ((long) getInt(pos) << 32) | (getInt(pos + Integer.BYTES) & 0xffffffffL);
+        }
+    }
+}
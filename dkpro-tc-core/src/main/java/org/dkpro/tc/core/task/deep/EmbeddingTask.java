@@ -21,6 +21,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -44,7 +45,9 @@ import org.dkpro.lab.task.impl.ExecutableTaskBase;
 import org.dkpro.tc.core.DeepLearningConstants;
 
 /**
- * Prunes the embedding if one is provided
+ * Prunes the embedding if one is provided. The pruned embedding is written as text for the user
+ * code of the deep learning frameworks. If a folder for binary embeddings is configured, it is
+ * additionally written as binary embedding with float32 vectors.
  */
 public class EmbeddingTask
     extends ExecutableTaskBase
@@ -61,6 +64,9 @@ public class EmbeddingTask
     @Discriminator(name = DeepLearningConstants.DIM_PRETRAINED_EMBEDDINGS)
     private String embedding;
 
+    @Discriminator(name = DeepLearningConstants.DIM_BINARY_EMBEDDING_FOLDER)
+    private String binaryEmbeddingFolder;
+
     @Discriminator(name = DeepLearningConstants.DIM_VECTORIZE_TO_INTEGER)
     private boolean integerVectorization;
 
@@ -75,13 +81,50 @@ public class EmbeddingTask
             return;
         }
 
+        File binaryFolder = binaryEmbeddingFolder != null ? new File(binaryEmbeddingFolder) : null;
+        try (EmbeddingStore store = EmbeddingStore.open(new File(embedding), binaryFolder)) {
+            if (store != null) {
+                storePreparation(aContext, store);
+            }
+            else if (integerVectorization) {
+                integerPreparation(aContext);
+            }
+            else {
+                wordPreparation(aContext);
+            }
+        }
+
+    }
+
+    /**
+     * Looks up the vocabulary in the binary version of the embedding rather than scanning the text
+     * embedding
+     */
+    private void storePreparation(TaskContext aContext, EmbeddingStore store) throws Exception
+    {
+        lenVec = store.getDimension();
+
+        Map<String, String> tokenKeyMap = new HashMap<>();
         if (integerVectorization) {
-            integerPreparation(aContext);
+            tokenKeyMap = loadWord2IntegerMap(aContext);
         }
         else {
-            wordPreparation(aContext);
+            for (String token : loadVocabulary(aContext)) {
+                tokenKeyMap.put(token, token);
+            }
         }
 
+        try (PrunedEmbeddingWriter writer = new PrunedEmbeddingWriter(aContext)) {
+            for (Entry<String, String> e : tokenKeyMap.entrySet()) {
+                String vector = store.getVectorText(e.getKey());
+                if (vector != null) {
+                    writer.write(e.getValue(), vector);
+                }
+                else {
+                    writer.write(e.getValue(), randomVector(lenVec));
+                }
+            }
+        }
     }
 
     private void wordPreparation(TaskContext aContext) throws Exception
@@ -89,7 +132,7 @@ public class EmbeddingTask
         Set<String> vocabulary = loadVocabulary(aContext);
 
         try (BufferedReader reader = getEmbeddingReader();
-                BufferedWriter writer = getPrunedEmbeddingWriter(aContext)) {
+                PrunedEmbeddingWriter writer = new PrunedEmbeddingWriter(aContext)) {
 
             String line = null;
             while ((line = reader.readLine()) != null) {
@@ -99,19 +142,19 @@ public class EmbeddingTask
 
                 int indexOf = line.indexOf(" ");
                 String token = line.substring(0, indexOf);
+                String vector = line.substring(indexOf + 1);
 
                 if (vocabulary.contains(token)) {
-                    writer.write(line + "\n");
+                    writer.write(token, vector);
                     vocabulary.remove(token);
                 }
                 if (lenVec < 0) {
-                    String vector = line.substring(indexOf + 1);
                     lenVec = vector.split(" ").length;
                 }
             }
 
             for (String k : vocabulary) {
-                writer.write(k + " " + randomVector(lenVec) + "\n");
+                writer.write(k, randomVector(lenVec));
             }
         }
     }
@@ -140,7 +183,7 @@ public class EmbeddingTask
         Map<String, String> tokenIdMap = loadWord2IntegerMap(aContext);
 
         try (BufferedReader reader = getEmbeddingReader();
-                BufferedWriter writer = getPrunedEmbeddingWriter(aContext)) {
+                PrunedEmbeddingWriter writer = new PrunedEmbeddingWriter(aContext)) {
 
             String line = null;
             while ((line = reader.readLine()) != null) {
@@ -153,7 +196,7 @@ public class EmbeddingTask
                 String vector = line.substring(indexOf + 1);
 
                 if (tokenIdMap.containsKey(token)) {
-                    writer.write(tokenIdMap.get(token) + " " + vector + "\n");
+                    writer.write(tokenIdMap.get(token), vector);
                     tokenIdMap.remove(token);
                 }
                 if (lenVec < 0) {
@@ -162,7 +205,7 @@ public class EmbeddingTask
             }
 
             for (Entry<String, String> e : tokenIdMap.entrySet()) {
-                writer.write(e.getValue() + " " + randomVector(lenVec) + "\n");
+                writer.write(e.getValue(), randomVector(lenVec));
             }
         }
     }
@@ -174,13 +217,6 @@ public class EmbeddingTask
 
     }
 
-    private BufferedWriter getPrunedEmbeddingWriter(TaskContext aContext) throws Exception
-    {
-        return new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(new File(aContext.getFolder(OUTPUT_KEY, AccessMode.READWRITE),
-                        DeepLearningConstants.FILENAME_PRUNED_EMBEDDING)),
-                UTF_8));
-    }
 
     private Map<String, String> loadWord2IntegerMap(TaskContext aContext) throws IOException
     {
@@ -219,4 +255,60 @@ public class EmbeddingTask
     {
         return randomVector(aSize, 123456789);
     }
+
+    /**
+     * Writes the pruned embedding as text and, if a folder for binary embeddings is configured, as
+     * binary embedding
+     */
+    private class PrunedEmbeddingWriter
+        implements Closeable
+    {
+        private final File folder;
+        private final BufferedWriter text;
+        private final EmbeddingStore.Builder binary;
+
+        PrunedEmbeddingWriter(TaskContext aContext) throws IOException
+        {
+            folder = aContext.getFolder(OUTPUT_KEY, AccessMode.READWRITE);
+            text = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(
+                    new File(folder, DeepLearningConstants.FILENAME_PRUNED_EMBEDDING)), UTF_8));
+            binary = binaryEmbeddingFolder != null ? new EmbeddingStore.Builder(folder) : null;
+        }
+
+        void write(String key, String vectorText) throws IOException
+        {
+            text.write(key + " " + vectorText + "\n");
+            if (binary == null) {
+                return;
+            }
+
+            String[] values = vectorText.trim().split(" ");
+            if (binary.getDimension() >= 0 && binary.getDimension() != values.length) {
+                // lines of the text embedding with a deviating length are only copied as text
+                return;
+            }
+            float[] vector = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                vector[i] = Float.parseFloat(values[i]);
+            }
+            binary.add(key, vector, vectorText);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try {
+                text.close();
+                if (binary != null) {
+                    binary.build(new File(folder,
+                            DeepLearningConstants.FILENAME_PRUNED_EMBEDDING_BINARY));
+                }
+            }
+            finally {
+                if (binary != null) {
+                    binary.close();
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.deep;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a one- or two-dimensional matrix in the NumPy <code>.npy</code> format (version 1.0) with
+ * little-endian 32-bit values, which can be loaded without any parsing via
+ * <code>numpy.load()</code>. The values are written row by row through a file channel, the number
+ * of rows is filled into the header when the writer is closed.
+ */
+public class NumpyMatrixWriter
+    implements Closeable
+{
+    /**
+     * Little-endian 32-bit signed integer
+     */
+    public static final String INT32 = "<i4";
+
+    /**
+     * Little-endian 32-bit float
+     */
+    public static final String FLOAT32 = "<f4";
+
+    private static final byte[] MAGIC = { (byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0 };
+
+    // magic, version and header length followed by the padded header dictionary
+    private static final int HEADER_BYTES = 128;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final String dtype;
+    private final int columns;
+
+    private long values;
+
+    /**
+     * @param file
+     *            the output file
+     * @param dtype
+     *            either {@link #INT32} or {@link #FLOAT32}
+     * @param columns
+     *            number of columns of a two-dimensional matrix or zero for a one-dimensional
+     *            array
+     * @throws IOException
+     *             in case of an error
+     */
+    public NumpyMatrixWriter(File file, String dtype, int columns) throws IOException
+    {
+        if (!INT32.equals(dtype) && !FLOAT32.equals(dtype)) {
+            throw new IllegalArgumentException("Unsupported type [" + dtype + "]");
+        }
+        if (columns < 0) {
+            throw new IllegalArgumentException("Number of columns must not be negative");
+        }
+        this.dtype = dtype;
+        this.columns = columns;
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+        // placeholder, the final shape is known when closing the writer
+        channel.write(header(0), 0);
+        channel.position(HEADER_BYTES);
+    }
+
+    /**
+     * Writes a row of a two-dimensional integer matrix. Rows shorter than the number of columns
+     * are padded, longer rows are truncated.
+     * 
+     * @param row
+     *            the values of the row
+     * @param length
+     *            number of values to use from the row
+     * @param padding
+     *            value of the remaining columns
+     * @throws IOException
+     *             in case of an error
+     */
+    public void writeRow(int[] row, int length, int padding) throws IOException
+    {
+        if (columns == 0) {
+            throw new IllegalStateException("Writer holds a one-dimensional array");
+        }
+        int n = Math.min(length, columns);
+        for (int i = 0; i < columns; i++) {
+            write(i < n ? row[i] : padding);
+        }
+    }
+
+    /**
+     * Writes a single integer value
+     * 
+     * @param value
+     *            the value
+     * @throws IOException
+     *             in case of an error
+     */
+    public void write(int value) throws IOException
+    {
+        if (!INT32.equals(dtype)) {
+            throw new IllegalStateException("Writer holds values of type [" + dtype + "]");
+        }
+        ensureCapacity();
+        buffer.putInt(value);
+        values++;
+    }
+
+    /**
+     * Writes a single float value
+     * 
+     * @param value
+     *            the value
+     * @throws IOException
+     *             in case of an error
+     */
+    public void write(float value) throws IOException
+    {
+        if (!FLOAT32.equals(dtype)) {
+            throw new IllegalStateException("Writer holds values of type [" + dtype + "]");
+        }
+        ensureCapacity();
+        buffer.putFloat(value);
+        values++;
+    }
+
+    private void ensureCapacity() throws IOException
+    {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private ByteBuffer header(long rows)
+    {
+        String shape = columns == 0 ? "(" + rows + ",)" : "(" + rows + ", " + columns + ")";
+        StringBuilder dict = new StringBuilder("{'descr': '" + dtype
+                + "', 'fortran_order': False, 'shape': " + shape + ", }");
+        int dictBytes = HEADER_BYTES - MAGIC.length - Short.BYTES;
+        while (dict.length() < dictBytes - 1) {
+            dict.append(' ');
+        }
+        dict.append('\n');
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.putShort((short) dictBytes);
+        header.put(dict.toString().getBytes(US_ASCII));
+        header.flip();
+        return header;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try {
+            flush();
+            if (columns > 0 && values % columns != 0) {
+                throw new IllegalStateException(
+                        "Number of values [" + values + "] is no multiple of the columns");
+            }
+            long rows = columns == 0 ? values : values / columns;
+            channel.write(header(rows), 0);
+        }
+        finally {
+            channel.close();
+        }
+    }
+}
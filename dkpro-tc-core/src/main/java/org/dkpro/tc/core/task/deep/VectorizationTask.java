@@ -74,6 +74,9 @@ public class VectorizationTask
     @Discriminator(name = DeepLearningConstants.DIM_VECTORIZE_TO_INTEGER)
     private boolean integerVectorization;
 
+    @Discriminator(name = DeepLearningConstants.DIM_VECTORIZE_TO_NUMPY)
+    private boolean numpyVectorization;
+
     private boolean isTesting = false;
 
     public void setTesting(boolean isTesting)
@@ -121,21 +124,24 @@ public class VectorizationTask
                 engine = createEngineDescription(VectorizationDoc2Regression.class,
                         VectorizationDoc2Regression.PARAM_TARGET_DIRECTORY, outputDir,
                         VectorizationDoc2Regression.PARAM_PREPARATION_DIRECTORY, mappingDir,
-                        VectorizationDoc2Regression.PARAM_TO_INTEGER, integerVectorization);
+                        VectorizationDoc2Regression.PARAM_TO_INTEGER, integerVectorization,
+                        VectorizationDoc2Regression.PARAM_TO_NUMPY, numpyVectorization);
                 builder.add(engine);
                 break;
             case Constants.LM_SINGLE_LABEL:
                 engine = createEngineDescription(VectorizationDoc2SingleLabel.class,
                         VectorizationDoc2SingleLabel.PARAM_TARGET_DIRECTORY, outputDir,
                         VectorizationDoc2SingleLabel.PARAM_PREPARATION_DIRECTORY, mappingDir,
-                        VectorizationDoc2SingleLabel.PARAM_TO_INTEGER, integerVectorization);
+                        VectorizationDoc2SingleLabel.PARAM_TO_INTEGER, integerVectorization,
+                        VectorizationDoc2SingleLabel.PARAM_TO_NUMPY, numpyVectorization);
                 builder.add(engine);
                 break;
             case Constants.LM_MULTI_LABEL:
                 engine = createEngineDescription(VectorizationDocDoc2MultiLabel.class,
                         VectorizationDocDoc2MultiLabel.PARAM_TARGET_DIRECTORY, outputDir,
                         VectorizationDocDoc2MultiLabel.PARAM_PREPARATION_DIRECTORY, mappingDir,
-                        VectorizationDocDoc2MultiLabel.PARAM_TO_INTEGER, integerVectorization);
+                        VectorizationDocDoc2MultiLabel.PARAM_TO_INTEGER, integerVectorization,
+                        VectorizationDocDoc2MultiLabel.PARAM_TO_NUMPY, numpyVectorization);
                 builder.add(engine);
                 break;
             default:
@@ -148,7 +154,8 @@ public class VectorizationTask
             engine = createEngineDescription(VectorizationSeq2SeqOfLabel.class,
                     VectorizationSeq2SeqOfLabel.PARAM_TARGET_DIRECTORY, outputDir,
                     VectorizationSeq2SeqOfLabel.PARAM_PREPARATION_DIRECTORY, mappingDir,
-                    VectorizationDocDoc2MultiLabel.PARAM_TO_INTEGER, integerVectorization);
+                    VectorizationSeq2SeqOfLabel.PARAM_TO_INTEGER, integerVectorization,
+                    VectorizationSeq2SeqOfLabel.PARAM_TO_NUMPY, numpyVectorization);
             builder.add(engine);
             break;
         default:
@@ -42,6 +42,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.task.deep.NumpyMatrixWriter;
 import static java.nio.charset.StandardCharsets.UTF_8;
 public class VectorizationDoc2Regression
     extends JCasAnnotator_ImplBase
@@ -62,6 +63,10 @@ public class VectorizationDoc2Regression
     @ConfigurationParameter(name = PARAM_TO_INTEGER, mandatory = true, defaultValue = "false")
     protected boolean toInteger;
 
+    public static final String PARAM_TO_NUMPY = "mapToNumpy";
+    @ConfigurationParameter(name = PARAM_TO_NUMPY, mandatory = true, defaultValue = "false")
+    protected boolean toNumpy;
+
     File instanceVectorFile;
     File outcomeVectorFile;
 
@@ -71,6 +76,9 @@ public class VectorizationDoc2Regression
     BufferedWriter writerInstance;
     BufferedWriter writerOutcome;
 
+    NumpyMatrixWriter numpyInstance;
+    NumpyMatrixWriter numpyOutcome;
+
     int maximumLength = 0;
 
     StringBuilder outcomeVector = new StringBuilder();
@@ -101,6 +109,19 @@ public class VectorizationDoc2Regression
 
             maximumLength = getMaximumLength();
 
+            if (toNumpy) {
+                if (!toInteger) {
+                    throw new IllegalStateException(
+                            "NumPy output requires the integer vectorization");
+                }
+                numpyInstance = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_INSTANCE_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, maximumLength);
+                numpyOutcome = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_OUTCOME_VECTOR_NUMPY),
+                        NumpyMatrixWriter.FLOAT32, 0);
+            }
+
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -150,6 +171,9 @@ public class VectorizationDoc2Regression
         for (int i = 0; i < outcomes.size(); i++) {
             String outcome = outcomes.get(i).getOutcome();
             outcomeVector.append(outcome);
+            if (numpyOutcome != null) {
+                numpyOutcome.write(Float.parseFloat(outcome));
+            }
         }
         outcomeVector.append(" ");
     }
@@ -159,12 +183,14 @@ public class VectorizationDoc2Regression
 
         List<AnnotationFS> annos = new ArrayList<AnnotationFS>(
                 CasUtil.select(aJCas.getCas(), instanceType));
+        int[] row = new int[Math.min(annos.size(), maximumLength)];
         for (int i = 0; i < annos.size(); i++) {
             AnnotationFS a = annos.get(i);
 
             if (toInteger) {
                 Integer intIdOfInstance = instanceMap.get(a.getCoveredText());
                 writerInstance.write(intIdOfInstance.toString());
+                row[i] = intIdOfInstance;
             }
             else {
                 writerInstance.write(a.getCoveredText());
@@ -180,6 +206,10 @@ public class VectorizationDoc2Regression
         }
 
         writerInstance.write("\n");
+
+        if (numpyInstance != null) {
+            numpyInstance.writeRow(row, row.length, 0);
+        }
     }
 
     @SuppressWarnings("deprecation")
@@ -195,6 +225,16 @@ public class VectorizationDoc2Regression
 
         IOUtils.closeQuietly(writerInstance);
         IOUtils.closeQuietly(writerOutcome);
+
+        try {
+            if (numpyInstance != null) {
+                numpyInstance.close();
+                numpyOutcome.close();
+            }
+        }
+        catch (IOException e) {
+            throw new UnsupportedOperationException(e);
+        }
     }
 
 }
@@ -42,6 +42,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.task.deep.NumpyMatrixWriter;
 import static java.nio.charset.StandardCharsets.UTF_8;
 public class VectorizationDoc2SingleLabel
     extends JCasAnnotator_ImplBase
@@ -62,6 +63,10 @@ public class VectorizationDoc2SingleLabel
     @ConfigurationParameter(name = PARAM_TO_INTEGER, mandatory = true, defaultValue = "false")
     protected boolean toInteger;
 
+    public static final String PARAM_TO_NUMPY = "mapToNumpy";
+    @ConfigurationParameter(name = PARAM_TO_NUMPY, mandatory = true, defaultValue = "false")
+    protected boolean toNumpy;
+
     File instanceVectorFile;
     File outcomeVectorFile;
 
@@ -72,6 +77,9 @@ public class VectorizationDoc2SingleLabel
     BufferedWriter writerInstance;
     BufferedWriter writerOutcome;
 
+    NumpyMatrixWriter numpyInstance;
+    NumpyMatrixWriter numpyOutcome;
+
     int maximumLength = 0;
 
     StringBuilder outcomeVector = new StringBuilder();
@@ -103,6 +111,19 @@ public class VectorizationDoc2SingleLabel
 
             maximumLength = getMaximumLength();
 
+            if (toNumpy) {
+                if (!toInteger) {
+                    throw new IllegalStateException(
+                            "NumPy output requires the integer vectorization");
+                }
+                numpyInstance = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_INSTANCE_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, maximumLength);
+                numpyOutcome = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_OUTCOME_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, 0);
+            }
+
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -154,6 +175,9 @@ public class VectorizationDoc2SingleLabel
 
             if (toInteger) {
                 outcomeVector.append(outcomeMap.get(outcome).toString());
+                if (numpyOutcome != null) {
+                    numpyOutcome.write(outcomeMap.get(outcome));
+                }
             }
             else {
                 outcomeVector.append(outcome);
@@ -167,12 +191,14 @@ public class VectorizationDoc2SingleLabel
 
         List<AnnotationFS> annos = new ArrayList<AnnotationFS>(
                 CasUtil.select(aJCas.getCas(), instanceType));
+        int[] row = new int[Math.min(annos.size(), maximumLength)];
         for (int i = 0; i < annos.size(); i++) {
             AnnotationFS a = annos.get(i);
 
             if (toInteger) {
                 Integer intIdOfInstance = instanceMap.get(a.getCoveredText());
                 writerInstance.write(intIdOfInstance.toString());
+                row[i] = intIdOfInstance;
             }
             else {
                 writerInstance.write(a.getCoveredText());
@@ -188,6 +214,10 @@ public class VectorizationDoc2SingleLabel
         }
 
         writerInstance.write("\n");
+
+        if (numpyInstance != null) {
+            numpyInstance.writeRow(row, row.length, 0);
+        }
     }
 
     @SuppressWarnings("deprecation")
@@ -203,6 +233,16 @@ public class VectorizationDoc2SingleLabel
 
         IOUtils.closeQuietly(writerInstance);
         IOUtils.closeQuietly(writerOutcome);
+
+        try {
+            if (numpyInstance != null) {
+                numpyInstance.close();
+                numpyOutcome.close();
+            }
+        }
+        catch (IOException e) {
+            throw new UnsupportedOperationException(e);
+        }
     }
 
 }
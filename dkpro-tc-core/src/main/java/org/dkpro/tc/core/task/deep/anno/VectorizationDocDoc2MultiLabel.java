@@ -42,6 +42,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.task.deep.NumpyMatrixWriter;
 
 public class VectorizationDocDoc2MultiLabel
     extends JCasAnnotator_ImplBase
@@ -62,6 +63,10 @@ public class VectorizationDocDoc2MultiLabel
     @ConfigurationParameter(name = PARAM_TO_INTEGER, mandatory = true, defaultValue = "false")
     protected boolean toInteger;
 
+    public static final String PARAM_TO_NUMPY = "mapToNumpy";
+    @ConfigurationParameter(name = PARAM_TO_NUMPY, mandatory = true, defaultValue = "false")
+    protected boolean toNumpy;
+
     File instanceVectorFile;
     File outcomeVectorFile;
 
@@ -72,6 +77,9 @@ public class VectorizationDocDoc2MultiLabel
     BufferedWriter writerInstance;
     BufferedWriter writerOutcome;
 
+    NumpyMatrixWriter numpyInstance;
+    NumpyMatrixWriter numpyOutcome;
+
     int maximumLength = 0;
 
     StringBuilder outcomeVector = new StringBuilder();
@@ -103,6 +111,19 @@ public class VectorizationDocDoc2MultiLabel
 
             maximumLength = getMaximumLength();
 
+            if (toNumpy) {
+                if (!toInteger) {
+                    throw new IllegalStateException(
+                            "NumPy output requires the integer vectorization");
+                }
+                numpyInstance = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_INSTANCE_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, maximumLength);
+                numpyOutcome = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_OUTCOME_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, outcomeMap.size());
+            }
+
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -149,11 +170,13 @@ public class VectorizationDocDoc2MultiLabel
         List<TextClassificationOutcome> outcomes = new ArrayList<TextClassificationOutcome>(
                 JCasUtil.select(aJCas, TextClassificationOutcome.class));
 
+        int[] row = new int[outcomes.size()];
         for (int i = 0; i < outcomes.size(); i++) {
             String outcome = outcomes.get(i).getOutcome();
 
             if (toInteger) {
                 outcomeVector.append(outcomeMap.get(outcome).toString());
+                row[i] = outcomeMap.get(outcome);
             }
             else {
                 outcomeVector.append(outcome);
@@ -163,6 +186,10 @@ public class VectorizationDocDoc2MultiLabel
             }
         }
         outcomeVector.append("\n");
+
+        if (numpyOutcome != null) {
+            numpyOutcome.writeRow(row, row.length, -1);
+        }
     }
 
     private void processInstances(JCas aJCas) throws Exception
@@ -170,12 +197,14 @@ public class VectorizationDocDoc2MultiLabel
 
         List<AnnotationFS> annos = new ArrayList<AnnotationFS>(
                 CasUtil.select(aJCas.getCas(), instanceType));
+        int[] row = new int[Math.min(annos.size(), maximumLength)];
         for (int i = 0; i < annos.size(); i++) {
             AnnotationFS a = annos.get(i);
 
             if (toInteger) {
                 Integer intIdOfInstance = instanceMap.get(a.getCoveredText());
                 writerInstance.write(intIdOfInstance.toString());
+                row[i] = intIdOfInstance;
             }
             else {
                 writerInstance.write(a.getCoveredText());
@@ -191,6 +220,10 @@ public class VectorizationDocDoc2MultiLabel
         }
 
         writerInstance.write("\n");
+
+        if (numpyInstance != null) {
+            numpyInstance.writeRow(row, row.length, 0);
+        }
     }
 
     @SuppressWarnings("deprecation")
@@ -206,6 +239,16 @@ public class VectorizationDocDoc2MultiLabel
 
         IOUtils.closeQuietly(writerInstance);
         IOUtils.closeQuietly(writerOutcome);
+
+        try {
+            if (numpyInstance != null) {
+                numpyInstance.close();
+                numpyOutcome.close();
+            }
+        }
+        catch (IOException e) {
+            throw new UnsupportedOperationException(e);
+        }
     }
 
 }
@@ -42,6 +42,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.DeepLearningConstants;
+import org.dkpro.tc.core.task.deep.NumpyMatrixWriter;
 import static java.nio.charset.StandardCharsets.UTF_8;
 public class VectorizationSeq2SeqOfLabel
     extends JCasAnnotator_ImplBase
@@ -66,6 +67,10 @@ public class VectorizationSeq2SeqOfLabel
     @ConfigurationParameter(name = PARAM_TO_INTEGER, mandatory = true, defaultValue = "false")
     protected boolean toInteger;
 
+    public static final String PARAM_TO_NUMPY = "mapToNumpy";
+    @ConfigurationParameter(name = PARAM_TO_NUMPY, mandatory = true, defaultValue = "false")
+    protected boolean toNumpy;
+
     File instanceVectorFile;
     File outcomeVectorFile;
 
@@ -78,6 +83,9 @@ public class VectorizationSeq2SeqOfLabel
     BufferedWriter writerSeqInst;
     BufferedWriter writerSeqOutcome;
 
+    NumpyMatrixWriter numpyInstance;
+    NumpyMatrixWriter numpyOutcome;
+
     int maximumLength = 0;
 
     @Override
@@ -110,6 +118,19 @@ public class VectorizationSeq2SeqOfLabel
                     new OutputStreamWriter(new FileOutputStream(outcomeVectorFile), UTF_8));
 
             maximumLength = getMaximumLength();
+
+            if (toNumpy) {
+                if (!toInteger) {
+                    throw new IllegalStateException(
+                            "NumPy output requires the integer vectorization");
+                }
+                numpyInstance = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_INSTANCE_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, maximumLength);
+                numpyOutcome = new NumpyMatrixWriter(
+                        new File(targetFolder, DeepLearningConstants.FILENAME_OUTCOME_VECTOR_NUMPY),
+                        NumpyMatrixWriter.INT32, maximumLength);
+            }
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -161,12 +182,14 @@ public class VectorizationSeq2SeqOfLabel
             if (instances.isEmpty()) {
                 continue;
             }
+            int[] row = new int[Math.min(instances.size(), maximumLength)];
             int i = 0;
             for (; i < instances.size(); i++) {
                 TextClassificationOutcome tco = instances.get(i);
 
                 if (toInteger) {
                     writerSeqOutcome.write(outcomeMap.get(tco.getOutcome()).toString());
+                    row[i] = outcomeMap.get(tco.getOutcome());
                 }
                 else {
                     writerSeqOutcome.write(tco.getOutcome());
@@ -180,6 +203,10 @@ public class VectorizationSeq2SeqOfLabel
                 }
             }
             writerSeqOutcome.write("\n");
+
+            if (numpyOutcome != null) {
+                numpyOutcome.writeRow(row, row.length, -1);
+            }
         }
     }
 
@@ -194,12 +221,14 @@ public class VectorizationSeq2SeqOfLabel
                 continue;
             }
 
+            int[] row = new int[Math.min(instances.size(), maximumLength)];
             int i = 0;
             for (; i < instances.size(); i++) {
                 AnnotationFS annotationFS = instances.get(i);
 
                 if (toInteger) {
                     writerSeqInst.write(instanceMap.get(annotationFS.getCoveredText()).toString());
+                    row[i] = instanceMap.get(annotationFS.getCoveredText());
                 }
                 else {
                     writerSeqInst.write(annotationFS.getCoveredText());
@@ -213,6 +242,10 @@ public class VectorizationSeq2SeqOfLabel
                 }
             }
             writerSeqInst.write(System.lineSeparator());
+
+            if (numpyInstance != null) {
+                numpyInstance.writeRow(row, row.length, 0);
+            }
         }
 
     }
@@ -223,6 +256,16 @@ public class VectorizationSeq2SeqOfLabel
     {
         IOUtils.closeQuietly(writerSeqInst);
         IOUtils.closeQuietly(writerSeqOutcome);
+
+        try {
+            if (numpyInstance != null) {
+                numpyInstance.close();
+                numpyOutcome.close();
+            }
+        }
+        catch (IOException e) {
+            throw new UnsupportedOperationException(e);
+        }
     }
 
 }
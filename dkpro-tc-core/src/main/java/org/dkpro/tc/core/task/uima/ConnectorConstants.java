@@ -83,4 +83,26 @@ public interface ConnectorConstants
      */
     String PARAM_ENFORCE_MATCHING_FEATURES = "enforceMatchingFeatures";
 
+    /**
+     * Number of threads which run the feature extractors
+     */
+    String PARAM_EXTRACTION_THREADS = "extractionThreads";
+
+    /**
+     * The XML descriptors of the feature extractors, used to create an own set of feature extractor
+     * instances for each extraction thread
+     */
+    String PARAM_FEATURE_EXTRACTOR_DESCRIPTORS = "featureExtractorDescriptors";
+
+    /**
+     * Folder of a {@link FeatureCache} that holds the features of fold-invariant feature extractors
+     */
+    String PARAM_FEATURE_CACHE_DIRECTORY = "featureCacheDirectory";
+
+    /**
+     * Positions of the feature extractors whose features are taken from the feature cache instead
+     * of being extracted again
+     */
+    String PARAM_CACHED_FEATURE_EXTRACTORS = "cachedFeatureExtractors";
+
 }
\ No newline at end of file
@@ -17,15 +17,18 @@
  ******************************************************************************/
 package org.dkpro.tc.core.task.uima;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.logging.LogFactory;
 import org.apache.uima.UIMAException;
+import org.apache.uima.UIMAFramework;
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
@@ -35,9 +38,12 @@ import org.apache.uima.fit.factory.JCasFactory;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
+import org.apache.uima.resource.ExternalResourceDescription;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.XMLInputSource;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.FeatureVocabulary;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.api.type.JCasId;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
@@ -48,7 +54,6 @@ import org.dkpro.tc.core.io.DataWriter;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
 
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
-import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  * UIMA analysis engine that is used in the {@link ExtractFeaturesTask} to apply the feature
  * extractors on each CAS.
@@ -104,6 +109,18 @@ public class ExtractFeaturesConnector
     @ConfigurationParameter(name = PARAM_ENFORCE_MATCHING_FEATURES, mandatory = false)
     private boolean enforceMatchingFeatures;
 
+    @ConfigurationParameter(name = PARAM_EXTRACTION_THREADS, mandatory = true, defaultValue = "1")
+    private int extractionThreads;
+
+    @ConfigurationParameter(name = PARAM_FEATURE_EXTRACTOR_DESCRIPTORS, mandatory = false)
+    private String[] featureExtractorDescriptors;
+
+    @ConfigurationParameter(name = PARAM_FEATURE_CACHE_DIRECTORY, mandatory = false)
+    private File featureCacheDirectory;
+
+    @ConfigurationParameter(name = PARAM_CACHED_FEATURE_EXTRACTORS, mandatory = false)
+    private Integer[] cachedFeatureExtractors;
+
     @ExternalResource(key = PARAM_FEATURE_EXTRACTORS, mandatory = true)
     protected FeatureExtractorResource_ImplBase[] featureExtractors;
 
@@ -113,6 +130,15 @@ public class ExtractFeaturesConnector
 
     private InstanceExtractor instanceExtractor;
 
+    private ParallelInstanceExtractor parallelExtractor;
+
+    private FeatureCache featureCache;
+
+    /**
+     * Runs the feature extractors that are not cached, null if all of them are
+     */
+    private InstanceExtractor uncachedExtractor;
+
     private FeatureMetaData featureMeta;
 
     private DocumentMetaLogger documentMetaLogger;
@@ -130,10 +156,8 @@ public class ExtractFeaturesConnector
             featureMeta = new FeatureMetaData();
 
             if (isTesting) {
-                File featureNamesFile = new File(outputDirectory, Constants.FILENAME_FEATURES);
-                TreeSet<String> featureNames = new TreeSet<>(
-                        FileUtils.readLines(featureNamesFile, UTF_8));
-                featureMeta.setFeatureNames(featureNames);
+                // the output folder still contains the feature names of the training data
+                featureMeta.loadTrainingVocabulary(outputDirectory);
             }
 
             if (featureExtractors.length == 0) {
@@ -141,6 +165,15 @@ public class ExtractFeaturesConnector
                 throw new ResourceInitializationException();
             }
 
+            if (featureCacheDirectory != null) {
+                initFeatureCache();
+            }
+
+            if (extractionThreads > 1 && featureCache == null) {
+                parallelExtractor = new ParallelInstanceExtractor(createExtractors(),
+                        useSparseFeatures);
+            }
+
             dsw = (DataWriter) Class.forName(dataWriterClass).newInstance();
             dsw.init(outputDirectory, useSparseFeatures, learningMode, featureMode, applyWeighting,
                     outcomes);
@@ -150,6 +183,54 @@ public class ExtractFeaturesConnector
         }
     }
 
+    private void initFeatureCache() throws Exception
+    {
+        featureCache = FeatureCache.open(featureCacheDirectory);
+
+        Set<Integer> cached = new HashSet<>(Arrays.asList(cachedFeatureExtractors));
+        List<FeatureExtractorResource_ImplBase> uncached = new ArrayList<>();
+        for (int i = 0; i < featureExtractors.length; i++) {
+            if (!cached.contains(i)) {
+                uncached.add(featureExtractors[i]);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            uncachedExtractor = new InstanceExtractor(featureMode,
+                    uncached.toArray(new FeatureExtractorResource_ImplBase[0]), addInstanceId);
+        }
+
+        LogFactory.getLog(getClass())
+                .debug("--- features of [" + cached.size() + "] of [" + featureExtractors.length
+                        + "] feature extractors are taken from the cache ---");
+    }
+
+    private List<InstanceExtractor> createExtractors() throws Exception
+    {
+        if (featureExtractorDescriptors == null
+                || featureExtractorDescriptors.length != featureExtractors.length) {
+            throw new IllegalArgumentException(
+                    "Parallel feature extraction requires the descriptors of all ["
+                            + featureExtractors.length + "] feature extractors");
+        }
+
+        List<InstanceExtractor> extractors = new ArrayList<>();
+        for (int t = 0; t < extractionThreads; t++) {
+            FeatureExtractorResource_ImplBase[] instances = new FeatureExtractorResource_ImplBase[featureExtractors.length];
+            for (int i = 0; i < instances.length; i++) {
+                XMLInputSource source = new XMLInputSource(
+                        new ByteArrayInputStream(featureExtractorDescriptors[i].getBytes("utf-8")),
+                        null);
+                ExternalResourceDescription desc = (ExternalResourceDescription) UIMAFramework
+                        .getXMLParser().parse(source);
+                instances[i] = (FeatureExtractorResource_ImplBase) UIMAFramework
+                        .produceResource(desc.getResourceSpecifier(), null);
+            }
+            extractors.add(new InstanceExtractor(featureMode, instances, addInstanceId));
+        }
+        return extractors;
+    }
+
     @Override
     public void process(JCas aJCas) throws AnalysisEngineProcessException
     {
@@ -164,8 +245,64 @@ public class ExtractFeaturesConnector
         LogFactory.getLog(getClass()).debug("--- feature extraction for CAS with id ["
                 + JCasUtil.selectSingle(aJCas, JCasId.class).getId() + "] ---");
 
-        List<Instance> instances = instanceExtractor.getInstances(aJCas, useSparseFeatures);
+        if (parallelExtractor != null) {
+            parallelExtractor.submit(aJCas);
+            for (List<Instance> instances : parallelExtractor.takeCompleted(false)) {
+                writeInstances(instances);
+            }
+            return;
+        }
+
+        if (featureCache != null) {
+            writeInstances(getInstancesWithCache(aJCas));
+            return;
+        }
+
+        writeInstances(instanceExtractor.getInstances(aJCas, useSparseFeatures));
+    }
+
+    private List<Instance> getInstancesWithCache(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        int id = JCasUtil.selectSingle(aJCas, JCasId.class).getId();
+
+        List<Instance> cached;
+        try {
+            cached = featureCache.get(id);
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+
+        if (cached == null) {
+            throw new AnalysisEngineProcessException(new IllegalStateException(
+                    "The feature cache holds no instances of the CAS with id [" + id + "]"));
+        }
+
+        if (uncachedExtractor == null) {
+            return cached;
+        }
+
+        List<Instance> instances = uncachedExtractor.getInstances(aJCas, useSparseFeatures);
+        if (instances.size() != cached.size()) {
+            throw new AnalysisEngineProcessException(new IllegalStateException("The CAS with id ["
+                    + id + "] yields [" + instances.size() + "] instances but the cache holds ["
+                    + cached.size() + "]"));
+        }
 
+        // instances are extracted in the same order in every run, the freshly extracted instances
+        // already carry id, outcomes and weight
+        for (int i = 0; i < instances.size(); i++) {
+            for (Feature f : cached.get(i).getFeatures()) {
+                if (!f.getName().equals(Constants.ID_FEATURE_NAME)) {
+                    instances.get(i).addFeature(f);
+                }
+            }
+        }
+        return instances;
+    }
+
+    private void writeInstances(List<Instance> instances) throws AnalysisEngineProcessException
+    {
         LogFactory.getLog(getClass())
                 .trace("--- Extracted [" + instances.size() + " feature instances] ---");
 
@@ -178,6 +315,10 @@ public class ExtractFeaturesConnector
         }
 
         if (isFilteringRequestedOrNoStreamingAvailable()) {
+            // default feature blocks are not part of the serialized instances
+            for (Instance i : instances) {
+                i.fillDefaultFeatures();
+            }
             dsw.writeGenericFormat(instances);
         }
         else {
@@ -285,20 +426,11 @@ public class ExtractFeaturesConnector
             return instances;
         }
 
-        List<Instance> out = new ArrayList<>();
-
+        FeatureVocabulary vocabulary = featureMeta.getTrainingVocabulary();
         for (Instance i : instances) {
-            List<Feature> newFeatures = new ArrayList<>();
-            for (Feature feat : i.getFeatures()) {
-                if (!featureMeta.getFeatureNames().contains(feat.getName())) {
-                    continue;
-                }
-                newFeatures.add(feat);
-            }
-            i.setFeatures(newFeatures);
-            out.add(i);
+            vocabulary.retainKnownFeatures(i);
         }
-        return out;
+        return instances;
     }
 
     @Override
@@ -306,6 +438,17 @@ public class ExtractFeaturesConnector
     {
         super.collectionProcessComplete();
 
+        if (parallelExtractor != null) {
+            try {
+                for (List<Instance> instances : parallelExtractor.takeCompleted(true)) {
+                    writeInstances(instances);
+                }
+            }
+            finally {
+                parallelExtractor.shutdown();
+            }
+        }
+
         try {
 
             if (featureFilters.length > 0) {
@@ -323,6 +466,10 @@ public class ExtractFeaturesConnector
 
             documentMetaLogger.close();
 
+            if (featureCache != null) {
+                featureCache.close();
+            }
+
         }
         catch (Exception e) {
             throw new AnalysisEngineProcessException(e);
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Stores the instances extracted from each CAS, keyed by the id of the CAS. The instances of all
+ * CAS are appended to a single data file, an index file records where the instances of a CAS
+ * start. A cache is either created for writing or opened for reading, the index is loaded into
+ * memory when a cache is opened. The cache additionally records the CAS files it was built from,
+ * so that a consumer can verify that the CAS it processes are covered.
+ * 
+ * The class of each feature value is stored along with the value, a cached feature is thus equal
+ * to the extracted one, e.g. an integer value is not read back as a double.
+ */
+public class FeatureCache
+    implements Closeable
+{
+    public static final String DATA_FILE = "featureCache.json";
+    public static final String INDEX_FILE = "featureCache.index";
+    public static final String FILES_FILE = "featureCache.files";
+
+    private static final Type INSTANCE_LIST = new TypeToken<List<Instance>>()
+    {
+    }.getType();
+
+    private static final String VALUE_CLASS = "valueClass";
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Feature.class, new FeatureAdapter()).create();
+
+    private File folder;
+    private OutputStream dataOut;
+    private Writer indexOut;
+    private long offset;
+    private Set<Integer> written;
+
+    private RandomAccessFile dataIn;
+    private Map<Integer, long[]> index;
+
+    private FeatureCache()
+    {
+        // use create or open
+    }
+
+    /**
+     * Creates an empty cache in the given folder, existing cache files are replaced.
+     * 
+     * @param folder
+     *            the folder of the cache
+     * @return a cache to which instances can be written
+     * @throws IOException
+     *             if the files cannot be created
+     */
+    public static FeatureCache create(File folder) throws IOException
+    {
+        FeatureCache cache = new FeatureCache();
+        cache.folder = folder;
+        // the index gets its final name on close, a cache without index is incomplete
+        FileUtils.deleteQuietly(new File(folder, INDEX_FILE));
+        cache.dataOut = new BufferedOutputStream(
+                new FileOutputStream(new File(folder, DATA_FILE)));
+        cache.indexOut = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(folder, INDEX_FILE + ".tmp")), UTF_8));
+        cache.written = new HashSet<>();
+        return cache;
+    }
+
+    /**
+     * Opens a complete cache for reading.
+     * 
+     * @param folder
+     *            the folder of the cache
+     * @return a cache from which instances can be read
+     * @throws IOException
+     *             if the files cannot be read
+     */
+    public static FeatureCache open(File folder) throws IOException
+    {
+        FeatureCache cache = new FeatureCache();
+        cache.index = new HashMap<>();
+        for (String line : FileUtils.readLines(new File(folder, INDEX_FILE), UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] split = line.split("\t");
+            cache.index.put(Integer.valueOf(split[0]),
+                    new long[] { Long.parseLong(split[1]), Long.parseLong(split[2]) });
+        }
+        cache.dataIn = new RandomAccessFile(new File(folder, DATA_FILE), "r");
+        return cache;
+    }
+
+    /**
+     * @param folder
+     *            the folder of the cache
+     * @return true if the folder contains a complete cache
+     */
+    public static boolean exists(File folder)
+    {
+        return folder != null && new File(folder, INDEX_FILE).isFile()
+                && new File(folder, DATA_FILE).isFile();
+    }
+
+    /**
+     * Records the CAS files from which the cache is built.
+     * 
+     * @param folder
+     *            the folder of the cache
+     * @param files
+     *            the CAS files
+     * @throws IOException
+     *             if the file list cannot be written
+     */
+    public static void writeFiles(File folder, Collection<File> files) throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        for (File f : files) {
+            sb.append(f.getCanonicalPath());
+            sb.append("\n");
+        }
+        FileUtils.writeStringToFile(new File(folder, FILES_FILE), sb.toString(), UTF_8);
+    }
+
+    /**
+     * @param folder
+     *            the folder of the cache
+     * @param files
+     *            the paths of CAS files that are about to be processed
+     * @return true if the cache was built from all of the given files
+     * @throws IOException
+     *             if the file list cannot be read
+     */
+    public static boolean covers(File folder, Collection<String> files) throws IOException
+    {
+        File list = new File(folder, FILES_FILE);
+        if (!list.isFile()) {
+            return false;
+        }
+        Set<String> cached = new HashSet<>(FileUtils.readLines(list, UTF_8));
+        for (String f : files) {
+            if (!cached.contains(new File(f).getCanonicalPath())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(int jcasId, List<Instance> instances) throws IOException
+    {
+        if (!written.add(jcasId)) {
+            // CAS that were split into several CAS share the id, they cannot be told apart
+            throw new IllegalStateException(
+                    "The feature cache already holds instances of the CAS with id [" + jcasId + "]");
+        }
+
+        byte[] bytes = (gson.toJson(instances, INSTANCE_LIST) + "\n").getBytes(UTF_8);
+        dataOut.write(bytes);
+        indexOut.write(jcasId + "\t" + offset + "\t" + bytes.length + "\n");
+        offset += bytes.length;
+    }
+
+    /**
+     * @param jcasId
+     *            the id of the CAS
+     * @return the cached instances of the CAS or null if the cache holds no entry for the CAS
+     * @throws IOException
+     *             if the data cannot be read
+     */
+    public List<Instance> get(int jcasId) throws IOException
+    {
+        long[] entry = index.get(jcasId);
+        if (entry == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[(int) entry[1]];
+        dataIn.seek(entry[0]);
+        dataIn.readFully(bytes);
+        return gson.fromJson(new String(bytes, UTF_8), INSTANCE_LIST);
+    }
+
+    /**
+     * @return the number of CAS in the cache
+     */
+    public int size()
+    {
+        return index != null ? index.size() : written.size();
+    }
+
+    /**
+     * Closes the cache, a cache that was created for writing is completed by moving its index in
+     * place.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (dataOut != null) {
+            dataOut.close();
+            indexOut.close();
+            dataOut = null;
+            FileUtils.moveFile(new File(folder, INDEX_FILE + ".tmp"), new File(folder, INDEX_FILE));
+        }
+        if (dataIn != null) {
+            dataIn.close();
+            dataIn = null;
+        }
+    }
+
+    private static class FeatureAdapter
+        implements JsonSerializer<Feature>, JsonDeserializer<Feature>
+    {
+        private final Gson plain = new Gson();
+
+        @Override
+        public JsonElement serialize(Feature src, Type typeOfSrc, JsonSerializationContext context)
+        {
+            JsonObject json = plain.toJsonTree(src).getAsJsonObject();
+            if (src.getValue() != null) {
+                json.addProperty(VALUE_CLASS, src.getValue().getClass().getName());
+            }
+            return json;
+        }
+
+        @Override
+        public Feature deserialize(JsonElement json, Type typeOfT,
+                JsonDeserializationContext context)
+            throws JsonParseException
+        {
+            JsonObject object = json.getAsJsonObject();
+            Object value = null;
+            if (object.has(VALUE_CLASS)) {
+                try {
+                    value = plain.fromJson(object.get("value"),
+                            Class.forName(object.get(VALUE_CLASS).getAsString()));
+                }
+                catch (ClassNotFoundException e) {
+                    throw new JsonParseException(e);
+                }
+            }
+
+            FeatureType type = object.has("type")
+                    ? plain.fromJson(object.get("type"), FeatureType.class)
+                    : null;
+            boolean isDefault = object.has("isDefaultValue")
+                    && object.get("isDefaultValue").getAsBoolean();
+            try {
+                Feature feature = new Feature("", value, isDefault, type);
+                // the stored name is already escaped
+                feature.setName(object.get("name").getAsString());
+                return feature;
+            }
+            catch (TextClassificationException e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.commons.logging.LogFactory;
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.fit.descriptor.ExternalResource;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.type.JCasId;
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.core.task.FeatureCacheTask;
+
+/**
+ * UIMA analysis engine that is used in the {@link FeatureCacheTask} to extract the features of
+ * fold-invariant feature extractors once per CAS and store them in a {@link FeatureCache}.
+ */
+public class FeatureCacheConnector
+    extends JCasAnnotator_ImplBase
+    implements ConnectorConstants
+{
+    /**
+     * Directory in which the cache will be stored
+     */
+    public static final String PARAM_OUTPUT_DIRECTORY = "outputDirectory";
+
+    @ConfigurationParameter(name = PARAM_OUTPUT_DIRECTORY, mandatory = true)
+    private File outputDirectory;
+
+    @ConfigurationParameter(name = PARAM_USE_SPARSE_FEATURES, mandatory = true)
+    private boolean useSparseFeatures;
+
+    @ConfigurationParameter(name = PARAM_FEATURE_MODE, mandatory = true, defaultValue = Constants.FM_DOCUMENT)
+    private String featureMode;
+
+    @ExternalResource(key = PARAM_FEATURE_EXTRACTORS, mandatory = true)
+    protected FeatureExtractorResource_ImplBase[] featureExtractors;
+
+    private InstanceExtractor instanceExtractor;
+
+    private FeatureCache cache;
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+        try {
+            // the instance id is part of the cached instances, it does not depend on the fold
+            instanceExtractor = new InstanceExtractor(featureMode, featureExtractors, true);
+            cache = FeatureCache.create(outputDirectory);
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
+    @Override
+    public void process(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        int id = JCasUtil.selectSingle(aJCas, JCasId.class).getId();
+        List<Instance> instances = instanceExtractor.getInstances(aJCas, useSparseFeatures);
+
+        try {
+            for (Instance i : instances) {
+                // default feature blocks are not part of the serialized instances
+                i.fillDefaultFeatures();
+            }
+            cache.put(id, instances);
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        super.collectionProcessComplete();
+        try {
+            LogFactory.getLog(getClass())
+                    .debug("--- cached the features of [" + cache.size() + "] CAS ---");
+            cache.close();
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+    }
+}
@@ -28,6 +28,8 @@ import java.util.TreeSet;
 
 import org.apache.commons.io.FileUtils;
 import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureDictionary;
+import org.dkpro.tc.api.features.FeatureVocabulary;
 import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
@@ -36,14 +38,15 @@ public class FeatureMetaData
     implements Constants
 {
 
-    private TreeSet<String> featureNames;
+    private FeatureDictionary featureDictionary;
+    private FeatureDictionary trainingVocabulary;
     private Map<String, FeatureType> featDesc = new HashMap<>();
     private Map<String, String> enumFeatureName = new HashMap<>();
     private boolean didCollect;
 
     public FeatureMetaData()
     {
-        featureNames = new TreeSet<>();
+        featureDictionary = new FeatureDictionary(Collections.<String> emptyList());
     }
 
     public boolean didCollect()
@@ -53,7 +56,7 @@ public class FeatureMetaData
 
     public void collectMetaData(List<Instance> instances)
     {
-        featureNames = new TreeSet<>();
+        List<String> featureNames = new ArrayList<>();
         for (Feature f : instances.get(0).getFeatures()) {
             featureNames.add(f.getName());
 
@@ -66,6 +69,7 @@ public class FeatureMetaData
             }
         }
 
+        featureDictionary = new FeatureDictionary(featureNames);
         didCollect = true;
     }
 
@@ -91,7 +95,7 @@ public class FeatureMetaData
     {
 
         FileUtils.writeLines(new File(outputDirectory, FILENAME_FEATURES), UTF_8.toString(),
-                featureNames);
+                featureDictionary.getNames());
         FileUtils.writeStringToFile(
                 new File(outputDirectory, FILENAME_FEATURES_DESCRIPTION),
                 typeDescriptionToString(), UTF_8);
@@ -99,12 +103,44 @@ public class FeatureMetaData
 
     public void setFeatureNames(TreeSet<String> featureNames)
     {
-        this.featureNames = featureNames;
+        this.featureDictionary = new FeatureDictionary(featureNames);
     }
 
     public TreeSet<String> getFeatureNames()
     {
-        return new TreeSet<>(featureNames);
+        return new TreeSet<>(featureDictionary.getNames());
+    }
+
+    /**
+     * Loads the feature names that were written during training from the given folder. The
+     * vocabulary is loaded once and is not affected by feature names that are collected later on.
+     * 
+     * @param folder
+     *            the folder containing the feature names file of the training data
+     * @throws IOException
+     *             if the feature names cannot be read
+     */
+    public void loadTrainingVocabulary(File folder) throws IOException
+    {
+        List<String> names = FileUtils.readLines(new File(folder, FILENAME_FEATURES), UTF_8);
+        names.removeIf(String::isEmpty);
+        trainingVocabulary = new FeatureDictionary(names);
+    }
+
+    /**
+     * @return the vocabulary of the training data or null if it has not been loaded
+     */
+    public FeatureVocabulary getTrainingVocabulary()
+    {
+        return trainingVocabulary;
+    }
+
+    /**
+     * @return the id-based view on the feature names, ids follow the sort order of the names
+     */
+    public FeatureDictionary getFeatureDictionary()
+    {
+        return featureDictionary;
     }
 
 }
\ No newline at end of file
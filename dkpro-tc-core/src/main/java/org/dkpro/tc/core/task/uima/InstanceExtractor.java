@@ -20,7 +20,6 @@ package org.dkpro.tc.core.task.uima;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -30,11 +29,13 @@ import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.DefaultFeatureProvider;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.api.features.PairFeatureExtractor;
+import org.dkpro.tc.api.features.util.CasScope;
 import org.dkpro.tc.api.type.JCasId;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.api.type.TextClassificationSequence;
@@ -61,8 +62,9 @@ public class InstanceExtractor
     public List<Instance> getInstances(JCas aJCas, boolean extractSparse)
         throws AnalysisEngineProcessException
     {
-
-        try {
+        // values derived from the CAS, e.g. annotation indexes, are shared by all feature
+        // extractors and targets of this CAS
+        try (CasScope scope = CasScope.open(aJCas)) {
             if (isSequenceMode()) {
                 return getSequenceInstances(aJCas, extractSparse);
             }
@@ -126,7 +128,7 @@ public class InstanceExtractor
                         instance.addFeatures(getSparse(aJCas, aTarget, featExt));
                     }
                     else {
-                        instance.addFeatures(getDense(aJCas, aTarget, featExt));
+                        addDense(instance, aJCas, aTarget, featExt);
                     }
                 }
 
@@ -175,7 +177,7 @@ public class InstanceExtractor
                     instance.addFeatures(getSparse(aJCas, aTarget, featExt));
                 }
                 else {
-                    instance.addFeatures(getDense(aJCas, aTarget, featExt));
+                    addDense(instance, aJCas, aTarget, featExt);
                 }
             }
 
@@ -237,7 +239,7 @@ public class InstanceExtractor
                 anInstance.addFeatures(getSparse(aJCas, unit, featExt));
             }
             else {
-                anInstance.addFeatures(getDense(aJCas, unit, featExt));
+                addDense(anInstance, aJCas, unit, featExt);
             }
 
             anInstance.setOutcomes(getOutcomes(aJCas, unit));
@@ -300,7 +302,7 @@ public class InstanceExtractor
                 anInstance.addFeatures(getSparse(aJCas, documentTcu, featExt));
             }
             else {
-                anInstance.addFeatures(getDense(aJCas, documentTcu, featExt));
+                addDense(anInstance, aJCas, documentTcu, featExt);
             }
 
             anInstance.setOutcomes(getOutcomes(aJCas, null));
@@ -356,19 +358,25 @@ public class InstanceExtractor
         return weight;
     }
 
-    private Set<Feature> getDense(JCas aJCas, TextClassificationTarget aTarget,
+    private void addDense(Instance anInstance, JCas aJCas, TextClassificationTarget aTarget,
             FeatureExtractorResource_ImplBase aFeatExtractor)
         throws TextClassificationException
     {
-        return ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
+        anInstance.addFeatures(((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget));
+
+        if (aFeatExtractor instanceof DefaultFeatureProvider) {
+            // the extractor returned only the features it found, the defaults are shared
+            anInstance.addDefaultFeatures(
+                    ((DefaultFeatureProvider) aFeatExtractor).getDefaultFeatures());
+        }
     }
 
-    private Set<Feature> getSparse(JCas aJCas, TextClassificationTarget aTarget,
+    private List<Feature> getSparse(JCas aJCas, TextClassificationTarget aTarget,
             FeatureExtractorResource_ImplBase aFeatExtractor)
         throws TextClassificationException
     {
         Set<Feature> features = ((FeatureExtractor) aFeatExtractor).extract(aJCas, aTarget);
-        Set<Feature> filtered = new HashSet<>();
+        List<Feature> filtered = new ArrayList<>(features.size());
         for (Feature f : features) {
             if (!f.isDefaultValue()) {
                 filtered.add(f);
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.cas.TypeSystem;
+import org.apache.uima.cas.impl.Serialization;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.util.CasCreationUtils;
+import org.dkpro.tc.api.features.Instance;
+
+/**
+ * Runs the {@link InstanceExtractor} for several CASes concurrently. Each worker uses its own
+ * {@link InstanceExtractor} with its own feature extractor instances and its own CAS. A submitted
+ * CAS is only serialized on the calling thread, it is deserialized into the CAS of a worker on the
+ * worker thread. The extracted instances are handed back in the order in which the CASes were
+ * submitted, which keeps the written data deterministic.
+ */
+public class ParallelInstanceExtractor
+{
+    private final BlockingQueue<Worker> workers;
+    private final Semaphore inFlight;
+    private final Deque<Future<List<Instance>>> pending = new ArrayDeque<>();
+    private final ExecutorService executor;
+    private final int numberOfThreads;
+    private final boolean extractSparse;
+
+    private volatile TypeSystem typeSystem;
+
+    /**
+     * @param extractors
+     *            one instance extractor per worker thread, extractors must not share feature
+     *            extractor instances
+     * @param extractSparse
+     *            whether sparse features are extracted
+     */
+    public ParallelInstanceExtractor(List<InstanceExtractor> extractors, boolean extractSparse)
+    {
+        this.numberOfThreads = extractors.size();
+        this.workers = new ArrayBlockingQueue<>(numberOfThreads);
+        for (InstanceExtractor extractor : extractors) {
+            workers.add(new Worker(extractor));
+        }
+        // bounds the serialized CASes which wait for a worker
+        this.inFlight = new Semaphore(2 * numberOfThreads);
+        this.extractSparse = extractSparse;
+        this.executor = Executors.newFixedThreadPool(numberOfThreads, new ThreadFactory()
+        {
+            private final AtomicInteger threadId = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r)
+            {
+                Thread t = new Thread(r, "tc-feature-extraction-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Serializes the CAS and schedules the extraction of its instances. Blocks if too many CASes
+     * are waiting for a worker.
+     * 
+     * @param aJCas
+     *            the CAS, it can be reset or re-used by the caller as soon as this method returns
+     * @throws AnalysisEngineProcessException
+     *             in case of an error
+     */
+    public void submit(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        if (typeSystem == null) {
+            typeSystem = aJCas.getTypeSystem();
+        }
+
+        // plain binary serialization is a copy of the heap arrays, the feature structures are
+        // only re-created by the deserialization on the worker thread
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try {
+            Serialization.serializeCAS(aJCas.getCas(), bos);
+        }
+        catch (RuntimeException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+        final byte[] data = bos.toByteArray();
+
+        try {
+            inFlight.acquire();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisEngineProcessException(e);
+        }
+
+        pending.add(executor.submit(() -> {
+            Worker worker = workers.take();
+            try {
+                return worker.extract(data);
+            }
+            finally {
+                workers.add(worker);
+                inFlight.release();
+            }
+        }));
+    }
+
+    /**
+     * Returns the instances of all CASes whose extraction has completed, in submission order. The
+     * instances of a CAS are only returned once all CASes submitted before it are done.
+     * 
+     * @param waitForAll
+     *            if true, waits until all submitted CASes are done
+     * @return the instances per CAS
+     * @throws AnalysisEngineProcessException
+     *             if the extraction failed for a CAS
+     */
+    public List<List<Instance>> takeCompleted(boolean waitForAll)
+        throws AnalysisEngineProcessException
+    {
+        List<List<Instance>> completed = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            // bound the number of results which are held back by a slow predecessor
+            boolean mustWait = waitForAll || pending.size() > 2 * numberOfThreads;
+            if (!mustWait && !pending.peek().isDone()) {
+                break;
+            }
+            completed.add(get(pending.poll()));
+        }
+        return completed;
+    }
+
+    private List<Instance> get(Future<List<Instance>> future) throws AnalysisEngineProcessException
+    {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisEngineProcessException(e);
+        }
+        catch (ExecutionException e) {
+            throw new AnalysisEngineProcessException(e.getCause());
+        }
+    }
+
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * An instance extractor together with the CAS it extracts from, both are only used by one
+     * thread at a time.
+     */
+    private class Worker
+    {
+        private final InstanceExtractor extractor;
+        private JCas jcas;
+
+        Worker(InstanceExtractor extractor)
+        {
+            this.extractor = extractor;
+        }
+
+        List<Instance> extract(byte[] data) throws Exception
+        {
+            if (jcas == null) {
+                // plain binary serialization requires the same type system
+                CAS cas = CasCreationUtils.createCas(typeSystem, null, null, null);
+                jcas = cas.getJCas();
+            }
+
+            try {
+                Serialization.deserializeCAS(jcas.getCas(), new ByteArrayInputStream(data));
+                return extractor.getInstances(jcas, extractSparse);
+            }
+            finally {
+                jcas.reset();
+            }
+        }
+    }
+}
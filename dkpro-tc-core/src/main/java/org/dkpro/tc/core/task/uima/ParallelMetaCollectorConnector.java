@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.UimaContext;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
+import org.apache.uima.cas.CAS;
+import org.apache.uima.fit.component.JCasAnnotator_ImplBase;
+import org.apache.uima.fit.descriptor.ConfigurationParameter;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ResourceInitializationException;
+import org.apache.uima.util.CasCopier;
+import org.apache.uima.util.CasCreationUtils;
+import org.apache.uima.util.TypeSystemUtil;
+import org.apache.uima.util.XMLInputSource;
+import org.dkpro.tc.api.features.util.CasScope;
+
+/**
+ * Runs several meta collectors concurrently. The meta collectors are distributed over a number of
+ * groups, each group runs on its own thread and processes a copy of each CAS. Within a group, the
+ * meta collectors see the CASes in the order in which they arrive, hence each meta collector
+ * collects exactly the same data as in a sequential run.
+ */
+public class ParallelMetaCollectorConnector
+    extends JCasAnnotator_ImplBase
+{
+    /**
+     * The XML descriptors of the meta collectors
+     */
+    public static final String PARAM_META_COLLECTOR_DESCRIPTORS = "metaCollectorDescriptors";
+    @ConfigurationParameter(name = PARAM_META_COLLECTOR_DESCRIPTORS, mandatory = true)
+    private String[] metaCollectorDescriptors;
+
+    /**
+     * Number of threads which run the meta collectors
+     */
+    public static final String PARAM_THREADS = "threads";
+    @ConfigurationParameter(name = PARAM_THREADS, mandatory = true, defaultValue = "2")
+    private int threads;
+
+    // number of CAS copies a group may hold before the caller has to wait
+    private static final int CAS_PER_GROUP = 2;
+
+    private List<Group> groups;
+
+    @Override
+    public void initialize(UimaContext context) throws ResourceInitializationException
+    {
+        super.initialize(context);
+
+        int numGroups = Math.max(1, Math.min(threads, metaCollectorDescriptors.length));
+        groups = new ArrayList<>();
+        for (int i = 0; i < numGroups; i++) {
+            groups.add(new Group(i));
+        }
+
+        try {
+            for (int i = 0; i < metaCollectorDescriptors.length; i++) {
+                XMLInputSource source = new XMLInputSource(
+                        new ByteArrayInputStream(metaCollectorDescriptors[i].getBytes("utf-8")),
+                        null);
+                AnalysisEngineDescription desc = UIMAFramework.getXMLParser()
+                        .parseAnalysisEngineDescription(source);
+                groups.get(i % numGroups).collectors.add(UIMAFramework.produceAnalysisEngine(desc));
+            }
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
+    @Override
+    public void process(JCas aJCas) throws AnalysisEngineProcessException
+    {
+        for (Group group : groups) {
+            group.submit(aJCas);
+        }
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        super.collectionProcessComplete();
+
+        for (Group group : groups) {
+            group.awaitAll();
+        }
+        for (Group group : groups) {
+            for (AnalysisEngine collector : group.collectors) {
+                collector.collectionProcessComplete();
+            }
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (groups != null) {
+            for (Group group : groups) {
+                group.executor.shutdownNow();
+                for (AnalysisEngine collector : group.collectors) {
+                    collector.destroy();
+                }
+            }
+            groups = null;
+        }
+        super.destroy();
+    }
+
+    private static class Group
+    {
+        final List<AnalysisEngine> collectors = new ArrayList<>();
+        final ExecutorService executor;
+        final BlockingQueue<JCas> casPool = new ArrayBlockingQueue<>(CAS_PER_GROUP);
+        final Deque<Future<?>> pending = new ArrayDeque<>();
+        int casPoolSize = 0;
+
+        Group(int id)
+        {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "tc-meta-collection-" + id);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        void submit(JCas aJCas) throws AnalysisEngineProcessException
+        {
+            // surfaces errors early and keeps the number of pending tasks bounded
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                get(pending.poll());
+            }
+
+            JCas copy = acquireCas(aJCas);
+            try {
+                CasCopier.copyCas(aJCas.getCas(), copy.getCas(), true);
+            }
+            catch (RuntimeException e) {
+                releaseCas(copy);
+                throw new AnalysisEngineProcessException(e);
+            }
+
+            pending.add(executor.submit(() -> {
+                try (CasScope scope = CasScope.open(copy)) {
+                    for (AnalysisEngine collector : collectors) {
+                        collector.process(copy);
+                    }
+                }
+                finally {
+                    releaseCas(copy);
+                }
+                return null;
+            }));
+        }
+
+        void awaitAll() throws AnalysisEngineProcessException
+        {
+            while (!pending.isEmpty()) {
+                get(pending.poll());
+            }
+        }
+
+        private void get(Future<?> future) throws AnalysisEngineProcessException
+        {
+            try {
+                future.get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AnalysisEngineProcessException(e);
+            }
+            catch (ExecutionException e) {
+                throw new AnalysisEngineProcessException(e.getCause());
+            }
+        }
+
+        private JCas acquireCas(JCas template) throws AnalysisEngineProcessException
+        {
+            try {
+                JCas jcas = casPool.poll();
+                if (jcas != null) {
+                    return jcas;
+                }
+                if (casPoolSize < CAS_PER_GROUP) {
+                    casPoolSize++;
+                    CAS cas = CasCreationUtils.createCas(
+                            TypeSystemUtil.typeSystem2TypeSystemDescription(
+                                    template.getTypeSystem()),
+                            null, null);
+                    return cas.getJCas();
+                }
+                return casPool.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AnalysisEngineProcessException(e);
+            }
+            catch (Exception e) {
+                throw new AnalysisEngineProcessException(e);
+            }
+        }
+
+        private void releaseCas(JCas jcas)
+        {
+            jcas.reset();
+            casPool.add(jcas);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.io;
+
+import static org.apache.uima.fit.factory.AnalysisEngineFactory.createEngine;
+import static org.apache.uima.fit.factory.CollectionReaderFactory.createReader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.collection.CollectionReader;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+public class CasContainerTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        File container = folder.newFolder();
+        // a tiny segment size forces a new segment for each CAS
+        write(container, 1, "a", "b", "c");
+
+        assertEquals(3, FileUtils
+                .listFiles(container, new String[] { "seg" }, false).size());
+        assertTrue(FileUtils.listFiles(container, new String[] { "bin" }, false).isEmpty());
+
+        CollectionReader reader = createReader(CasContainerReader.class,
+                CasContainerReader.PARAM_SOURCE_LOCATION, container);
+
+        List<String> read = read(reader);
+        assertEquals(3, read.size());
+        assertEquals("a text - a", read.get(0));
+        assertEquals("b text - b", read.get(1));
+        assertEquals("c text - c", read.get(2));
+    }
+
+    @Test
+    public void testRandomAccess() throws Exception
+    {
+        File container = folder.newFolder();
+        write(container, 1024 * 1024, "a", "b", "c", "d");
+
+        assertEquals(1, FileUtils
+                .listFiles(container, new String[] { "seg" }, false).size());
+
+        CollectionReader reader = createReader(CasContainerReader.class,
+                CasContainerReader.PARAM_SOURCE_LOCATION, container,
+                CasContainerReader.PARAM_CAS_IDS, new Integer[] { 3, 1 });
+
+        List<String> read = read(reader);
+        assertEquals(2, read.size());
+        assertEquals("d text - d", read.get(0));
+        assertEquals("b text - b", read.get(1));
+    }
+
+    @Test
+    public void testEmptyCollection() throws Exception
+    {
+        File container = folder.newFolder();
+        write(container, 1024);
+
+        assertTrue(CasContainerReader.isContainer(container));
+        assertTrue(new File(container, CasContainerWriter.TYPE_SYSTEM_FILE).exists());
+        assertTrue(FileUtils.listFiles(container, new String[] { "seg" }, false).isEmpty());
+
+        CollectionReader reader = createReader(CasContainerReader.class,
+                CasContainerReader.PARAM_SOURCE_LOCATION, container);
+
+        assertTrue(read(reader).isEmpty());
+    }
+
+    private void write(File container, int segmentSize, String... ids) throws Exception
+    {
+        AnalysisEngine writer = createEngine(CasContainerWriter.class,
+                CasContainerWriter.PARAM_TARGET_LOCATION, container,
+                CasContainerWriter.PARAM_SEGMENT_SIZE, segmentSize);
+
+        JCas jcas = JCasFactory.createJCas();
+        for (String id : ids) {
+            jcas.reset();
+            jcas.setDocumentText(id + " text");
+            DocumentMetaData.create(jcas).setDocumentId(id);
+            TextClassificationOutcome outcome = new TextClassificationOutcome(jcas);
+            outcome.setOutcome(id);
+            outcome.addToIndexes();
+            writer.process(jcas);
+        }
+        writer.collectionProcessComplete();
+    }
+
+    private List<String> read(CollectionReader reader) throws Exception
+    {
+        List<String> read = new ArrayList<>();
+        while (reader.hasNext()) {
+            JCas jcas = JCasFactory.createJCas();
+            reader.getNext(jcas.getCas());
+            read.add(jcas.getDocumentText() + " - "
+                    + JCasUtil.selectSingle(jcas, TextClassificationOutcome.class).getOutcome());
+            assertEquals(DocumentMetaData.get(jcas).getDocumentId(),
+                    JCasUtil.selectSingle(jcas, TextClassificationOutcome.class).getOutcome());
+        }
+        reader.close();
+        return read;
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.ml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedModelRegistryTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testModelIsSharedUntilReleased() throws Exception
+    {
+        File model = folder.newFolder();
+        AtomicInteger loads = new AtomicInteger();
+        SharedModelRegistry.Loader<Object> loader = () -> {
+            loads.incrementAndGet();
+            return new Object();
+        };
+
+        Object first = SharedModelRegistry.acquire(model, "model", loader);
+        // a different path to the same folder refers to the same model
+        Object second = SharedModelRegistry.acquire(new File(model, "../" + model.getName()),
+                "model", loader);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        SharedModelRegistry.release(model, "model");
+        assertSame(first, SharedModelRegistry.acquire(model, "model", loader));
+        assertEquals(1, loads.get());
+
+        SharedModelRegistry.release(model, "model");
+        SharedModelRegistry.release(model, "model");
+        assertEquals(0, SharedModelRegistry.size());
+
+        assertNotSame(first, SharedModelRegistry.acquire(model, "model", loader));
+        assertEquals(2, loads.get());
+        SharedModelRegistry.release(model, "model");
+    }
+
+    @Test
+    public void testFailedLoadIsNotRegistered() throws Exception
+    {
+        File model = folder.newFolder();
+        try {
+            SharedModelRegistry.acquire(model, "model", () -> {
+                throw new IllegalStateException();
+            });
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, SharedModelRegistry.size());
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.deep;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EmbeddingStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testConvertAndLookup() throws Exception
+    {
+        List<String> lines = new ArrayList<>(Arrays.asList("3 2", "the 0.1 0.2", "",
+                "über -1.5 2e-3", "broken 1", "the 9 9", "cat 0.418 0.24968"));
+        for (int i = 0; i < 1000; i++) {
+            lines.add("w" + i + " " + i + " " + -i);
+        }
+        File text = folder.newFile("embedding.txt");
+        FileUtils.writeLines(text, "utf-8", lines);
+        File binaryFolder = new File(folder.getRoot(), "binary");
+
+        assertNull(EmbeddingStore.open(text, null));
+
+        try (EmbeddingStore store = EmbeddingStore.open(text, binaryFolder)) {
+            assertEquals(2, store.getDimension());
+
+            assertArrayEquals(new float[] { 0.1f, 0.2f }, store.getVector("the"), 0.00001f);
+            assertArrayEquals(new float[] { -1.5f, 0.002f }, store.getVector("über"), 0.00001f);
+            assertArrayEquals(new float[] { 0.418f, 0.24968f }, store.getVector("cat"), 0.00001f);
+            assertArrayEquals(new float[] { 765f, -765f }, store.getVector("w765"), 0.00001f);
+
+            // the original text of the vectors is kept
+            assertEquals("-1.5 2e-3", store.getVectorText("über"));
+            assertEquals("0.418 0.24968", store.getVectorText("cat"));
+            assertNull(store.getVectorText("dog"));
+
+            assertNull(store.getVector("dog"));
+            assertFalse(store.contains("broken"));
+            assertFalse(store.contains("3"));
+        }
+
+        // the binary version is only written to the provided folder
+        String[] files = folder.getRoot().list();
+        Arrays.sort(files);
+        assertArrayEquals(new String[] { "binary", "embedding.txt" }, files);
+        File[] binaries = binaryFolder.listFiles();
+        assertEquals(1, binaries.length);
+        assertTrue(binaries[0].getName().endsWith(EmbeddingStore.FILE_SUFFIX));
+        assertTrue(EmbeddingStore.isBinary(binaries[0]));
+        assertFalse(EmbeddingStore.isBinary(text));
+
+        try (EmbeddingStore store = EmbeddingStore.open(binaries[0], null)) {
+            assertTrue(store.contains("cat"));
+        }
+    }
+
+    @Test
+    public void testBuilder() throws Exception
+    {
+        File binary = new File(folder.getRoot(), "pruned.bin");
+        try (EmbeddingStore.Builder builder = new EmbeddingStore.Builder()) {
+            builder.add("a", new float[] { 1f, 2f, 3f });
+            builder.add("b", new float[] { -1f, 0f, 0.5f });
+            builder.add("a", new float[] { 9f, 9f, 9f });
+            builder.build(binary);
+        }
+
+        // no temporary files are left behind
+        assertEquals(1, folder.getRoot().list().length);
+
+        try (EmbeddingStore store = EmbeddingStore.open(binary, null)) {
+            assertEquals(3, store.getDimension());
+            assertArrayEquals(new float[] { 1f, 2f, 3f }, store.getVector("a"), 0f);
+            assertArrayEquals(new float[] { -1f, 0f, 0.5f }, store.getVector("b"), 0f);
+            assertNull(store.getVector("c"));
+            assertEquals("1.0 2.0 3.0", store.getVectorText("a"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsDeviatingDimension() throws Exception
+    {
+        try (EmbeddingStore.Builder builder = new EmbeddingStore.Builder()) {
+            builder.add("a", new float[] { 1f, 2f });
+            builder.add("b", new float[] { 1f });
+        }
+    }
+
+    @Test
+    public void testVectorToString()
+    {
+        assertEquals("0.5 -1.25", EmbeddingStore.toString(new float[] { 0.5f, -1.25f }));
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.deep;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NumpyMatrixWriterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIntegerMatrix() throws Exception
+    {
+        File file = folder.newFile("matrix.npy");
+        try (NumpyMatrixWriter writer = new NumpyMatrixWriter(file, NumpyMatrixWriter.INT32, 3)) {
+            writer.writeRow(new int[] { 1, 2, 3, 4 }, 4, 0);
+            writer.writeRow(new int[] { 5 }, 1, -1);
+        }
+
+        ByteBuffer buffer = read(file);
+        String header = header(buffer);
+        assertTrue(header.startsWith("{'descr': '<i4', 'fortran_order': False, 'shape': (2, 3), }"));
+        assertTrue(header.endsWith("\n"));
+        assertEquals(0, buffer.position() % 16);
+
+        int[] expected = { 1, 2, 3, 5, -1, -1 };
+        for (int e : expected) {
+            assertEquals(e, buffer.getInt());
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testFloatArray() throws Exception
+    {
+        File file = folder.newFile("array.npy");
+        try (NumpyMatrixWriter writer = new NumpyMatrixWriter(file, NumpyMatrixWriter.FLOAT32,
+                0)) {
+            writer.write(1.5f);
+            writer.write(-2.0f);
+        }
+
+        ByteBuffer buffer = read(file);
+        assertTrue(header(buffer).contains("'shape': (2,)"));
+        assertEquals(1.5f, buffer.getFloat(), 0.0001);
+        assertEquals(-2.0f, buffer.getFloat(), 0.0001);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWrongType() throws Exception
+    {
+        try (NumpyMatrixWriter writer = new NumpyMatrixWriter(folder.newFile("wrong.npy"),
+                NumpyMatrixWriter.FLOAT32, 0)) {
+            writer.write(1);
+        }
+    }
+
+    private ByteBuffer read(File file) throws Exception
+    {
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private String header(ByteBuffer buffer)
+    {
+        byte[] magic = new byte[6];
+        buffer.get(magic);
+        assertEquals("NUMPY", new String(magic, 1, 5, US_ASCII));
+        assertEquals(1, buffer.get());
+        assertEquals(0, buffer.get());
+        int length = buffer.getShort();
+        byte[] header = new byte[length];
+        buffer.get(header);
+        return new String(header, US_ASCII);
+    }
+}
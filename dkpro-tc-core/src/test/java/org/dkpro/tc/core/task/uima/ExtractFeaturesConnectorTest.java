@@ -18,23 +18,39 @@
 package org.dkpro.tc.core.task.uima;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngine;
 import org.apache.uima.analysis_engine.AnalysisEngineDescription;
 import org.apache.uima.collection.CollectionReaderDescription;
 import org.apache.uima.fit.factory.AnalysisEngineFactory;
 import org.apache.uima.fit.factory.CollectionReaderFactory;
 import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.fit.factory.JCasFactory;
 import org.apache.uima.fit.pipeline.SimplePipeline;
+import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.DefaultFeatureBlock;
+import org.dkpro.tc.api.features.DefaultFeatureProvider;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureExtractor;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.FeatureType;
 import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.type.JCasId;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.feature.NoopFeatureExtractor;
 import org.dkpro.tc.core.feature.UnitContextMetaCollector;
@@ -49,6 +65,7 @@ import org.junit.rules.TemporaryFolder;
 
 import com.google.gson.Gson;
 
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
 import de.tudarmstadt.ukp.dkpro.core.tokit.BreakIteratorSegmenter;
 
 public class ExtractFeaturesConnectorTest
@@ -205,6 +222,176 @@ public class ExtractFeaturesConnectorTest
                 .readFileToString(new File(outputPath, JsonDataWriter.JSON_FILE_NAME), "utf-8"));
     }
 
+    @Test
+    public void cachedFeaturesEqualExtractedFeaturesDense() throws Exception
+    {
+        List<String> extracted = extractWithCache(false, null);
+
+        assertEquals(extracted, extractWithCache(false, new Integer[] { 0 }));
+        assertEquals(extracted, extractWithCache(false, new Integer[] { 0, 1 }));
+
+        // the dense instances contain the default features of the shared block
+        assertEquals(7, extracted.size());
+        assertTrue(extracted.get(0).contains("\"name\":\"word_b\",\"value\":0"));
+    }
+
+    @Test
+    public void cachedFeaturesEqualExtractedFeaturesSparse() throws Exception
+    {
+        List<String> extracted = extractWithCache(true, null);
+
+        assertEquals(extracted, extractWithCache(true, new Integer[] { 0 }));
+        assertEquals(extracted, extractWithCache(true, new Integer[] { 0, 1 }));
+
+        // the sparse instances contain no default values
+        assertEquals(7, extracted.size());
+        for (String instance : extracted) {
+            assertFalse(instance.contains("\"isDefaultValue\":true"));
+        }
+    }
+
+    /**
+     * Extracts the features of two CAS with unit targets, the extractors at the given positions
+     * are taken from a feature cache that is built before
+     */
+    private List<String> extractWithCache(boolean useSparse, Integer[] cachedExtractors)
+        throws Exception
+    {
+        List<ExternalResourceDescription> fes = new ArrayList<>();
+        fes.add(ExternalResourceFactory.createExternalResourceDescription(WordFeatureExtractor.class,
+                WordFeatureExtractor.PARAM_UNIQUE_EXTRACTOR_NAME, "word"));
+        fes.add(ExternalResourceFactory.createExternalResourceDescription(
+                LengthFeatureExtractor.class, LengthFeatureExtractor.PARAM_UNIQUE_EXTRACTOR_NAME,
+                "length"));
+
+        File outputPath = folder.newFolder();
+
+        List<Object> parameters = new ArrayList<>(Arrays.asList(
+                ExtractFeaturesConnector.PARAM_ADD_INSTANCE_ID, true,
+                ExtractFeaturesConnector.PARAM_OUTPUT_DIRECTORY, outputPath,
+                ExtractFeaturesConnector.PARAM_DATA_WRITER_CLASS, JsonDataWriter.class.getName(),
+                ExtractFeaturesConnector.PARAM_FEATURE_FILTERS, new String[] {},
+                ExtractFeaturesConnector.PARAM_FEATURE_MODE, Constants.FM_UNIT,
+                ExtractFeaturesConnector.PARAM_LEARNING_MODE, Constants.LM_SINGLE_LABEL,
+                ExtractFeaturesConnector.PARAM_IS_TESTING, false,
+                ExtractFeaturesConnector.PARAM_USE_SPARSE_FEATURES, useSparse,
+                ExtractFeaturesConnector.PARAM_FEATURE_EXTRACTORS, fes,
+                ExtractFeaturesConnector.PARAM_OUTCOMES, new String[] {}));
+
+        if (cachedExtractors != null) {
+            List<ExternalResourceDescription> cached = new ArrayList<>();
+            for (int i : cachedExtractors) {
+                cached.add(fes.get(i));
+            }
+
+            File cacheFolder = folder.newFolder();
+            runOnUnitCas(AnalysisEngineFactory.createEngine(FeatureCacheConnector.class,
+                    FeatureCacheConnector.PARAM_OUTPUT_DIRECTORY, cacheFolder,
+                    FeatureCacheConnector.PARAM_FEATURE_MODE, Constants.FM_UNIT,
+                    FeatureCacheConnector.PARAM_USE_SPARSE_FEATURES, useSparse,
+                    FeatureCacheConnector.PARAM_FEATURE_EXTRACTORS, cached));
+
+            parameters.addAll(Arrays.asList(ExtractFeaturesConnector.PARAM_FEATURE_CACHE_DIRECTORY,
+                    cacheFolder, ExtractFeaturesConnector.PARAM_CACHED_FEATURE_EXTRACTORS,
+                    cachedExtractors));
+        }
+
+        runOnUnitCas(AnalysisEngineFactory.createEngine(ExtractFeaturesConnector.class,
+                parameters.toArray()));
+
+        return FileUtils.readLines(new File(outputPath, JsonDataWriter.JSON_FILE_NAME), "utf-8");
+    }
+
+    private void runOnUnitCas(AnalysisEngine engine) throws Exception
+    {
+        String[] texts = new String[] { "a b Hello c", "World b x" };
+        for (int i = 0; i < texts.length; i++) {
+            JCas jcas = JCasFactory.createJCas();
+            jcas.setDocumentText(texts[i]);
+            jcas.setDocumentLanguage("en");
+
+            DocumentMetaData dmd = DocumentMetaData.create(jcas);
+            dmd.setDocumentId("doc" + i);
+
+            JCasId id = new JCasId(jcas);
+            id.setId(i);
+            id.addToIndexes();
+
+            int begin = 0;
+            int unitId = 0;
+            for (String word : texts[i].split(" ")) {
+                int end = begin + word.length();
+                TextClassificationTarget unit = new TextClassificationTarget(jcas, begin, end);
+                unit.setId(unitId++);
+                unit.addToIndexes();
+                TextClassificationOutcome outcome = new TextClassificationOutcome(jcas, begin,
+                        end);
+                outcome.setOutcome(word.length() > 1 ? "long" : "short");
+                outcome.setWeight(1.0);
+                outcome.addToIndexes();
+                begin = end + 1;
+            }
+
+            engine.process(jcas);
+        }
+        engine.collectionProcessComplete();
+        engine.destroy();
+    }
+
+    /**
+     * Returns a feature for each known word and shares the default features, mixes integer
+     * values with an explicitly set default value
+     */
+    public static class WordFeatureExtractor
+        extends FeatureExtractorResource_ImplBase
+        implements FeatureExtractor, DefaultFeatureProvider
+    {
+        private static final List<String> WORDS = Arrays.asList("a", "b", "c");
+
+        private DefaultFeatureBlock defaults;
+
+        @Override
+        public Set<Feature> extract(JCas view, TextClassificationTarget aTarget)
+            throws TextClassificationException
+        {
+            String text = aTarget.getCoveredText();
+
+            Set<Feature> features = new HashSet<>();
+            if (WORDS.contains(text)) {
+                features.add(new Feature("word_" + text, 1, FeatureType.NUMERIC));
+            }
+            boolean upper = Character.isUpperCase(text.charAt(0));
+            features.add(new Feature("upper", upper ? 1 : 0, !upper, FeatureType.NUMERIC));
+            return features;
+        }
+
+        @Override
+        public DefaultFeatureBlock getDefaultFeatures() throws TextClassificationException
+        {
+            if (defaults == null) {
+                List<Feature> features = new ArrayList<>();
+                for (String w : WORDS) {
+                    features.add(new Feature("word_" + w, 0, true, FeatureType.NUMERIC));
+                }
+                defaults = new DefaultFeatureBlock(features);
+            }
+            return defaults;
+        }
+    }
+
+    public static class LengthFeatureExtractor
+        extends FeatureExtractorResource_ImplBase
+        implements FeatureExtractor
+    {
+        @Override
+        public Set<Feature> extract(JCas view, TextClassificationTarget aTarget)
+            throws TextClassificationException
+        {
+            return Collections.singleton(new Feature("length",
+                    (double) aTarget.getCoveredText().length(), FeatureType.NUMERIC));
+        }
+    }
+
     private int getUniqueOutcomes(List<Instance> instances)
     {
         Set<String> outcomes = new HashSet<String>();
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FeatureCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cachedInstancesAreReadBack() throws Exception
+    {
+        File cacheFolder = folder.newFolder();
+
+        try (FeatureCache cache = FeatureCache.create(cacheFolder)) {
+            assertFalse(FeatureCache.exists(cacheFolder));
+            cache.put(3, instances("a", 1));
+            cache.put(1, instances("b", 2));
+        }
+        assertTrue(FeatureCache.exists(cacheFolder));
+
+        try (FeatureCache cache = FeatureCache.open(cacheFolder)) {
+            assertEquals(2, cache.size());
+
+            List<Instance> instances = cache.get(1);
+            assertEquals(2, instances.size());
+            assertEquals("b", instances.get(0).getOutcome());
+            assertEquals(2, instances.get(1).getNumberOfFeatures());
+
+            Feature f = new ArrayList<>(instances.get(1).getFeatures()).get(1);
+            assertEquals("f1", f.getName());
+            assertEquals(1.0, ((Number) f.getValue()).doubleValue(), 0.0001);
+
+            assertEquals("a", cache.get(3).get(0).getOutcome());
+            assertNull(cache.get(2));
+        }
+    }
+
+    @Test
+    public void cachedInstancesEqualExtractedInstances() throws Exception
+    {
+        Instance extracted = new Instance();
+        extracted.setOutcomes("a");
+        extracted.setWeight(0.5);
+        extracted.addFeature(new Feature("int", 3, FeatureType.NUMERIC));
+        extracted.addFeature(new Feature("long", 4L, FeatureType.NUMERIC));
+        extracted.addFeature(new Feature("float", 0.25f, FeatureType.NUMERIC));
+        extracted.addFeature(new Feature("double", 0.5, FeatureType.NUMERIC));
+        extracted.addFeature(new Feature("bool", true, FeatureType.BOOLEAN));
+        extracted.addFeature(new Feature("nominal", "x", FeatureType.NOMINAL));
+        extracted.addFeature(new Feature("default", 0, true, FeatureType.NUMERIC));
+        extracted.addFeature(new Feature("a-b", 1, FeatureType.NUMERIC));
+
+        File cacheFolder = folder.newFolder();
+        try (FeatureCache cache = FeatureCache.create(cacheFolder)) {
+            cache.put(0, Collections.singletonList(extracted));
+        }
+
+        Instance cached;
+        try (FeatureCache cache = FeatureCache.open(cacheFolder)) {
+            cached = cache.get(0).get(0);
+        }
+
+        assertEquals(extracted.toString(), cached.toString());
+        List<Feature> expected = new ArrayList<>(extracted.getFeatures());
+        List<Feature> actual = new ArrayList<>(cached.getFeatures());
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getValue().getClass(),
+                    actual.get(i).getValue().getClass());
+            assertEquals(expected.get(i).getType(), actual.get(i).getType());
+            assertEquals(expected.get(i).isDefaultValue(), actual.get(i).isDefaultValue());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateCasIdsAreRejected() throws Exception
+    {
+        try (FeatureCache cache = FeatureCache.create(folder.newFolder())) {
+            cache.put(1, instances("a", 1));
+            cache.put(1, instances("a", 1));
+        }
+    }
+
+    @Test
+    public void coverageOfCasFiles() throws Exception
+    {
+        File cacheFolder = folder.newFolder();
+        File a = folder.newFile("a.bin");
+        File b = folder.newFile("b.bin");
+        File c = folder.newFile("c.bin");
+
+        FeatureCache.writeFiles(cacheFolder, Arrays.asList(a, b));
+
+        assertTrue(FeatureCache.covers(cacheFolder, Arrays.asList(a.getAbsolutePath())));
+        assertTrue(FeatureCache.covers(cacheFolder, Collections.emptyList()));
+        assertFalse(FeatureCache.covers(cacheFolder,
+                Arrays.asList(a.getAbsolutePath(), c.getAbsolutePath())));
+        assertFalse(FeatureCache.covers(folder.newFolder(), Arrays.asList(a.getAbsolutePath())));
+    }
+
+    private List<Instance> instances(String outcome, int count) throws Exception
+    {
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Instance instance = new Instance();
+            instance.setOutcomes(outcome);
+            for (int j = 0; j <= i; j++) {
+                instance.addFeature(new Feature("f" + j, j, FeatureType.NUMERIC));
+            }
+            instances.add(instance);
+        }
+        return instances;
+    }
+}
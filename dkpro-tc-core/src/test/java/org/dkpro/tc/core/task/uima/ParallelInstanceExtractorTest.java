@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.uima.UIMAFramework;
+import org.apache.uima.fit.factory.ExternalResourceFactory;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.resource.ExternalResourceDescription;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureExtractor;
+import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.api.type.JCasId;
+import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationTarget;
+import org.dkpro.tc.core.Constants;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+public class ParallelInstanceExtractorTest
+{
+    private static final int NUM_CAS = 50;
+
+    @Test
+    public void parallelOutputMatchesSequentialOutput() throws Exception
+    {
+        List<String> sequential = new ArrayList<>();
+        InstanceExtractor extractor = new InstanceExtractor(Constants.FM_UNIT,
+                createFeatureExtractors(), true);
+        JCas jcas = JCasFactory.createJCas();
+        for (int i = 0; i < NUM_CAS; i++) {
+            fill(jcas, i);
+            for (Instance instance : extractor.getInstances(jcas, false)) {
+                sequential.add(instance.toString());
+            }
+        }
+
+        List<InstanceExtractor> extractors = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            extractors.add(new InstanceExtractor(Constants.FM_UNIT, createFeatureExtractors(),
+                    true));
+        }
+        ParallelInstanceExtractor parallelExtractor = new ParallelInstanceExtractor(extractors,
+                false);
+
+        List<String> parallel = new ArrayList<>();
+        try {
+            for (int i = 0; i < NUM_CAS; i++) {
+                // the CAS is re-used after each submission
+                fill(jcas, i);
+                parallelExtractor.submit(jcas);
+                addAll(parallel, parallelExtractor.takeCompleted(false));
+            }
+            addAll(parallel, parallelExtractor.takeCompleted(true));
+        }
+        finally {
+            parallelExtractor.shutdown();
+        }
+
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    private void addAll(List<String> target, List<List<Instance>> instancesPerCas)
+    {
+        for (List<Instance> instances : instancesPerCas) {
+            for (Instance instance : instances) {
+                target.add(instance.toString());
+            }
+        }
+    }
+
+    private void fill(JCas jcas, int id)
+    {
+        jcas.reset();
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i <= id % 7; i++) {
+            text.append("token" + id + "x" + i + " ");
+        }
+        jcas.setDocumentText(text.toString().trim());
+
+        DocumentMetaData.create(jcas).setDocumentId("doc" + id);
+
+        JCasId jcasId = new JCasId(jcas);
+        jcasId.setId(id);
+        jcasId.addToIndexes();
+
+        int begin = 0;
+        int unitId = 0;
+        for (String token : jcas.getDocumentText().split(" ")) {
+            TextClassificationTarget target = new TextClassificationTarget(jcas, begin,
+                    begin + token.length());
+            target.setId(unitId++);
+            target.addToIndexes();
+
+            TextClassificationOutcome outcome = new TextClassificationOutcome(jcas, begin,
+                    begin + token.length());
+            outcome.setOutcome(token.length() % 2 == 0 ? "even" : "odd");
+            outcome.addToIndexes();
+
+            begin += token.length() + 1;
+        }
+    }
+
+    private FeatureExtractorResource_ImplBase[] createFeatureExtractors() throws Exception
+    {
+        ExternalResourceDescription desc = ExternalResourceFactory
+                .createExternalResourceDescription(TokenFeatureExtractor.class,
+                        TokenFeatureExtractor.PARAM_UNIQUE_EXTRACTOR_NAME, "token");
+        return new FeatureExtractorResource_ImplBase[] {
+                (FeatureExtractorResource_ImplBase) UIMAFramework
+                        .produceResource(desc.getResourceSpecifier(), null) };
+    }
+
+    public static class TokenFeatureExtractor
+        extends FeatureExtractorResource_ImplBase
+        implements FeatureExtractor
+    {
+        @Override
+        public Set<Feature> extract(JCas view, TextClassificationTarget aTarget)
+            throws TextClassificationException
+        {
+            String text = aTarget.getCoveredText();
+
+            Set<Feature> features = new HashSet<>();
+            features.add(new Feature("length", text.length(), FeatureType.NUMERIC));
+            features.add(new Feature("begin", aTarget.getBegin(), FeatureType.NUMERIC));
+            features.add(new Feature("token_" + text, 1, FeatureType.BOOLEAN));
+            return features;
+        }
+    }
+}
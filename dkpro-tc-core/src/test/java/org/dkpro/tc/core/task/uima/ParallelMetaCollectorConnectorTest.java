@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.core.task.uima;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.uima.analysis_engine.AnalysisEngine;
+import org.apache.uima.analysis_engine.AnalysisEngineDescription;
+import org.apache.uima.fit.factory.AnalysisEngineFactory;
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.core.feature.ContextMetaCollector_ImplBase;
+import org.dkpro.tc.core.feature.UnitContextMetaCollector;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+
+public class ParallelMetaCollectorConnectorTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void eachCollectorSeesAllCasInOrder() throws Exception
+    {
+        List<File> folders = new ArrayList<>();
+        List<String> descriptors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            File f = folder.newFolder();
+            folders.add(f);
+
+            AnalysisEngineDescription desc = AnalysisEngineFactory.createEngineDescription(
+                    UnitContextMetaCollector.class,
+                    UnitContextMetaCollector.PARAM_UNIQUE_EXTRACTOR_NAME, "collector" + i,
+                    ContextMetaCollector_ImplBase.PARAM_CONTEXT_FOLDER, f.getAbsolutePath());
+            StringWriter sw = new StringWriter();
+            desc.toXML(sw);
+            descriptors.add(sw.toString());
+        }
+
+        AnalysisEngine connector = AnalysisEngineFactory.createEngine(
+                ParallelMetaCollectorConnector.class,
+                ParallelMetaCollectorConnector.PARAM_META_COLLECTOR_DESCRIPTORS,
+                descriptors.toArray(new String[0]), ParallelMetaCollectorConnector.PARAM_THREADS,
+                2);
+
+        List<String> expected = new ArrayList<>();
+        JCas jcas = JCasFactory.createJCas();
+        for (int i = 0; i < 30; i++) {
+            jcas.reset();
+            jcas.setDocumentText("text " + i);
+            DocumentMetaData.create(jcas).setDocumentId("doc" + i);
+            connector.process(jcas);
+            expected.add("doc" + i + "\ttext " + i);
+        }
+        connector.collectionProcessComplete();
+        connector.destroy();
+
+        for (File f : folders) {
+            assertEquals(expected, FileUtils.readLines(
+                    new File(f, ContextMetaCollector_ImplBase.CONTEXT_KEY), "utf-8"));
+        }
+    }
+}
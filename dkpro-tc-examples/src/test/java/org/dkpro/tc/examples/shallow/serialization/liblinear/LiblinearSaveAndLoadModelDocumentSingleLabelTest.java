@@ -226,6 +226,50 @@ public class LiblinearSaveAndLoadModelDocumentSingleLabelTest
         modelFolder.deleteOnExit();
     }
 
+    @Test
+    public void unitClassifyUnitsAtOnceTest() throws Exception
+    {
+        File modelFolder = folder.newFolder();
+
+        unitTrainAndStoreModel(unitGetParameterSpaceSingleLabel(), modelFolder);
+
+        List<String> unitByUnit = unitPredict(modelFolder, false);
+        List<String> atOnce = unitPredict(modelFolder, true);
+
+        assertEquals(31, unitByUnit.size());
+        assertEquals(unitByUnit, atOnce);
+
+        modelFolder.deleteOnExit();
+    }
+
+    private static List<String> unitPredict(File modelFolder, boolean classifyUnitsAtOnce)
+        throws Exception
+    {
+        AnalysisEngine tcAnno = AnalysisEngineFactory.createEngine(
+                PreTrainedModelProviderUnitMode.class,
+                PreTrainedModelProviderUnitMode.PARAM_TC_MODEL_LOCATION, modelFolder,
+                PreTrainedModelProviderUnitMode.PARAM_NAME_TARGET_ANNOTATION,
+                Token.class.getName(),
+                PreTrainedModelProviderUnitMode.PARAM_CLASSIFY_UNITS_AT_ONCE, classifyUnitsAtOnce);
+
+        CollectionReader reader = CollectionReaderFactory.createReader(TeiReader.class,
+                TeiReader.PARAM_SOURCE_LOCATION, unitTrainFolder, TeiReader.PARAM_LANGUAGE, "en",
+                TeiReader.PARAM_PATTERNS, Arrays.asList(TeiReader.INCLUDE_PREFIX + "a02.xml"));
+
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentLanguage("en");
+        reader.getNext(jcas.getCas());
+
+        tcAnno.process(jcas);
+        tcAnno.collectionProcessComplete();
+
+        List<String> outcomes = new ArrayList<>();
+        for (TextClassificationOutcome o : JCasUtil.select(jcas, TextClassificationOutcome.class)) {
+            outcomes.add(o.getOutcome());
+        }
+        return outcomes;
+    }
+
     public static ParameterSpace unitGetParameterSpaceSingleLabel()
         throws ResourceInitializationException
     {
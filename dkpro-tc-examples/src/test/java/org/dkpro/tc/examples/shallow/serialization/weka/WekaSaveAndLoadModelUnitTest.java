@@ -23,8 +23,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.uima.analysis_engine.AnalysisEngine;
@@ -108,6 +110,49 @@ public class WekaSaveAndLoadModelUnitTest
         modelFolder.deleteOnExit();
     }
 
+    @Test
+    public void unitClassifyUnitsAtOnceWeka() throws Exception
+    {
+        File modelFolder = folder.newFolder();
+
+        unitExecuteSaveModel(unitGetParameterSpace(), modelFolder);
+
+        List<String> unitByUnit = unitPredict(modelFolder, false);
+        List<String> atOnce = unitPredict(modelFolder, true);
+
+        assertEquals(72, unitByUnit.size());
+        assertEquals(unitByUnit, atOnce);
+
+        modelFolder.deleteOnExit();
+    }
+
+    private static List<String> unitPredict(File modelFolder, boolean classifyUnitsAtOnce)
+        throws Exception
+    {
+        CollectionReader reader = CollectionReaderFactory.createReader(TeiReader.class,
+                TeiReader.PARAM_SOURCE_LOCATION, unitTrainFolder, TeiReader.PARAM_LANGUAGE, "en",
+                TeiReader.PARAM_PATTERNS, "*.xml");
+
+        AnalysisEngine tcAnno = AnalysisEngineFactory.createEngine(
+                PreTrainedModelProviderUnitMode.class,
+                PreTrainedModelProviderUnitMode.PARAM_TC_MODEL_LOCATION, modelFolder,
+                PreTrainedModelProviderUnitMode.PARAM_NAME_TARGET_ANNOTATION,
+                Token.class.getName(),
+                PreTrainedModelProviderUnitMode.PARAM_CLASSIFY_UNITS_AT_ONCE, classifyUnitsAtOnce);
+
+        JCas jcas = JCasFactory.createJCas();
+        reader.getNext(jcas.getCas());
+
+        tcAnno.process(jcas);
+        tcAnno.collectionProcessComplete();
+
+        List<String> outcomes = new ArrayList<>();
+        for (TextClassificationOutcome o : JCasUtil.select(jcas, TextClassificationOutcome.class)) {
+            outcomes.add(o.getOutcome());
+        }
+        return outcomes;
+    }
+
     private void unitExecuteSaveModel(ParameterSpace pSpace, File modelFolder) throws Exception
     {
         ExperimentSaveModel experiment = new ExperimentSaveModel("TestSaveModel", modelFolder);
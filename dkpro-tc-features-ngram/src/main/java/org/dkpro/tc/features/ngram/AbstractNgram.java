@@ -17,10 +17,14 @@
  ******************************************************************************/
 package org.dkpro.tc.features.ngram;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.DefaultFeatureBlock;
+import org.dkpro.tc.api.features.DefaultFeatureProvider;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractor;
 import org.dkpro.tc.api.features.FeatureType;
@@ -29,46 +33,45 @@ import org.dkpro.tc.features.ngram.meta.base.LuceneFeatureExtractorBase;
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 
 public abstract class AbstractNgram extends LuceneFeatureExtractorBase
-implements FeatureExtractor
+implements FeatureExtractor, DefaultFeatureProvider
 {
-    protected Set<Feature> prepFeatSet;
+    protected DefaultFeatureBlock defaultFeatures;
 
     protected Set<Feature> getFeatureSet(FrequencyDistribution<String> fd) throws TextClassificationException {
         /*
-         * Instead of iterating all top-k ngrams comparing them to all document ngrams for each
-         * iteration (expensive for large top-Ks),we build all features that might be created only once.
-         * We copy this feature map then for each call, which is cheaper and update only the values of those ngrams that are found.
-         * (TH 2018-09-23) 
+         * Only the top-k ngrams which occur in the target are returned, the features of all other
+         * top-k ngrams have the default value 0 and are shared by all instances as one
+         * DefaultFeatureBlock which is built once in prepare(). The cost per target thus depends
+         * on the number of ngrams found rather than on the size of the top-k.
          */
-        Set<Feature> features = new HashSet<>(prepFeatSet);
+        Set<Feature> features = new HashSet<>();
         
         for (String ng : fd.getKeys()) {
             if (topKSet.contains(ng)) {
-                // remove default value from set, i.e. feature name and value are part of the
-                // features identity. Thus, remove feature with value 0 and add new one with value
-                // 1. Just adding the same feature with a new value will NOT override the existing
-                // entry.
-                Feature feature = new Feature(getFeaturePrefix() + "_" + ng, 0, true, FeatureType.BOOLEAN);
-                features.remove(feature);
-                
-                //Set value to 1, i.e. feature found and mark the feature value as non-default value
-                feature.setValue(1);
-                feature.setDefault(false);
-                
-                //add to set
-                features.add(feature);
+                // feature found, mark the feature value as non-default value
+                features.add(new Feature(getFeaturePrefix() + "_" + ng, 1, false, FeatureType.BOOLEAN));
             }
         }
         return features;
     }
 
+    @Override
+    public DefaultFeatureBlock getDefaultFeatures() throws TextClassificationException
+    {
+        if (defaultFeatures == null) {
+            prepare();
+        }
+        return defaultFeatures;
+    }
+
     protected void prepare() throws TextClassificationException
     {
-        prepFeatSet = new HashSet<>(1024);
+        List<Feature> features = new ArrayList<>(topKSet.getKeys().size());
         //Iterate once all topK and init features  
         for(String topNgram : topKSet.getKeys()) {
             Feature feature = new Feature(getFeaturePrefix() + "_"  + topNgram, 0, true, FeatureType.BOOLEAN);
-            prepFeatSet.add(feature);
+            features.add(feature);
         }
+        defaultFeatures = new DefaultFeatureBlock(features);
     }
-}
+}
\ No newline at end of file
@@ -46,7 +46,7 @@ public class CharacterNGram
     public Set<Feature> extract(JCas aJCas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
         
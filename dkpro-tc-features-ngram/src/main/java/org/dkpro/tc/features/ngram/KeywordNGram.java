@@ -66,7 +66,7 @@ public class KeywordNGram
         throws TextClassificationException
     {
         
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
         
@@ -48,7 +48,7 @@ public class PhoneticNGram
         throws TextClassificationException
     {
         
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
 
@@ -53,7 +53,7 @@ public class PosNGram
         throws TextClassificationException
     {
         
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
 
@@ -51,7 +51,7 @@ public class SkipCharacterNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
 
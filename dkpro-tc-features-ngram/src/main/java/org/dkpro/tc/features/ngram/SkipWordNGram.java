@@ -53,7 +53,7 @@ public class SkipWordNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
 
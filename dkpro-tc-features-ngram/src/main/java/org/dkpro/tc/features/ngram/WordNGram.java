@@ -49,7 +49,7 @@ public class WordNGram
     public Set<Feature> extract(JCas jcas, TextClassificationTarget aTarget)
         throws TextClassificationException
     {
-        if (prepFeatSet == null) {
+        if (defaultFeatures == null) {
             prepare();
         }
         
@@ -37,6 +37,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.api.features.meta.MetaCollector;
+import org.dkpro.tc.features.ngram.util.NGramCountStore;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
@@ -53,6 +54,24 @@ public abstract class LuceneMC
     @ConfigurationParameter(name = PARAM_TARGET_LOCATION, mandatory = true)
     protected File luceneDir;
 
+    /**
+     * Stores the n-grams with their counts in a {@link NGramCountStore}
+     */
+    public static final String META_STORE_COUNTS = "counts";
+
+    /**
+     * Stores the n-grams in a Lucene index, which holds one field per n-gram occurrence
+     */
+    public static final String META_STORE_LUCENE = "lucene";
+
+    /**
+     * The backend which stores the collected n-grams, either {@link #META_STORE_COUNTS} or
+     * {@link #META_STORE_LUCENE}. The feature extractor has to use the same backend.
+     */
+    public static final String PARAM_META_STORE = "metaStore";
+    @ConfigurationParameter(name = PARAM_META_STORE, mandatory = true, defaultValue = META_STORE_COUNTS)
+    protected String metaStore;
+
     // this is a static singleton as different Lucene-based meta collectors will
     // use the same writer
     static IndexWriter indexWriter = null;
@@ -63,11 +82,23 @@ public abstract class LuceneMC
 
     protected FieldType fieldType;
 
+    private NGramCountStore countStore;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
         super.initialize(context);
 
+        if (!useLuceneIndex()) {
+            try {
+                countStore = new NGramCountStore(luceneDir, getFieldName());
+            }
+            catch (IOException e) {
+                throw new ResourceInitializationException(e);
+            }
+            return;
+        }
+
         initializeWriter();
 
         initDocument();
@@ -83,6 +114,16 @@ public abstract class LuceneMC
         activeWriter.incrementAndGet();
     }
 
+    /**
+     * @return true if the n-grams are written to a Lucene index rather than to a
+     *         {@link NGramCountStore}. Collectors which add fields to the Lucene document
+     *         themselves have to override this method and return true.
+     */
+    protected boolean useLuceneIndex()
+    {
+        return META_STORE_LUCENE.equals(metaStore);
+    }
+
     protected synchronized void initializeWriter() throws ResourceInitializationException
     {
         IndexWriterConfig config = new IndexWriterConfig(Version.LUCENE_44, null);
@@ -116,6 +157,14 @@ public abstract class LuceneMC
 
             FrequencyDistribution<String> documentNGrams;
             documentNGrams = getNgramsFD(jcas);
+
+            if (countStore != null) {
+                for (String ngram : documentNGrams.getKeys()) {
+                    countStore.add(ngram, documentNGrams.getCount(ngram));
+                }
+                return;
+            }
+
             for (String ngram : documentNGrams.getKeys()) {
                 // As a result of discussion, we add a field for each ngram per
                 // doc, not just each ngram type per doc.
@@ -165,6 +214,10 @@ public abstract class LuceneMC
         super.collectionProcessComplete();
 
         try {
+            if (countStore != null) {
+                countStore.close();
+                return;
+            }
             writeToIndex();
             indexWriter.commit();
             closeWriter();
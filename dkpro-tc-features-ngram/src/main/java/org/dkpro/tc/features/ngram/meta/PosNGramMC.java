@@ -20,7 +20,6 @@ package org.dkpro.tc.features.ngram.meta;
 import static org.apache.uima.fit.util.JCasUtil.selectCovered;
 import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
@@ -29,6 +28,7 @@ import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.features.ngram.PosNGram;
+import org.dkpro.tc.features.ngram.util.AnnotationValueIndex;
 
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.lexmorph.type.pos.POS;
@@ -78,15 +78,8 @@ public class PosNGramMC
 
         FrequencyDistribution<String> posNgrams = new FrequencyDistribution<String>();
 
-        List<String> postagstrings = new ArrayList<String>();
-        for (POS p : selectCovered(jcas, POS.class, focus)) {
-            if (useCanonical) {
-                postagstrings.add(p.getClass().getSimpleName());
-            }
-            else {
-                postagstrings.add(p.getPosValue());
-            }
-        }
+        List<String> postagstrings = getPosIndex(jcas, useCanonical)
+                .getCoveredValues(focus.getBegin(), focus.getEnd());
         String[] posarray = postagstrings.toArray(new String[postagstrings.size()]);
         for (List<String> ngram : new NGramStringListIterable(posarray, minN, maxN)) {
             posNgrams.inc(StringUtils.join(ngram, NGRAM_GLUE));
@@ -100,16 +93,9 @@ public class PosNGramMC
 
         FrequencyDistribution<String> posNgrams = new FrequencyDistribution<String>();
 
+        AnnotationValueIndex index = getPosIndex(jcas, useCanonical);
         for (Sentence s : selectCovered(jcas, Sentence.class, focus)) {
-            List<String> postagstrings = new ArrayList<String>();
-            for (POS p : selectCovered(jcas, POS.class, s)) {
-                if (useCanonical) {
-                    postagstrings.add(p.getClass().getSimpleName());
-                }
-                else {
-                    postagstrings.add(p.getPosValue());
-                }
-            }
+            List<String> postagstrings = index.getCoveredValues(s.getBegin(), s.getEnd());
             String[] posarray = postagstrings.toArray(new String[postagstrings.size()]);
             for (List<String> ngram : new NGramStringListIterable(posarray, minN, maxN)) {
                 posNgrams.inc(StringUtils.join(ngram, NGRAM_GLUE));
@@ -118,4 +104,13 @@ public class PosNGramMC
         return posNgrams;
     }
 
+    private static AnnotationValueIndex getPosIndex(JCas jcas, boolean useCanonical)
+    {
+        if (useCanonical) {
+            return AnnotationValueIndex.get(jcas, POS.class, "canonical",
+                    p -> p.getClass().getSimpleName());
+        }
+        return AnnotationValueIndex.get(jcas, POS.class, "value", POS::getPosValue);
+    }
+
 }
\ No newline at end of file
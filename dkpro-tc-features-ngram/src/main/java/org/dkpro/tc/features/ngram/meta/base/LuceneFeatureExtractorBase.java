@@ -31,6 +31,8 @@ import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.util.BytesRef;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.features.ngram.meta.LuceneMC;
+import org.dkpro.tc.features.ngram.util.NGramCountStore;
 import org.dkpro.tc.features.ngram.util.TermFreqTuple;
 
 import com.google.common.collect.MinMaxPriorityQueue;
@@ -45,6 +47,9 @@ public abstract class LuceneFeatureExtractorBase
     @ConfigurationParameter(name = PARAM_SOURCE_LOCATION, mandatory = true)
     protected File luceneDir;
 
+    @ConfigurationParameter(name = LuceneMC.PARAM_META_STORE, mandatory = true, defaultValue = LuceneMC.META_STORE_COUNTS)
+    protected String metaStore;
+
     public static final String LUCENE_NGRAM_FIELD = "ngram";
 
     protected MinMaxPriorityQueue<TermFreqTuple> topN;
@@ -75,11 +80,48 @@ public abstract class LuceneFeatureExtractorBase
         return topNGrams;
     }
 
+    /**
+     * @return true if the meta collector stored the n-grams in a Lucene index rather than in a
+     *         {@link NGramCountStore}. Must match the backend of the meta collector.
+     */
+    protected boolean useLuceneIndex()
+    {
+        return LuceneMC.META_STORE_LUCENE.equals(metaStore);
+    }
+
     protected MinMaxPriorityQueue<TermFreqTuple> readIndex() throws ResourceInitializationException
     {
         MinMaxPriorityQueue<TermFreqTuple> topN = MinMaxPriorityQueue.maximumSize(getTopN())
                 .create();
 
+        if (!useLuceneIndex()) {
+            if (NGramCountStore.exists(luceneDir, getFieldName())) {
+                try {
+                    NGramCountStore.read(luceneDir, getFieldName(), (term, freq) -> {
+                        if (passesScreening(term)) {
+                            topN.add(new TermFreqTuple(term, freq));
+                        }
+                    });
+                }
+                catch (Exception e) {
+                    throw new ResourceInitializationException(e);
+                }
+                return topN;
+            }
+
+            // the meta collector may have written a Lucene index, e.g. if it adds fields to the
+            // Lucene document itself
+            if (!luceneIndexExists()) {
+                throw new ResourceInitializationException(new IllegalStateException(
+                        "Neither n-gram counts nor a Lucene index were found for field ["
+                                + getFieldName() + "] in [" + luceneDir.getAbsolutePath()
+                                + "]. Was the meta collector run with the same ["
+                                + LuceneMC.PARAM_META_STORE + "]?"));
+            }
+            LogFactory.getLog(getClass()).warn("No n-gram counts found for field ["
+                    + getFieldName() + "], reading the Lucene index instead");
+        }
+
         try (IndexReader reader = DirectoryReader.open(FSDirectory.open(luceneDir))){
             
             Fields fields = MultiFields.getFields(reader);
@@ -107,6 +149,16 @@ public abstract class LuceneFeatureExtractorBase
         return topN;
     }
 
+    private boolean luceneIndexExists() throws ResourceInitializationException
+    {
+        try (FSDirectory directory = FSDirectory.open(luceneDir)) {
+            return DirectoryReader.indexExists(directory);
+        }
+        catch (Exception e) {
+            throw new ResourceInitializationException(e);
+        }
+    }
+
     protected void logSelectionProcess(long N)
     {
         LogFactory.getLog(getClass()).info(
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import org.apache.uima.cas.text.AnnotationFS;
+import org.apache.uima.fit.util.JCasUtil;
+import org.apache.uima.jcas.JCas;
+import org.apache.uima.jcas.tcas.Annotation;
+import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.util.CasScope;
+
+import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathException;
+import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathFactory;
+
+/**
+ * Offsets and values of all annotations of one type in a CAS, sorted by their begin offset. The
+ * annotations covered by a span, e.g. a sentence, are found by binary search instead of iterating
+ * over all annotations of the type.
+ * 
+ * An index is a snapshot of the CAS at the time it is created and is not updated if the CAS
+ * changes afterwards. The <code>get</code> methods share one index per CAS view and type among
+ * all feature extractors while a {@link CasScope} is open for the CAS, i.e. while the features of
+ * the targets of a CAS are extracted. Without an open scope, they create a new index on each
+ * call.
+ */
+public final class AnnotationValueIndex
+{
+    private final int[] begins;
+    private final int[] ends;
+    private final String[] values;
+
+    private AnnotationValueIndex(List<Integer> begins, List<Integer> ends, List<String> values)
+    {
+        this.begins = new int[begins.size()];
+        this.ends = new int[ends.size()];
+        for (int i = 0; i < this.begins.length; i++) {
+            this.begins[i] = begins.get(i);
+            this.ends[i] = ends.get(i);
+        }
+        this.values = values.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the index of a feature path that is shared within the open {@link CasScope} of the
+     * CAS, the index is created on first use.
+     * 
+     * @param jcas
+     *            the CAS view
+     * @param featurePath
+     *            the feature path
+     * @return the index
+     * @throws TextClassificationException
+     *             if the feature path cannot be resolved
+     */
+    public static AnnotationValueIndex get(JCas jcas, String featurePath)
+        throws TextClassificationException
+    {
+        String key = AnnotationValueIndex.class.getName() + "|" + featurePath;
+        AnnotationValueIndex index = CasScope.get(jcas, key, AnnotationValueIndex.class);
+        if (index == null) {
+            index = create(jcas, featurePath);
+            CasScope.put(jcas, key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of an annotation type with computed values that is shared within the open
+     * {@link CasScope} of the CAS, the index is created on first use.
+     * 
+     * @param jcas
+     *            the CAS view
+     * @param type
+     *            the annotation type
+     * @param valueName
+     *            distinguishes indexes of the same type with different value functions
+     * @param valueFunction
+     *            computes the value of an annotation
+     * @return the index
+     */
+    public static <T extends Annotation> AnnotationValueIndex get(JCas jcas, Class<T> type,
+            String valueName, Function<T, String> valueFunction)
+    {
+        String key = AnnotationValueIndex.class.getName() + "|" + type.getName() + "|"
+                + valueName;
+        AnnotationValueIndex index = CasScope.get(jcas, key, AnnotationValueIndex.class);
+        if (index == null) {
+            index = create(jcas, type, valueFunction);
+            CasScope.put(jcas, key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Creates the index of a feature path, e.g. a type name or a type name followed by a feature
+     * like <code>...Token/lemma/value</code>.
+     * 
+     * @param jcas
+     *            the CAS view
+     * @param featurePath
+     *            the feature path
+     * @return the index
+     * @throws TextClassificationException
+     *             if the feature path cannot be resolved
+     */
+    public static AnnotationValueIndex create(JCas jcas, String featurePath)
+        throws TextClassificationException
+    {
+        List<Integer> begins = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        try {
+            for (Entry<AnnotationFS, String> entry : FeaturePathFactory.select(jcas.getCas(),
+                    featurePath)) {
+                begins.add(entry.getKey().getBegin());
+                ends.add(entry.getKey().getEnd());
+                values.add(entry.getValue());
+            }
+        }
+        catch (FeaturePathException e) {
+            throw new TextClassificationException(e);
+        }
+
+        return new AnnotationValueIndex(begins, ends, values);
+    }
+
+    /**
+     * Creates the index of an annotation type with values computed by the given function.
+     * 
+     * @param jcas
+     *            the CAS view
+     * @param type
+     *            the annotation type
+     * @param valueFunction
+     *            computes the value of an annotation
+     * @return the index
+     */
+    public static <T extends Annotation> AnnotationValueIndex create(JCas jcas, Class<T> type,
+            Function<T, String> valueFunction)
+    {
+        List<Integer> begins = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (T a : JCasUtil.select(jcas, type)) {
+            begins.add(a.getBegin());
+            ends.add(a.getEnd());
+            values.add(valueFunction.apply(a));
+        }
+
+        return new AnnotationValueIndex(begins, ends, values);
+    }
+
+    /**
+     * @param begin
+     *            begin of the covering span
+     * @param end
+     *            end of the covering span
+     * @return the values of all annotations within the span in index order
+     */
+    public List<String> getCoveredValues(int begin, int end)
+    {
+        int first = firstBeginAtOrAfter(begin);
+        if (first == begins.length) {
+            return Collections.emptyList();
+        }
+
+        List<String> covered = new ArrayList<>();
+        for (int i = first; i < begins.length && begins[i] <= end; i++) {
+            if (ends[i] <= end) {
+                covered.add(values[i]);
+            }
+        }
+        return covered;
+    }
+
+    public int size()
+    {
+        return values.length;
+    }
+
+    private int firstBeginAtOrAfter(int offset)
+    {
+        int low = 0;
+        int high = begins.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (begins[mid] < offset) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Counts how often each n-gram occurs. The counts are kept in a hash table which is written to a
+ * sorted run file on disk once it exceeds a maximum number of entries. On {@link #close()} all runs
+ * are merged into a single count file, which holds each n-gram exactly once, sorted by n-gram. The
+ * most frequent n-grams are then selected by reading the count file with
+ * {@link #read(File, String, ObjLongConsumer)} instead of scanning a full-text index.
+ */
+public class NGramCountStore
+    implements Closeable
+{
+    public static final String COUNT_FILE_SUFFIX = ".counts";
+
+    private static final String RUN_FILE_SUFFIX = ".run";
+
+    public static final int DEFAULT_MAX_ENTRIES_IN_MEMORY = 1000000;
+
+    private final File folder;
+    private final String name;
+    private final int maxEntriesInMemory;
+
+    private Map<String, long[]> counts = new HashMap<>();
+    private List<File> runs = new ArrayList<>();
+
+    /**
+     * @param folder
+     *            the folder in which the count file is created
+     * @param name
+     *            the name of the count file, usually the field name of the meta collector
+     */
+    public NGramCountStore(File folder, String name) throws IOException
+    {
+        this(folder, name, DEFAULT_MAX_ENTRIES_IN_MEMORY);
+    }
+
+    public NGramCountStore(File folder, String name, int maxEntriesInMemory) throws IOException
+    {
+        this.folder = folder;
+        this.name = name;
+        this.maxEntriesInMemory = maxEntriesInMemory;
+
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create folder [" + folder.getAbsolutePath() + "]");
+        }
+
+        // counts and runs left over from a previous run are replaced, not added to
+        File[] leftovers = folder.listFiles((dir, file) -> file.equals(name + COUNT_FILE_SUFFIX)
+                || file.startsWith(name + RUN_FILE_SUFFIX));
+        if (leftovers != null) {
+            for (File leftover : leftovers) {
+                if (!leftover.delete()) {
+                    throw new IOException(
+                            "Could not delete [" + leftover.getAbsolutePath() + "]");
+                }
+            }
+        }
+    }
+
+    public void add(String ngram, long count) throws IOException
+    {
+        long[] c = counts.get(ngram);
+        if (c == null) {
+            counts.put(ngram, new long[] { count });
+            if (counts.size() >= maxEntriesInMemory) {
+                spill();
+            }
+            return;
+        }
+        c[0] += count;
+    }
+
+    private void spill() throws IOException
+    {
+        List<String> keys = new ArrayList<>(counts.keySet());
+        keys.sort(null);
+
+        File run = nextRunFile();
+        try (DataOutputStream out = open(run)) {
+            for (String k : keys) {
+                writeNGram(out, k);
+                out.writeLong(counts.get(k)[0]);
+            }
+        }
+        runs.add(run);
+        counts = new HashMap<>();
+    }
+
+    private File nextRunFile()
+    {
+        return new File(folder, name + RUN_FILE_SUFFIX + runs.size());
+    }
+
+    /**
+     * Merges all runs into the count file and removes the runs afterwards.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (counts == null) {
+            return;
+        }
+        if (!counts.isEmpty() || runs.isEmpty()) {
+            spill();
+        }
+        counts = null;
+
+        File countFile = getCountFile(folder, name);
+        if (runs.size() == 1) {
+            if (!runs.get(0).renameTo(countFile)) {
+                throw new IOException("Could not create [" + countFile.getAbsolutePath() + "]");
+            }
+            return;
+        }
+
+        merge(countFile);
+
+        for (File run : runs) {
+            run.delete();
+        }
+    }
+
+    private void merge(File countFile) throws IOException
+    {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>();
+        try (DataOutputStream out = open(countFile)) {
+            for (File run : runs) {
+                RunReader r = new RunReader(run);
+                if (r.next()) {
+                    queue.add(r);
+                }
+                else {
+                    r.close();
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                RunReader head = queue.poll();
+                String ngram = head.ngram;
+                long count = head.count;
+                advance(queue, head);
+
+                while (!queue.isEmpty() && queue.peek().ngram.equals(ngram)) {
+                    RunReader r = queue.poll();
+                    count += r.count;
+                    advance(queue, r);
+                }
+
+                writeNGram(out, ngram);
+                out.writeLong(count);
+            }
+        }
+        finally {
+            for (RunReader r : queue) {
+                r.close();
+            }
+        }
+    }
+
+    private void advance(PriorityQueue<RunReader> queue, RunReader r) throws IOException
+    {
+        if (r.next()) {
+            queue.add(r);
+        }
+        else {
+            r.close();
+        }
+    }
+
+    /*
+     * n-grams are written as length-prefixed UTF-8 bytes, writeUTF() would be limited to 64 KB
+     */
+    private static void writeNGram(DataOutputStream out, String ngram) throws IOException
+    {
+        byte[] bytes = ngram.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static DataOutputStream open(File file) throws IOException
+    {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    public static File getCountFile(File folder, String name)
+    {
+        return new File(folder, name + COUNT_FILE_SUFFIX);
+    }
+
+    /**
+     * @param folder
+     *            the folder of the count file
+     * @param name
+     *            the name of the count file
+     * @return true if counts were stored under this name
+     */
+    public static boolean exists(File folder, String name)
+    {
+        return getCountFile(folder, name).isFile();
+    }
+
+    /**
+     * Passes each n-gram with its count to the consumer.
+     * 
+     * @param folder
+     *            the folder of the count file
+     * @param name
+     *            the name of the count file
+     * @param consumer
+     *            receives the n-grams and their counts
+     * @throws FileNotFoundException
+     *             if no counts were stored under this name
+     * @throws IOException
+     *             in case of an error
+     */
+    public static void read(File folder, String name, ObjLongConsumer<String> consumer)
+        throws IOException
+    {
+        File countFile = getCountFile(folder, name);
+        if (!countFile.isFile()) {
+            throw new FileNotFoundException("No n-gram counts were stored under [" + name
+                    + "], expected [" + countFile.getAbsolutePath() + "]");
+        }
+
+        try (RunReader r = new RunReader(countFile)) {
+            while (r.next()) {
+                consumer.accept(r.ngram, r.count);
+            }
+        }
+    }
+
+    private static class RunReader
+        implements Comparable<RunReader>, Closeable
+    {
+        private final DataInputStream in;
+        String ngram;
+        long count;
+
+        RunReader(File file) throws IOException
+        {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        boolean next() throws IOException
+        {
+            int length;
+            try {
+                length = in.readInt();
+            }
+            catch (EOFException e) {
+                return false;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            ngram = new String(bytes, UTF_8);
+            count = in.readLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunReader o)
+        {
+            return ngram.compareTo(o.ngram);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            in.close();
+        }
+    }
+}
@@ -23,17 +23,13 @@ import static org.dkpro.tc.core.Constants.NGRAM_GLUE;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.jcas.JCas;
 import org.apache.uima.jcas.tcas.Annotation;
 import org.dkpro.tc.api.exception.TextClassificationException;
 
-import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathException;
-import de.tudarmstadt.ukp.dkpro.core.api.featurepath.FeaturePathFactory;
 import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
 import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
@@ -114,8 +110,9 @@ public class NGramUtils
         throws TextClassificationException
     {
         FrequencyDistribution<String> documentNgrams = new FrequencyDistribution<String>();
+        AnnotationValueIndex index = AnnotationValueIndex.get(jcas, annotationClass.getName());
         for (Sentence s : selectCovered(jcas, Sentence.class, aTarget)) {
-            List<String> strings = valuesToText(jcas, s, annotationClass.getName());
+            List<String> strings = index.getCoveredValues(s.getBegin(), s.getEnd());
             for (List<String> ngram : new NGramStringListIterable(strings, minN, maxN)) {
                 if (lowerCaseNGrams) {
                     ngram = lower(ngram);
@@ -177,20 +174,7 @@ public class NGramUtils
             String annotationClassName)
         throws TextClassificationException
     {
-        List<String> texts = new ArrayList<String>();
-
-        try {
-            for (Entry<AnnotationFS, String> entry : FeaturePathFactory.select(jcas.getCas(),
-                    annotationClassName)) {
-                if (entry.getKey().getBegin() >= s.getBegin()
-                        && entry.getKey().getEnd() <= s.getEnd()) {
-                    texts.add(entry.getValue());
-                }
-            }
-        }
-        catch (FeaturePathException e) {
-            throw new TextClassificationException(e);
-        }
-        return texts;
+        return AnnotationValueIndex.get(jcas, annotationClassName).getCoveredValues(s.getBegin(),
+                s.getEnd());
     }
 }
\ No newline at end of file
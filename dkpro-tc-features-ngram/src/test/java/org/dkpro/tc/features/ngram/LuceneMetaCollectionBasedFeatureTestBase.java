@@ -46,6 +46,7 @@ import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.JsonDataWriter;
 import org.dkpro.tc.core.util.TaskUtils;
+import org.dkpro.tc.features.ngram.util.NGramCountStore;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -151,6 +152,19 @@ public abstract class LuceneMetaCollectionBasedFeatureTestBase
     protected Set<String> getEntriesFromIndex(File luceneFolder) throws Exception
     {
         Set<String> token = new HashSet<>();
+
+        File[] countFiles = luceneFolder
+                .listFiles((dir, name) -> name.endsWith(NGramCountStore.COUNT_FILE_SUFFIX));
+        if (countFiles != null && countFiles.length > 0) {
+            for (File f : countFiles) {
+                String name = f.getName();
+                NGramCountStore.read(luceneFolder, name.substring(0,
+                        name.length() - NGramCountStore.COUNT_FILE_SUFFIX.length()),
+                        (term, count) -> token.add(term));
+            }
+            return token;
+        }
+
         @SuppressWarnings("deprecation")
         IndexReader idxReader = IndexReader.open(FSDirectory.open(luceneFolder));
         Fields fields = MultiFields.getFields(idxReader);
@@ -24,9 +24,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
@@ -53,6 +55,7 @@ import org.dkpro.tc.core.util.TaskUtils;
 import org.dkpro.tc.features.ngram.io.TestReaderSingleLabelDocumentReader;
 import org.dkpro.tc.features.ngram.meta.WordNGramMC;
 import org.dkpro.tc.features.ngram.util.EachTokenAsUnitAnnotator;
+import org.dkpro.tc.features.ngram.util.NGramCountStore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -73,10 +76,28 @@ public class NgramUnitTest
     {
         File luceneFolder = folder.newFolder();
 
-        runMetaCollection(luceneFolder);
-        evaluateMetaCollection(luceneFolder);
+        runMetaCollection(luceneFolder, WordNGramMC.META_STORE_LUCENE);
+        evaluateMetaCollection(getTokensFromIndex(luceneFolder),
+                term -> getTermFreq(luceneFolder, term));
 
-        File output = runFeatureExtractor(luceneFolder);
+        File output = runFeatureExtractor(luceneFolder, WordNGramMC.META_STORE_LUCENE);
+        evaluateExtractedFeatures(output);
+    }
+
+    @Test
+    public void testCountMetaCollectorOutput() throws Exception
+    {
+        File countFolder = folder.newFolder();
+
+        // the count store is the default store and does not need to be configured
+        runMetaCollection(countFolder, null);
+
+        Map<String, Long> counts = new HashMap<>();
+        NGramCountStore.read(countFolder, WordNGram.LUCENE_NGRAM_FIELD + EXTRACTOR_NAME,
+                (term, count) -> counts.put(term, count));
+        evaluateMetaCollection(counts.keySet(), term -> counts.get(term).intValue());
+
+        File output = runFeatureExtractor(countFolder, null);
         evaluateExtractedFeatures(output);
     }
 
@@ -116,17 +137,22 @@ public class NgramUnitTest
         assertEquals(6, numFeatValuesZero);
     }
 
-    private File runFeatureExtractor(File luceneFolder) throws Exception
+    private File runFeatureExtractor(File luceneFolder, String metaStore) throws Exception
     {
         File outputPath = folder.newFolder();
 
         Object[] parameters = new Object[] { WordNGram.PARAM_UNIQUE_EXTRACTOR_NAME, EXTRACTOR_NAME,
                 WordNGram.PARAM_NGRAM_USE_TOP_K, "1", WordNGram.PARAM_SOURCE_LOCATION,
                 luceneFolder.toString(), WordNGramMC.PARAM_TARGET_LOCATION, luceneFolder.toString(),
-                WordNGram.PARAM_NGRAM_MIN_N, "1", WordNGram.PARAM_NGRAM_MAX_N, "1", };
+                WordNGram.PARAM_NGRAM_MIN_N, "1", WordNGram.PARAM_NGRAM_MAX_N, "1" };
+
+        List<Object> parameterList = new ArrayList<Object>(Arrays.asList(parameters));
+        if (metaStore != null) {
+            parameterList.addAll(Arrays.asList(WordNGramMC.PARAM_META_STORE, metaStore));
+        }
 
         ExternalResourceDescription featureExtractor = ExternalResourceFactory
-                .createExternalResourceDescription(WordNGram.class, parameters);
+                .createExternalResourceDescription(WordNGram.class, parameterList.toArray());
         List<ExternalResourceDescription> fes = new ArrayList<>();
         fes.add(featureExtractor);
 
@@ -151,9 +177,13 @@ public class NgramUnitTest
         return outputPath;
     }
 
-    private void evaluateMetaCollection(File luceneFolder) throws Exception
+    private interface TermFrequency
+    {
+        int get(String term) throws Exception;
+    }
+
+    private void evaluateMetaCollection(Set<String> tokens, TermFrequency freq) throws Exception
     {
-        Set<String> tokens = getTokensFromIndex(luceneFolder);
         assertEquals(6, tokens.size());
         assertTrue(tokens.contains("."));
         assertTrue(tokens.contains("birds"));
@@ -162,16 +192,16 @@ public class NgramUnitTest
         assertTrue(tokens.contains("eats"));
         assertTrue(tokens.contains("mice"));
 
-        assertEquals(2, getTermFreq(luceneFolder, "cats"));
-        assertEquals(2, getTermFreq(luceneFolder, "."));
+        assertEquals(2, freq.get("cats"));
+        assertEquals(2, freq.get("."));
 
-        assertEquals(1, getTermFreq(luceneFolder, "birds"));
-        assertEquals(1, getTermFreq(luceneFolder, "chase"));
-        assertEquals(1, getTermFreq(luceneFolder, "eats"));
-        assertEquals(1, getTermFreq(luceneFolder, "mice"));
+        assertEquals(1, freq.get("birds"));
+        assertEquals(1, freq.get("chase"));
+        assertEquals(1, freq.get("eats"));
+        assertEquals(1, freq.get("mice"));
     }
 
-    private void runMetaCollection(File luceneFolder) throws Exception
+    private void runMetaCollection(File luceneFolder, String metaStore) throws Exception
     {
 
         Object[] parameters = new Object[] { WordNGram.PARAM_UNIQUE_EXTRACTOR_NAME, EXTRACTOR_NAME,
@@ -180,6 +210,9 @@ public class NgramUnitTest
                 WordNGram.PARAM_NGRAM_MIN_N, 1, WordNGram.PARAM_NGRAM_MAX_N, 1 };
 
         List<Object> parameterList = new ArrayList<Object>(Arrays.asList(parameters));
+        if (metaStore != null) {
+            parameterList.addAll(Arrays.asList(WordNGramMC.PARAM_META_STORE, metaStore));
+        }
 
         CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
                 TestReaderSingleLabelDocumentReader.class, TestReaderSingleLabelDocumentReader.PARAM_LANGUAGE, "en",
@@ -20,6 +20,8 @@ package org.dkpro.tc.features.ngram.meta;
 import static org.junit.Assert.assertEquals;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.Fields;
@@ -39,6 +41,7 @@ import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.uima.DocumentModeAnnotator;
 import org.dkpro.tc.features.ngram.WordNGram;
+import org.dkpro.tc.features.ngram.util.NGramCountStore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -71,7 +74,8 @@ public class WordNGramMetaCollectorTest
 
         AnalysisEngineDescription metaCollector = AnalysisEngineFactory.createEngineDescription(
                 WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, tmpDir,
-                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, UNIQUE_FEATURE_NAME);
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, UNIQUE_FEATURE_NAME,
+                WordNGramMC.PARAM_META_STORE, WordNGramMC.META_STORE_LUCENE);
 
         for (JCas jcas : new JCasIterable(reader, segmenter, doc, metaCollector)) {
             System.out.println(jcas.getDocumentText().length());
@@ -106,6 +110,39 @@ public class WordNGramMetaCollectorTest
         assertEquals(35, i);
     }
 
+    @SuppressWarnings("unused")
+    @Test
+    public void countingNgramMetaCollectorTest() throws Exception
+    {
+        File tmpDir = folder.newFolder();
+
+        CollectionReaderDescription reader = CollectionReaderFactory.createReaderDescription(
+                TextReader.class, TextReader.PARAM_SOURCE_LOCATION, "src/test/resources/data/",
+                TextReader.PARAM_LANGUAGE, "en", TextReader.PARAM_PATTERNS, "text*.txt");
+
+        AnalysisEngineDescription segmenter = AnalysisEngineFactory
+                .createEngineDescription(BreakIteratorSegmenter.class);
+
+        AnalysisEngineDescription doc = AnalysisEngineFactory.createEngineDescription(
+                DocumentModeAnnotator.class, DocumentModeAnnotator.PARAM_FEATURE_MODE,
+                Constants.FM_DOCUMENT);
+
+        AnalysisEngineDescription metaCollector = AnalysisEngineFactory.createEngineDescription(
+                WordNGramMC.class, WordNGramMC.PARAM_TARGET_LOCATION, tmpDir,
+                WordNGramMC.PARAM_UNIQUE_EXTRACTOR_NAME, UNIQUE_FEATURE_NAME);
+
+        for (JCas jcas : new JCasIterable(reader, segmenter, doc, metaCollector)) {
+            // only run the meta collector
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        NGramCountStore.read(tmpDir, WordNGram.LUCENE_NGRAM_FIELD + UNIQUE_FEATURE_NAME,
+                (term, count) -> counts.put(term, count));
+
+        assertEquals(35, counts.size());
+        assertEquals(3, counts.get("this").longValue());
+    }
+
     @SuppressWarnings("unused")
     @Test
     public void emptyDocumentTest() throws Exception
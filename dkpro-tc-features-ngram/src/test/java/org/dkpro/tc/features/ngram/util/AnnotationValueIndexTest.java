@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.uima.fit.factory.JCasFactory;
+import org.apache.uima.jcas.JCas;
+import org.dkpro.tc.api.features.util.CasScope;
+import org.junit.Test;
+
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Sentence;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
+
+public class AnnotationValueIndexTest
+{
+    @Test
+    public void coveredValuesAreFoundPerSentence() throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("Cats eat. Dogs bark loudly.");
+        addToken(jcas, 0, 4);
+        addToken(jcas, 5, 8);
+        addToken(jcas, 8, 9);
+        addToken(jcas, 10, 14);
+        addToken(jcas, 15, 19);
+        addToken(jcas, 20, 26);
+        addToken(jcas, 26, 27);
+        new Sentence(jcas, 0, 9).addToIndexes();
+        new Sentence(jcas, 10, 27).addToIndexes();
+
+        AnnotationValueIndex index = AnnotationValueIndex.create(jcas, Token.class.getName());
+        assertEquals(7, index.size());
+        assertEquals(Arrays.asList("Cats", "eat", "."), index.getCoveredValues(0, 9));
+        assertEquals(Arrays.asList("Dogs", "bark", "loudly", "."),
+                index.getCoveredValues(10, 27));
+        assertEquals(Collections.emptyList(), index.getCoveredValues(27, 27));
+
+        // an index is a snapshot, changes of the CAS are only visible in a new index
+        addToken(jcas, 5, 7);
+        assertEquals(7, index.size());
+        AnnotationValueIndex rebuilt = AnnotationValueIndex.create(jcas, Token.class.getName());
+        assertEquals(8, rebuilt.size());
+        assertEquals(Arrays.asList("Cats", "eat", "ea", "."), rebuilt.getCoveredValues(0, 9));
+    }
+
+    @Test
+    public void indexIsSharedWithinCasScope() throws Exception
+    {
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("Cats eat.");
+        addToken(jcas, 0, 4);
+        addToken(jcas, 5, 8);
+
+        // without a scope, each call creates a new index
+        assertNotSame(AnnotationValueIndex.get(jcas, Token.class.getName()),
+                AnnotationValueIndex.get(jcas, Token.class.getName()));
+
+        AnnotationValueIndex shared;
+        try (CasScope scope = CasScope.open(jcas)) {
+            shared = AnnotationValueIndex.get(jcas, Token.class.getName());
+            assertSame(shared, AnnotationValueIndex.get(jcas, Token.class.getName()));
+            assertNotSame(shared, AnnotationValueIndex.get(jcas, Sentence.class.getName()));
+
+            // a CAS without an open scope does not see the shared index
+            JCas other = JCasFactory.createJCas();
+            other.setDocumentText("Cats eat.");
+            assertEquals(0, AnnotationValueIndex.get(other, Token.class.getName()).size());
+        }
+
+        // the next CAS, or the same CAS processed again, gets a new index
+        addToken(jcas, 8, 9);
+        try (CasScope scope = CasScope.open(jcas)) {
+            AnnotationValueIndex next = AnnotationValueIndex.get(jcas, Token.class.getName());
+            assertNotSame(shared, next);
+            assertEquals(3, next.size());
+        }
+    }
+
+    private void addToken(JCas jcas, int begin, int end)
+    {
+        new Token(jcas, begin, end).addToIndexes();
+    }
+}
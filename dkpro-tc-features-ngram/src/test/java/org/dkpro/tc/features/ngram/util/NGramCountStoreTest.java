@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.features.ngram.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NGramCountStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void countsAreMergedAcrossSpilledRuns() throws Exception
+    {
+        File dir = folder.newFolder();
+
+        try (NGramCountStore store = new NGramCountStore(dir, "field", 2)) {
+            store.add("b", 1);
+            store.add("a", 2);
+            store.add("c", 1);
+            store.add("b", 3);
+            store.add("a", 1);
+        }
+
+        Map<String, Long> counts = read(dir, "field");
+        assertEquals(3, counts.size());
+        assertEquals(Long.valueOf(3), counts.get("a"));
+        assertEquals(Long.valueOf(4), counts.get("b"));
+        assertEquals(Long.valueOf(1), counts.get("c"));
+
+        // sorted by n-gram
+        assertEquals("[a, b, c]", new ArrayList<>(counts.keySet()).toString());
+
+        // only the count file remains
+        List<String> files = new ArrayList<>();
+        for (File f : dir.listFiles()) {
+            files.add(f.getName());
+        }
+        assertEquals("[field.counts]", files.toString());
+    }
+
+    @Test
+    public void countsOfAPreviousRunAreReplaced() throws Exception
+    {
+        File dir = folder.newFolder();
+
+        try (NGramCountStore store = new NGramCountStore(dir, "field")) {
+            store.add("a", 1);
+            store.add("c", 1);
+        }
+        // a run file left behind by an aborted run
+        new File(dir, "field.run7").createNewFile();
+
+        try (NGramCountStore store = new NGramCountStore(dir, "field")) {
+            store.add("a", 1);
+            store.add("b", 1);
+        }
+
+        Map<String, Long> counts = read(dir, "field");
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(1), counts.get("a"));
+        assertEquals(Long.valueOf(1), counts.get("b"));
+        assertEquals(1, dir.listFiles().length);
+    }
+
+    @Test
+    public void ngramsLongerThan64KBAreStored() throws Exception
+    {
+        File dir = folder.newFolder();
+
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 70000) {
+            sb.append("\u00e4bc ");
+        }
+        String longNgram = sb.toString();
+
+        try (NGramCountStore store = new NGramCountStore(dir, "field", 1)) {
+            store.add(longNgram, 1);
+            store.add("a", 1);
+            store.add(longNgram, 2);
+        }
+
+        Map<String, Long> counts = read(dir, "field");
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(3), counts.get(longNgram));
+        assertEquals(Long.valueOf(1), counts.get("a"));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void missingCountFileFails() throws Exception
+    {
+        File dir = folder.newFolder();
+        assertFalse(NGramCountStore.exists(dir, "field"));
+        read(dir, "field");
+    }
+
+    private Map<String, Long> read(File dir, String name) throws Exception
+    {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        NGramCountStore.read(dir, name, (term, count) -> counts.put(term, count));
+        return counts;
+    }
+}
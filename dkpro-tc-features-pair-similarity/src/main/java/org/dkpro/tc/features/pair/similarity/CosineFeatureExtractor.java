@@ -180,4 +180,11 @@ public class CosineFeatureExtractor<T extends Annotation>
         return map;
 
     }
+
+    @Override
+    protected boolean useLuceneIndex()
+    {
+        // IdfPairMetaCollector writes to the Lucene index only
+        return true;
+    }
 }
\ No newline at end of file
@@ -124,4 +124,11 @@ public class IdfPairMetaCollector<T extends Annotation>
     {
         return LuceneFeatureExtractorBase.LUCENE_NGRAM_FIELD;
     }
+
+    @Override
+    protected boolean useLuceneIndex()
+    {
+        // fields are added to the Lucene document directly
+        return true;
+    }
 }
\ No newline at end of file
@@ -344,4 +344,11 @@ public class LuceneNGramPFE
     // {
     // topKSet = topK;
     // }
+
+    @Override
+    protected boolean useLuceneIndex()
+    {
+        // the pair meta collectors write to the Lucene index only
+        return true;
+    }
 }
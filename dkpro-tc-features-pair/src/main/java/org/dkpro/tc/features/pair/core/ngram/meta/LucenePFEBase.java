@@ -98,4 +98,11 @@ public abstract class LucenePFEBase
         }
         return features;
     }
+
+    @Override
+    protected boolean useLuceneIndex()
+    {
+        // the pair meta collectors write to the Lucene index only
+        return true;
+    }
 }
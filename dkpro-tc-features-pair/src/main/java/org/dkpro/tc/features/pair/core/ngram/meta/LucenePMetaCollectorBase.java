@@ -107,4 +107,10 @@ public abstract class LucenePMetaCollectorBase
 
     protected abstract String getFieldNameView2();
 
+    @Override
+    protected boolean useLuceneIndex()
+    {
+        // fields are added to the Lucene document directly
+        return true;
+    }
 }
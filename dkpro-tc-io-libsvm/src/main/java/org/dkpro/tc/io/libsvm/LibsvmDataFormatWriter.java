@@ -39,6 +39,7 @@ import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureDictionary;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.io.DataWriter;
@@ -58,14 +59,19 @@ public class LibsvmDataFormatWriter
 
     public static final String INDEX2INSTANCEID = "index2Instanceid.txt";
 
+    // feature ids start at 2, the id 1 is reserved for the bias feature
+    private static final int FEATURE_ID_OFFSET = 2;
+
     protected File outputDirectory;
     protected String learningMode;
     protected File classifierFormatOutputFile;
     protected BufferedWriter bw = null;
-    protected Map<String, String> index2instanceId;
+    protected BufferedWriter genericWriter = null;
+    protected BufferedWriter index2instanceIdWriter = null;
     protected Gson gson = new Gson();
     protected int maxId = 0;
     protected Map<String, Integer> featureNames2id;
+    protected FeatureDictionary featureDictionary;
     protected Map<String, Integer> outcomeMap;
     protected String featureMode;
 
@@ -80,23 +86,21 @@ public class LibsvmDataFormatWriter
             // bulk-write - in sequence mode this keeps the instances together
             // that belong to the same sequence!
             Instance[] array = instances.toArray(new Instance[0]);
-            bw.write(gson.toJson(array) + "\n");
+            genericWriter.write(gson.toJson(array) + "\n");
         }
         catch (Exception e) {
+            IOUtils.closeQuietly(genericWriter);
+            genericWriter = null;
             throw new AnalysisEngineProcessException(e);
         }
-        finally {
-            IOUtils.closeQuietly(bw);
-            bw = null;
-        }
     }
 
     private void initGeneric() throws IOException
     {
-        if (bw != null) {
+        if (genericWriter != null) {
             return;
         }
-        bw = new BufferedWriter(
+        genericWriter = new BufferedWriter(
                 new OutputStreamWriter(
                         new FileOutputStream(
                                 new File(outputDirectory, Constants.GENERIC_FEATURE_FILE), true),
@@ -106,6 +110,10 @@ public class LibsvmDataFormatWriter
     @Override
     public void transformFromGeneric() throws Exception
     {
+        // the generic file is kept open while instances are written
+        IOUtils.closeQuietly(genericWriter);
+        genericWriter = null;
+
         BufferedReader reader = new BufferedReader(new InputStreamReader(
                 new FileInputStream(new File(outputDirectory, Constants.GENERIC_FEATURE_FILE)),
                 UTF_8));
@@ -133,21 +141,33 @@ public class LibsvmDataFormatWriter
             initClassifierFormat();
 
             for (Instance instance : instances) {
-                Map<Integer, Double> entry = new HashMap<>();
-                recordInstanceId(instance, maxId++, index2instanceId);
-                for (Feature f : instance.getFeatures()) {
-                    Integer id = featureNames2id.get(f.getName());
-                    Double val = toValue(f.getValue());
+                recordInstanceId(instance, maxId++);
+
+                // features are sorted by name and the dictionary ids follow the name order, the
+                // resulting ids are thus already in the ascending order the format requires; zero
+                // defaults are omitted anyway and need not be filled in
+                Collection<Feature> features = instance.getSparseFeatures();
+                int[] ids = new int[features.size()];
+                double[] values = new double[features.size()];
+                int size = 0;
+                for (Feature f : features) {
+                    double val = toValue(f.getValue());
 
                     if (Math.abs(val) < 0.00000001) {
                         // skip zero values
                         continue;
                     }
 
-                    entry.put(id, val);
+                    int id = getFeatureId(f.getName());
+                    if (size > 0 && ids[size - 1] == id) {
+                        // same feature name twice, last value wins
+                        values[size - 1] = val;
+                        continue;
+                    }
+                    ids[size] = id;
+                    values[size] = val;
+                    size++;
                 }
-                List<Integer> keys = new ArrayList<Integer>(entry.keySet());
-                Collections.sort(keys);
 
                 if (isRegression()) {
                     bw.append(instance.getOutcome() + "\t");
@@ -158,30 +178,21 @@ public class LibsvmDataFormatWriter
 
                 bw.append(injectSequenceId(instance));
 
-                for (int i = 0; i < keys.size(); i++) {
-                    Integer key = keys.get(i);
-                    Double value = entry.get(key);
-                    bw.append("" + key.toString() + ":" + value.toString());
-                    if (i + 1 < keys.size()) {
+                for (int i = 0; i < size; i++) {
+                    bw.append(ids[i] + ":" + values[i]);
+                    if (i + 1 < size) {
                         bw.append("\t");
                     }
                 }
                 bw.append("\n");
             }
-
-            writeMapping(outputDirectory, INDEX2INSTANCEID, index2instanceId);
-            writeFeatureName2idMapping(outputDirectory,
-                    AdapterFormat.getFeatureNameMappingFilename(), featureNames2id);
-            writeOutcomeMapping(outputDirectory, AdapterFormat.getOutcomeMappingFilename(),
-                    outcomeMap);
-
         }
         catch (Exception e) {
-            throw new AnalysisEngineProcessException(e);
-        }
-        finally {
             IOUtils.closeQuietly(bw);
+            IOUtils.closeQuietly(index2instanceIdWriter);
             bw = null; // important, we reopen the stream only if the pointer is null!
+            index2instanceIdWriter = null;
+            throw new AnalysisEngineProcessException(e);
         }
     }
 
@@ -211,7 +222,7 @@ public class LibsvmDataFormatWriter
         FileUtils.writeStringToFile(new File(outputDirectory, file), sb.toString(), UTF_8);
     }
 
-    private Double toValue(Object value)
+    private double toValue(Object value)
     {
         double v;
         if (value instanceof Number) {
@@ -226,24 +237,33 @@ public class LibsvmDataFormatWriter
 
     private void createFeatureNameMap() throws IOException
     {
-        featureNames2id = new HashMap<>();
         List<String> readLines = FileUtils
                 .readLines(new File(outputDirectory, Constants.FILENAME_FEATURES), UTF_8);
+        readLines.removeIf(String::isEmpty);
+        featureDictionary = new FeatureDictionary(readLines);
+
+        featureNames2id = new HashMap<>();
 
         // add a "bias" feature node; otherwise LIBLINEAR is unable to predict
         // the majority class for
         // instances consisting entirely of features never seen during training
         featureNames2id.put("x.BIAS", 1);
 
-        Integer i = 2;
-        for (String l : readLines) {
-            if (l.isEmpty()) {
-                continue;
-            }
-            featureNames2id.put(l, i++);
+        for (int i = 0; i < featureDictionary.size(); i++) {
+            featureNames2id.put(featureDictionary.getName(i), i + FEATURE_ID_OFFSET);
         }
     }
 
+    private int getFeatureId(String featureName)
+    {
+        int id = featureDictionary.getId(featureName);
+        if (id < 0) {
+            throw new IllegalArgumentException("Feature [" + featureName
+                    + "] is not listed in [" + Constants.FILENAME_FEATURES + "]");
+        }
+        return id + FEATURE_ID_OFFSET;
+    }
+
     private void writeFeatureName2idMapping(File outputDirectory, String featurename2instanceid,
             Map<String, Integer> stringToInt)
         throws IOException
@@ -264,8 +284,16 @@ public class LibsvmDataFormatWriter
             return;
         }
 
+        // both files are kept open until close() is called, the instance ids are streamed into
+        // the mapping file while the instances are written
         bw = new BufferedWriter(new OutputStreamWriter(
                 new FileOutputStream(classifierFormatOutputFile, true), UTF_8));
+
+        index2instanceIdWriter = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(outputDirectory, INDEX2INSTANCEID), true), UTF_8));
+        if (maxId == 0) {
+            index2instanceIdWriter.write("#Index\tDkProInstanceId\n");
+        }
     }
 
     @Override
@@ -279,8 +307,6 @@ public class LibsvmDataFormatWriter
         classifierFormatOutputFile = new File(outputDirectory,
                 Constants.FILENAME_DATA_IN_CLASSIFIER_FORMAT);
 
-        index2instanceId = new HashMap<>();
-
         // Caution: DKPro Lab imports (aka copies!) the data of the train task
         // as test task. We use
         // appending mode for streaming. We might append the old training file
@@ -291,6 +317,11 @@ public class LibsvmDataFormatWriter
         if (classifierFormatOutputFile.exists()) {
             FileUtils.forceDelete(classifierFormatOutputFile);
         }
+
+        File index2instanceIdFile = new File(outputDirectory, INDEX2INSTANCEID);
+        if (index2instanceIdFile.exists()) {
+            FileUtils.forceDelete(index2instanceIdFile);
+        }
         
         File genericOutputFile = new File(outputDirectory, getGenericFileName());
         if (genericOutputFile.exists()) {
@@ -337,33 +368,13 @@ public class LibsvmDataFormatWriter
         return Constants.GENERIC_FEATURE_FILE;
     }
 
-    protected void writeMapping(File outputDirectory, String fileName,
-            Map<String, String> index2instanceId)
-        throws IOException
-    {
-        BufferedWriter writer = null;
-        try {
-            writer = new BufferedWriter(new OutputStreamWriter(
-                    new FileOutputStream(new File(outputDirectory, fileName)), UTF_8));
-
-            writer.write("#Index\tDkProInstanceId\n");
-            
-            for (Entry<String, String> e : index2instanceId.entrySet()) {
-                writer.write(e.getKey() + "\t" + e.getValue() + "\n");
-            }
-        }
-        finally {
-            IOUtils.closeQuietly(writer);
-        }
-    }
-
     // build a map between the dkpro instance id and the index in the file
-    protected void recordInstanceId(Instance instance, int i, Map<String, String> index2instanceId)
+    protected void recordInstanceId(Instance instance, int i) throws IOException
     {
-        Collection<Feature> features = instance.getFeatures();
+        Collection<Feature> features = instance.getSparseFeatures();
         for (Feature f : features) {
             if (f.getName().equals(Constants.ID_FEATURE_NAME)) {
-                index2instanceId.put(i + "", f.getValue() + "");
+                index2instanceIdWriter.write(i + "\t" + f.getValue() + "\n");
                 return;
             }
         }
@@ -377,7 +388,36 @@ public class LibsvmDataFormatWriter
     @Override
     public void close() throws Exception
     {
+        closeWriters();
 
+        // the feature and outcome mappings do not change while instances are written, it is
+        // sufficient to write them once at the end
+        if (featureNames2id != null) {
+            writeFeatureName2idMapping(outputDirectory,
+                    AdapterFormat.getFeatureNameMappingFilename(), featureNames2id);
+        }
+        writeOutcomeMapping(outputDirectory, AdapterFormat.getOutcomeMappingFilename(),
+                outcomeMap);
+    }
+
+    private void closeWriters() throws IOException
+    {
+        try {
+            if (bw != null) {
+                bw.close();
+            }
+            if (index2instanceIdWriter != null) {
+                index2instanceIdWriter.close();
+            }
+        }
+        finally {
+            IOUtils.closeQuietly(bw);
+            IOUtils.closeQuietly(index2instanceIdWriter);
+            IOUtils.closeQuietly(genericWriter);
+            bw = null;
+            index2instanceIdWriter = null;
+            genericWriter = null;
+        }
     }
 
 }
\ No newline at end of file
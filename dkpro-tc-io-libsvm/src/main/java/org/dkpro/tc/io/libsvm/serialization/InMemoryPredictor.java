@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.io.libsvm.serialization;
+
+import java.util.List;
+
+/**
+ * Implemented by {@link LibsvmDataFormatLoadModelConnector}s whose backend is able to classify
+ * in-process. The instances are then handed over as sparse vectors instead of being written into
+ * a temporary file in the libsvm format.
+ */
+public interface InMemoryPredictor
+{
+    /**
+     * Predicts the outcomes of the provided feature vectors in-process.
+     * 
+     * @param vectors
+     *            the instances of the current CAS as sparse vectors
+     * @return one prediction per vector in the same format that is written into prediction files
+     * @throws Exception
+     *             in case of an error
+     */
+    List<String> runPrediction(List<SparseFeatureVector> vectors) throws Exception;
+}
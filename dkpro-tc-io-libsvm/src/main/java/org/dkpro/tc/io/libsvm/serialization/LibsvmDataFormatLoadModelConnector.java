@@ -24,6 +24,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +46,7 @@ import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.ml.ModelSerialization_ImplBase;
+import org.dkpro.tc.core.ml.SharedModelRegistry;
 import org.dkpro.tc.core.task.uima.InstanceExtractor;
 import org.dkpro.tc.io.libsvm.AdapterFormat;
 import org.dkpro.tc.ml.model.PreTrainedModelProviderAbstract;
@@ -75,8 +79,13 @@ public abstract class LibsvmDataFormatLoadModelConnector
         super.initialize(context);
 
         try {
-            integer2OutcomeMapping = loadInteger2OutcomeMapping(tcModelLocation);
-            featureMapping = loadFeature2IntegerMapping(tcModelLocation);
+            // the mappings are shared read-only with all other instances using the same model
+            integer2OutcomeMapping = SharedModelRegistry.acquire(tcModelLocation,
+                    getSharedModelName("outcomeMapping"), () -> Collections
+                            .unmodifiableMap(loadInteger2OutcomeMapping(tcModelLocation)));
+            featureMapping = SharedModelRegistry.acquire(tcModelLocation,
+                    getSharedModelName("featureMapping"), () -> Collections
+                            .unmodifiableMap(loadFeature2IntegerMapping(tcModelLocation)));
             verifyTcVersion(tcModelLocation, getClass());
         }
         catch (Exception e) {
@@ -85,6 +94,31 @@ public abstract class LibsvmDataFormatLoadModelConnector
 
     }
 
+    /**
+     * @param name
+     *            the name of the model data
+     * @return the name under which this connector registers the model data in the
+     *         {@link SharedModelRegistry}
+     */
+    protected String getSharedModelName(String name)
+    {
+        return getClass().getName() + "#" + name;
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (integer2OutcomeMapping != null) {
+            SharedModelRegistry.release(tcModelLocation, getSharedModelName("outcomeMapping"));
+            integer2OutcomeMapping = null;
+        }
+        if (featureMapping != null) {
+            SharedModelRegistry.release(tcModelLocation, getSharedModelName("featureMapping"));
+            featureMapping = null;
+        }
+        super.destroy();
+    }
+
     protected Map<String, Integer> loadFeature2IntegerMapping(File tcModelLocation)
         throws IOException
     {
@@ -124,12 +158,20 @@ public abstract class LibsvmDataFormatLoadModelConnector
     public void process(JCas aJCas) throws AnalysisEngineProcessException
     {
         try {
-            File tempFile = createInputFile(aJCas);
+            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
+                    true);
+            List<Instance> instances = extractor.getInstances(aJCas, true);
 
-            File prediction = runPrediction(tempFile);
+            List<String> writtenPredictions;
+            if (supportsInMemoryPrediction()) {
+                writtenPredictions = ((InMemoryPredictor) this)
+                        .runPrediction(toSparseFeatureVectors(instances));
+            }
+            else {
+                writtenPredictions = runFilePrediction(instances);
+            }
 
             List<TextClassificationOutcome> outcomes = getOutcomeAnnotations(aJCas);
-            List<String> writtenPredictions = FileUtils.readLines(prediction, UTF_8);
 
             checkErrorConditionNumberOfOutcomesEqualsNumberOfPredictions(outcomes,
                     writtenPredictions);
@@ -155,6 +197,100 @@ public abstract class LibsvmDataFormatLoadModelConnector
 
     }
 
+    /**
+     * Serializes the instances into a temporary file in the libsvm format and hands it to
+     * {@link #runPrediction(File)}. Both, the input and the prediction file are deleted as soon as
+     * the predictions are read.
+     */
+    protected List<String> runFilePrediction(List<Instance> instances) throws Exception
+    {
+        File tempFile = createInputFile(instances);
+        File prediction = null;
+        try {
+            prediction = runPrediction(tempFile);
+            return FileUtils.readLines(prediction, UTF_8);
+        }
+        finally {
+            FileUtils.deleteQuietly(tempFile);
+            FileUtils.deleteQuietly(prediction);
+        }
+    }
+
+    /**
+     * Backends which are able to classify in-process implement {@link InMemoryPredictor}. All
+     * other backends, i.e. those that have to call an external binary, receive the instances as
+     * file via {@link #runPrediction(File)}.
+     * 
+     * @return true if the backend predicts in-memory
+     */
+    protected final boolean supportsInMemoryPrediction()
+    {
+        return this instanceof InMemoryPredictor;
+    }
+
+    protected List<SparseFeatureVector> toSparseFeatureVectors(List<Instance> instances)
+    {
+        List<SparseFeatureVector> vectors = new ArrayList<>(instances.size());
+        for (Instance instance : instances) {
+            vectors.add(toSparseFeatureVector(instance));
+        }
+        return vectors;
+    }
+
+    protected SparseFeatureVector toSparseFeatureVector(Instance instance)
+    {
+        // zero values are skipped anyway, the default features with zero value are not needed
+        Collection<Feature> features = instance.getSparseFeatures();
+        int[] indices = new int[features.size()];
+        double[] values = new double[features.size()];
+
+        int size = 0;
+        boolean isSorted = true;
+        for (Feature f : features) {
+            if (!sanityCheckValue(f)) {
+                continue;
+            }
+            Integer index = featureMapping.get(f.getName());
+            double value = ((Number) f.getValue()).doubleValue();
+            if (index == null || value == 0.0) {
+                // unknown features and zero values do not contribute to the prediction
+                continue;
+            }
+            if (size > 0 && indices[size - 1] > index) {
+                isSorted = false;
+            }
+            indices[size] = index;
+            values[size] = value;
+            size++;
+        }
+
+        indices = Arrays.copyOf(indices, size);
+        values = Arrays.copyOf(values, size);
+        if (!isSorted) {
+            sortByIndex(indices, values);
+        }
+
+        return new SparseFeatureVector(indices, values);
+    }
+
+    private void sortByIndex(int[] indices, double[] values)
+    {
+        Integer[] order = new Integer[indices.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(indices[a], indices[b]));
+
+        int[] sortedIndices = new int[indices.length];
+        double[] sortedValues = new double[values.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIndices[i] = indices[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+        System.arraycopy(sortedIndices, 0, indices, 0, indices.length);
+        System.arraycopy(sortedValues, 0, values, 0, values.length);
+    }
+
     protected List<TextClassificationOutcome> getOutcomeAnnotations(JCas jcas)
     {
         return new ArrayList<>(JCasUtil.select(jcas, TextClassificationOutcome.class));
@@ -171,24 +307,20 @@ public abstract class LibsvmDataFormatLoadModelConnector
 
     protected abstract File runPrediction(File tempFile) throws Exception;
 
-    protected File createInputFile(JCas jcas) throws Exception
+    protected File createInputFile(List<Instance> instances) throws Exception
     {
         File tempFile = FileUtil.createTempFile("libsvm", ".txt");
-        tempFile.deleteOnExit();
 
         try (BufferedWriter bw = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8))) {
 
-            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
-                    true);
-            List<Instance> instances = extractor.getInstances(jcas, true);
-
             for (Instance instance : instances) {
                 bw.write(OUTCOME_PLACEHOLDER);
 
                 bw.write(injectSequenceId(instance));
 
-                for (Feature f : instance.getFeatures()) {
+                // zero-valued default features are omitted, as in the training data
+                for (Feature f : instance.getSparseFeatures()) {
                     if (!sanityCheckValue(f)) {
                         continue;
                     }
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package org.dkpro.tc.io.libsvm.serialization;
+
+/**
+ * Sparse representation of a single instance in the libsvm data format, i.e. the feature indices
+ * of the model's feature mapping in ascending order and their values. Backends that classify
+ * in-process convert this representation directly into their native data structures instead of
+ * reading a file in the libsvm format.
+ */
+public class SparseFeatureVector
+{
+    private final int[] indices;
+    private final double[] values;
+
+    public SparseFeatureVector(int[] indices, double[] values)
+    {
+        if (indices.length != values.length) {
+            throw new IllegalArgumentException("Number of indices [" + indices.length
+                    + "] does not match number of values [" + values.length + "]");
+        }
+        this.indices = indices;
+        this.values = values;
+    }
+
+    public int size()
+    {
+        return indices.length;
+    }
+
+    public int getIndex(int i)
+    {
+        return indices[i];
+    }
+
+    public double getValue(int i)
+    {
+        return values[i];
+    }
+}
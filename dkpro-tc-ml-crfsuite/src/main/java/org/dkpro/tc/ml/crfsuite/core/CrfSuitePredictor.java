@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Scanner;
 
 import org.apache.commons.compress.utils.IOUtils;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.base.TcPredictor;
 
 public class CrfSuitePredictor
@@ -80,6 +81,34 @@ public class CrfSuitePredictor
         return prediction;
     }
 
+    /**
+     * Starts a CrfSuite tagger that keeps the provided model loaded and tags each sequence as soon
+     * as it is completed by an empty line. The executable stays installed until
+     * {@link #uninstallExecutable()} is called after the process has been closed.
+     * 
+     * @param model
+     *            The model to be used
+     * @return The running tagger process
+     * @throws Exception
+     *             In case of errors
+     */
+    public TcPredictionProcess startPredictionProcess(File model) throws Exception
+    {
+        return new TcPredictionProcess(getTestCommandForPredictionFromStdin(model), true);
+    }
+
+    /**
+     * CrfSuite buffers its output when it writes to a pipe, the tagger process therefore only
+     * answers in time if its output can be line-buffered. Callers predict with
+     * {@link #predict(String, File)} instead if this is not supported.
+     * 
+     * @return true if {@link #startPredictionProcess(File)} can be used on this platform
+     */
+    public static boolean isPredictionProcessSupported()
+    {
+        return TcPredictionProcess.isLineBufferingSupported();
+    }
+
     /**
      * Builds a command that can be executed with a {@link ProcessBuilder}, which calls CrfSuite
      * with the provided model
@@ -19,11 +19,13 @@
 package org.dkpro.tc.ml.crfsuite.task.serialization;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.logging.LogFactory;
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.cas.text.AnnotationFS;
@@ -43,6 +45,7 @@ import org.dkpro.tc.api.type.TextClassificationSequence;
 import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.core.feature.InstanceIdFeature;
 import org.dkpro.tc.core.ml.ModelSerialization_ImplBase;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.crfsuite.core.CrfSuitePredictor;
 import org.dkpro.tc.ml.crfsuite.writer.CrfSuiteFeatureFormatExtractionIterator;
 import org.dkpro.tc.ml.model.PreTrainedModelProviderAbstract;
@@ -59,6 +62,9 @@ public class CrfSuiteLoadModelConnector
 
     private File model = null;
 
+    private CrfSuitePredictor predictor;
+    private TcPredictionProcess tagger;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
@@ -90,30 +96,28 @@ public class CrfSuiteLoadModelConnector
             CrfSuiteFeatureFormatExtractionIterator iterator = new CrfSuiteFeatureFormatExtractionIterator(
                     instance);
 
-            // takes N sequences and classifies them - all results are hold in
-            // memory
-            StringBuilder output = new StringBuilder(1024);
+            // an empty line terminates each sequence, which lets the tagger answer as soon as the
+            // last sequence of this CAS is sent
+            StringBuilder buffer = new StringBuilder(1024);
+            int numSequences = 0;
             while (iterator.hasNext()) {
+                buffer.append(iterator.next());
+                buffer.append("\n");
+                numSequences++;
+            }
 
-                StringBuilder buffer = new StringBuilder();
-                int limit = 5000;
-                int idx = 0;
-
-                while (iterator.hasNext()) {
-                    StringBuilder seqInfo = iterator.next();
-                    buffer.append(seqInfo);
-                    idx++;
-                    if (idx == limit) {
-                        break;
-                    }
-                }
-
-                CrfSuitePredictor predict = new CrfSuitePredictor();
-                String out = predict.predict(buffer.toString(), model);
-                output.append(out);
+            if (numSequences == 0) {
+                return;
             }
 
-            setPredictedOutcome(jcas, output.toString());
+            String output;
+            if (CrfSuitePredictor.isPredictionProcessSupported()) {
+                output = String.join("\n", getTagger().predict(buffer.toString(), numSequences));
+            }
+            else {
+                output = new CrfSuitePredictor().predict(buffer.toString(), model);
+            }
+            setPredictedOutcome(jcas, output);
         }
         catch (Exception e) {
             throw new AnalysisEngineProcessException(e);
@@ -121,6 +125,60 @@ public class CrfSuiteLoadModelConnector
 
     }
 
+    private TcPredictionProcess getTagger() throws Exception
+    {
+        if (tagger == null || !tagger.isAlive()) {
+            if (predictor == null) {
+                predictor = new CrfSuitePredictor();
+            }
+            tagger = predictor.startPredictionProcess(model);
+        }
+        return tagger;
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        try {
+            shutdownTagger();
+        }
+        catch (IOException e) {
+            throw new AnalysisEngineProcessException(e);
+        }
+
+        super.collectionProcessComplete();
+    }
+
+    @Override
+    public void destroy()
+    {
+        // an aborted pipeline never reaches collectionProcessComplete
+        try {
+            shutdownTagger();
+        }
+        catch (IOException e) {
+            LogFactory.getLog(getClass()).warn("Could not close the CrfSuite tagger", e);
+        }
+
+        super.destroy();
+    }
+
+    private void shutdownTagger() throws IOException
+    {
+        try {
+            if (tagger != null) {
+                tagger.close();
+            }
+        }
+        finally {
+            tagger = null;
+            if (predictor != null) {
+                predictor.uninstallExecutable();
+                predictor = null;
+            }
+        }
+    }
+
     private void setPredictedOutcome(JCas aJCas, String aLabels)
     {
         List<TextClassificationOutcome> outcomes = new ArrayList<TextClassificationOutcome>(
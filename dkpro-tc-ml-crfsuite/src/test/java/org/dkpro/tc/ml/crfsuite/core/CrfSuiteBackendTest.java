@@ -17,14 +17,18 @@
  ******************************************************************************/
 package org.dkpro.tc.ml.crfsuite.core;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.uima.pear.util.FileUtil;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.base.TcPredictor;
 import org.dkpro.tc.ml.base.TcTrainer;
 import org.junit.After;
@@ -70,6 +74,43 @@ public class CrfSuiteBackendTest
 
     }
 
+    @Test
+    public void testPredictionProcess() throws Exception
+    {
+        // without line-buffered output the connector predicts each CAS in one shot
+        assumeTrue(CrfSuitePredictor.isPredictionProcessSupported());
+
+        trainModel();
+
+        List<String> expected = new ArrayList<>();
+        for (String s : new CrfSuitePredictor().predict(data, modelOut)) {
+            if (!s.isEmpty()) {
+                expected.add(s.split("\t")[1]);
+            }
+        }
+
+        // each sequence is sent as a request of its own to the running binary
+        List<String> actual = new ArrayList<>();
+        CrfSuitePredictor predictor = new CrfSuitePredictor();
+        TcPredictionProcess tagger = predictor.startPredictionProcess(modelOut);
+        try {
+            String content = FileUtils.readFileToString(data, UTF_8);
+            for (String sequence : content.trim().split("\n\s*\n")) {
+                for (String s : tagger.predict(sequence + "\n\n", 1)) {
+                    if (!s.isEmpty()) {
+                        actual.add(s);
+                    }
+                }
+            }
+        }
+        finally {
+            tagger.close();
+            predictor.uninstallExecutable();
+        }
+
+        assertEquals(expected, actual);
+    }
+
     private void trainModel() throws Exception
     {
         
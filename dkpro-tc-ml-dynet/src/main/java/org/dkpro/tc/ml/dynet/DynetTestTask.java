@@ -61,6 +61,9 @@ public class DynetTestTask
     @Discriminator(name = DIM_VECTORIZE_TO_INTEGER)
     protected boolean intVectorization;
 
+    @Discriminator(name = DIM_VECTORIZE_TO_NUMPY)
+    protected boolean numpyVectorization;
+
     @Discriminator(name = DyNetConstants.DIM_DYNET_DEVICES)
     protected String deviceIds;
 
@@ -245,12 +248,13 @@ public class DynetTestTask
     protected File getDataOutcome(TaskContext aContext, String key) throws FileNotFoundException
     {
         File folder = aContext.getFolder(key, AccessMode.READONLY);
-        File vector = new File(folder, FILENAME_OUTCOME_VECTOR);
+        String name = numpyVectorization ? FILENAME_OUTCOME_VECTOR_NUMPY
+                : FILENAME_OUTCOME_VECTOR;
+        File vector = new File(folder, name);
 
         if (!vector.exists()) {
-            throw new FileNotFoundException(
-                    "Could not locate file [" + FILENAME_OUTCOME_VECTOR
-                            + "] in folder [" + folder.getAbsolutePath() + "]");
+            throw new FileNotFoundException("Could not locate file [" + name + "] in folder ["
+                    + folder.getAbsolutePath() + "]");
         }
         return vector;
     }
@@ -258,12 +262,13 @@ public class DynetTestTask
     protected File getDataVector(TaskContext aContext, String key) throws FileNotFoundException
     {
         File folder = aContext.getFolder(key, AccessMode.READONLY);
-        File vector = new File(folder, FILENAME_INSTANCE_VECTOR);
+        String name = numpyVectorization ? FILENAME_INSTANCE_VECTOR_NUMPY
+                : FILENAME_INSTANCE_VECTOR;
+        File vector = new File(folder, name);
 
         if (!vector.exists()) {
-            throw new FileNotFoundException(
-                    "Could not locate file [" + FILENAME_INSTANCE_VECTOR
-                            + "] in folder [" + folder.getAbsolutePath() + "]");
+            throw new FileNotFoundException("Could not locate file [" + name + "] in folder ["
+                    + folder.getAbsolutePath() + "]");
         }
         return vector;
     }
@@ -56,6 +56,9 @@ public class KerasTestTask
     @Discriminator(name = DIM_VECTORIZE_TO_INTEGER)
     protected boolean intVectorization;
 
+    @Discriminator(name = DIM_VECTORIZE_TO_NUMPY)
+    protected boolean numpyVectorization;
+
     @Discriminator(name = DIM_BIPARTITION_THRESHOLD)
     protected double threshold;
 
@@ -203,12 +206,13 @@ public class KerasTestTask
     protected File getDataOutcome(TaskContext aContext, String key) throws FileNotFoundException
     {
         File folder = aContext.getFolder(key, AccessMode.READONLY);
-        File vector = new File(folder, FILENAME_OUTCOME_VECTOR);
+        String name = numpyVectorization ? FILENAME_OUTCOME_VECTOR_NUMPY
+                : FILENAME_OUTCOME_VECTOR;
+        File vector = new File(folder, name);
 
         if (!vector.exists()) {
-            throw new FileNotFoundException(
-                    "Could not locate file [" + FILENAME_OUTCOME_VECTOR
-                            + "] in folder [" + folder.getAbsolutePath() + "]");
+            throw new FileNotFoundException("Could not locate file [" + name + "] in folder ["
+                    + folder.getAbsolutePath() + "]");
         }
         return vector;
     }
@@ -216,12 +220,13 @@ public class KerasTestTask
     protected File getDataVector(TaskContext aContext, String key) throws FileNotFoundException
     {
         File folder = aContext.getFolder(key, AccessMode.READONLY);
-        File vector = new File(folder, FILENAME_INSTANCE_VECTOR);
+        String name = numpyVectorization ? FILENAME_INSTANCE_VECTOR_NUMPY
+                : FILENAME_INSTANCE_VECTOR;
+        File vector = new File(folder, name);
 
         if (!vector.exists()) {
-            throw new FileNotFoundException(
-                    "Could not locate file [" + FILENAME_INSTANCE_VECTOR
-                            + "] in folder [" + folder.getAbsolutePath() + "]");
+            throw new FileNotFoundException("Could not locate file [" + name + "] in folder ["
+                    + folder.getAbsolutePath() + "]");
         }
         return vector;
     }
@@ -33,10 +33,14 @@ public class LiblinearPredictor
 {
     public List<String> predict(File data, Model model) throws Exception
     {
-        List<String> predictions = new ArrayList<>();
-
         Problem test = Problem.readFromFile(data, 1.0);
-        Feature[][] testInstances = test.x;
+        return predict(test.x, model);
+    }
+
+    public List<String> predict(Feature[][] testInstances, Model model)
+    {
+        List<String> predictions = new ArrayList<>(testInstances.length);
+
         for (int i = 0; i < testInstances.length; i++) {
             Feature[] instance = testInstances[i];
             Double prediction = Linear.predict(model, instance);
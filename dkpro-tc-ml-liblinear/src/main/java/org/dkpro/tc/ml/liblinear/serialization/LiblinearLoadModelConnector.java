@@ -23,15 +23,21 @@ import java.util.List;
 
 import org.apache.uima.UimaContext;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.core.ml.SharedModelRegistry;
+import org.dkpro.tc.io.libsvm.serialization.InMemoryPredictor;
 import org.dkpro.tc.io.libsvm.serialization.LibsvmDataFormatLoadModelConnector;
+import org.dkpro.tc.io.libsvm.serialization.SparseFeatureVector;
 import org.dkpro.tc.ml.liblinear.LiblinearTestTask;
 import org.dkpro.tc.ml.liblinear.core.LiblinearPredictor;
 
+import de.bwaldvogel.liblinear.Feature;
+import de.bwaldvogel.liblinear.FeatureNode;
 import de.bwaldvogel.liblinear.Linear;
 import de.bwaldvogel.liblinear.Model;
 
 public class LiblinearLoadModelConnector
     extends LibsvmDataFormatLoadModelConnector
+    implements InMemoryPredictor
 {
     protected Model liblinearModel;
 
@@ -41,19 +47,31 @@ public class LiblinearLoadModelConnector
         super.initialize(context);
 
         try {
-            liblinearModel = Linear.loadModel(new File(tcModelLocation, MODEL_CLASSIFIER));
+            // prediction only reads the model, it is shared with all instances of this model
+            liblinearModel = SharedModelRegistry.acquire(tcModelLocation,
+                    getSharedModelName(MODEL_CLASSIFIER),
+                    () -> Linear.loadModel(new File(tcModelLocation, MODEL_CLASSIFIER)));
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
         }
     }
 
+    @Override
+    public void destroy()
+    {
+        if (liblinearModel != null) {
+            SharedModelRegistry.release(tcModelLocation, getSharedModelName(MODEL_CLASSIFIER));
+            liblinearModel = null;
+        }
+        super.destroy();
+    }
+
     @Override
     protected File runPrediction(File infile) throws Exception
     {
 
         File tmp = File.createTempFile("libLinearePrediction", ".txt");
-        tmp.deleteOnExit();
 
         LiblinearPredictor predicter = new LiblinearPredictor();
         List<String> predict = predicter.predict(infile, liblinearModel);
@@ -62,4 +80,33 @@ public class LiblinearLoadModelConnector
         return tmp;
     }
 
+    @Override
+    public List<String> runPrediction(List<SparseFeatureVector> vectors) throws Exception
+    {
+        Feature[][] instances = new Feature[vectors.size()][];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = toLiblinearFeatures(vectors.get(i));
+        }
+
+        LiblinearPredictor predicter = new LiblinearPredictor();
+        return predicter.predict(instances, liblinearModel);
+    }
+
+    protected Feature[] toLiblinearFeatures(SparseFeatureVector vector)
+    {
+        // the model was trained with a bias term, which is the last feature node of an instance
+        boolean hasBias = liblinearModel.getBias() >= 0;
+
+        Feature[] features = new Feature[vector.size() + (hasBias ? 1 : 0)];
+        for (int i = 0; i < vector.size(); i++) {
+            features[i] = new FeatureNode(vector.getIndex(i), vector.getValue(i));
+        }
+        if (hasBias) {
+            features[features.length - 1] = new FeatureNode(liblinearModel.getNrFeature() + 1,
+                    liblinearModel.getBias());
+        }
+
+        return features;
+    }
+
 }
\ No newline at end of file
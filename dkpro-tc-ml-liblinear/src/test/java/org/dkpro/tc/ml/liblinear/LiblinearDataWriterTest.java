@@ -68,6 +68,7 @@ public class LiblinearDataWriterTest {
 		LibsvmDataFormatWriter writer = new LibsvmDataFormatWriter();
 		writer.init(outputDirectory, false, Constants.LM_SINGLE_LABEL, Constants.FM_DOCUMENT, false, new String[]{"0", "1"});
 		writer.writeClassifierFormat(fs);
+		writer.close();
 
 		Problem problem = Problem.readFromFile(outputFile, 1.0);
 		assertEquals(2, problem.l);
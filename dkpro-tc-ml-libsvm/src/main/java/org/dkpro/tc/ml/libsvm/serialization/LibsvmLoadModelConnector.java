@@ -25,18 +25,25 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.uima.UimaContext;
 import org.apache.uima.pear.util.FileUtil;
 import org.apache.uima.resource.ResourceInitializationException;
+import org.dkpro.tc.core.ml.SharedModelRegistry;
+import org.dkpro.tc.io.libsvm.serialization.InMemoryPredictor;
 import org.dkpro.tc.io.libsvm.serialization.LibsvmDataFormatLoadModelConnector;
+import org.dkpro.tc.io.libsvm.serialization.SparseFeatureVector;
 import org.dkpro.tc.ml.libsvm.api._Prediction;
 
 import libsvm.svm;
 import libsvm.svm_model;
+import libsvm.svm_node;
 
 public class LibsvmLoadModelConnector
     extends LibsvmDataFormatLoadModelConnector
+    implements InMemoryPredictor
 {
 
     private svm_model model;
@@ -47,8 +54,10 @@ public class LibsvmLoadModelConnector
         super.initialize(context);
 
         try {
-            model = svm
-                    .svm_load_model(new File(tcModelLocation, MODEL_CLASSIFIER).getAbsolutePath());
+            // prediction only reads the model, it is shared with all instances of this model
+            model = SharedModelRegistry.acquire(tcModelLocation,
+                    getSharedModelName(MODEL_CLASSIFIER), () -> svm.svm_load_model(
+                            new File(tcModelLocation, MODEL_CLASSIFIER).getAbsolutePath()));
         }
         catch (Exception e) {
             throw new ResourceInitializationException(e);
@@ -56,11 +65,20 @@ public class LibsvmLoadModelConnector
 
     }
 
+    @Override
+    public void destroy()
+    {
+        if (model != null) {
+            SharedModelRegistry.release(tcModelLocation, getSharedModelName(MODEL_CLASSIFIER));
+            model = null;
+        }
+        super.destroy();
+    }
+
     @Override
     protected File runPrediction(File tempFile) throws Exception
     {
         File prediction = FileUtil.createTempFile("libsvmPrediction", ".libsvm");
-        prediction.deleteOnExit();
 
         _Prediction predictor = new _Prediction();
         try (BufferedReader r = new BufferedReader(
@@ -71,4 +89,21 @@ public class LibsvmLoadModelConnector
 
         return prediction;
     }
+
+    @Override
+    public List<String> runPrediction(List<SparseFeatureVector> vectors) throws Exception
+    {
+        List<String> predictions = new ArrayList<>(vectors.size());
+        for (SparseFeatureVector v : vectors) {
+            svm_node[] x = new svm_node[v.size()];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = new svm_node();
+                x[i].index = v.getIndex(i);
+                x[i].value = v.getValue(i);
+            }
+            // same string representation as written by the file-based prediction
+            predictions.add(String.valueOf(svm.svm_predict(model, x)));
+        }
+        return predictions;
+    }
 }
\ No newline at end of file
@@ -60,7 +60,6 @@ public class SvmhmmLoadModelConnector
         List<String> predictions = predictor.predict(localTestFile, model);
         
         File prediction = FileUtil.createTempFile("svmHmmTmpFile", ".txt");
-        prediction.deleteOnExit();
         FileUtils.writeLines(prediction, UTF_8.toString(), predictions);
 
         FileUtils.deleteQuietly(localModel);
@@ -29,7 +29,11 @@ import java.util.Scanner;
 
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.base.TcPredictor;
+
+import de.tudarmstadt.ukp.dkpro.core.api.resources.PlatformDetector;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 public class VowpalWabbitPredictor
     extends VowpalWabbit
@@ -88,6 +92,43 @@ public class VowpalWabbitPredictor
         return prediction;
     }
 
+    /**
+     * Starts the binary with the provided model in test mode, it keeps the model loaded, reads
+     * examples from stdin and writes one prediction line per example, or per sequence in sequence
+     * mode, to stdout. The executable stays installed until {@link #uninstallExecutable()} is called
+     * after the process has been closed.
+     * 
+     * @param model
+     *            The model to be used
+     * @return The running prediction process
+     * @throws Exception
+     *             In case of errors
+     */
+    public TcPredictionProcess startPredictionProcess(File model) throws Exception
+    {
+        List<String> parameters = new ArrayList<String>();
+        parameters.add("--testonly");
+        parameters.add("--quiet");
+        parameters.add("--initial_regressor");
+        parameters.add(model.getAbsolutePath());
+        parameters.add("--predictions");
+        parameters.add("/dev/stdout");
+
+        return new TcPredictionProcess(
+                assembleCommand(getExecutable(), parameters.toArray(new String[0])), false);
+    }
+
+    /**
+     * The prediction process writes its predictions to <code>/dev/stdout</code>, which does not
+     * exist on Windows. Callers predict from a file via {@link #predict(File, File)} instead.
+     * 
+     * @return true if {@link #startPredictionProcess(File)} can be used on this platform
+     */
+    public static boolean isPredictionProcessSupported()
+    {
+        return !getPlatformDetector().getOs().equals(PlatformDetector.OS_WINDOWS);
+    }
+
     /**
      * Builds a command that can be executed with a {@link ProcessBuilder}, which calls the binary
      * with the provided model
@@ -18,12 +18,9 @@
 
 package org.dkpro.tc.ml.vowpalwabbit.serialization;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,13 +32,13 @@ import java.util.OptionalInt;
 import java.util.Properties;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.LogFactory;
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.fit.descriptor.ExternalResource;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
-import org.apache.uima.pear.util.FileUtil;
 import org.apache.uima.resource.ResourceInitializationException;
 import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
@@ -51,6 +48,7 @@ import org.dkpro.tc.api.type.TextClassificationOutcome;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.ml.ModelSerialization_ImplBase;
 import org.dkpro.tc.core.task.uima.InstanceExtractor;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.model.PreTrainedModelProviderAbstract;
 import org.dkpro.tc.ml.vowpalwabbit.core.VowpalWabbitPredictor;
 import org.dkpro.tc.ml.vowpalwabbit.writer.VowpalWabbitDataWriter;
@@ -75,6 +73,9 @@ public class VowpalWabbitLoadModelConnector
 
     protected String learningMode;
 
+    private VowpalWabbitPredictor predictor;
+    private TcPredictionProcess predictionProcess;
+
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
     {
@@ -148,15 +149,12 @@ public class VowpalWabbitLoadModelConnector
     @Override
     public void process(JCas aJCas) throws AnalysisEngineProcessException
     {
-        File file = null;
-        if (isSequence()) {
-            file = createInputFile(aJCas, true);
-        }
-        else {
-            file = createInputFile(aJCas, false);
+        List<Instance> instances = getInstances(aJCas, isSequence());
+        if (instances.isEmpty()) {
+            return;
         }
 
-        List<String> prediction = runPrediction(file, isSequence());
+        List<String> prediction = runPrediction(instances, isSequence());
 
         List<TextClassificationOutcome> outcomes = getOutcomeAnnotations(aJCas);
 
@@ -182,17 +180,20 @@ public class VowpalWabbitLoadModelConnector
                 JCasUtil.select(aJCas, TextClassificationOutcome.class));
     }
 
-    protected List<String> runPrediction(File tempFile, boolean isSequence)
+    protected List<String> runPrediction(List<Instance> instances, boolean isSequence)
         throws AnalysisEngineProcessException
     {
         List<String> predict = null;
         try {
-            File prediction = FileUtil
-                    .createTempFile("vowpalWabbitPrediction" + System.currentTimeMillis(), ".txt");
-            prediction.deleteOnExit();
+            StringBuilder input = new StringBuilder(1024);
+            int numRecords = writeInput(input, instances, isSequence);
 
-            VowpalWabbitPredictor predictor = new VowpalWabbitPredictor();
-            predict = predictor.predict(tempFile, model);
+            if (VowpalWabbitPredictor.isPredictionProcessSupported()) {
+                predict = getPredictionProcess().predict(input.toString(), numRecords);
+            }
+            else {
+                predict = predictFromFile(input.toString());
+            }
 
             if (isSequence) {
                 List<String> seqPred = new ArrayList<>();
@@ -210,56 +211,144 @@ public class VowpalWabbitLoadModelConnector
         return predict;
     }
 
-    protected File createInputFile(JCas aJCas, boolean isSequenceMod)
+    private List<String> predictFromFile(String input) throws Exception
+    {
+        File data = File.createTempFile("vowpalWabbitInput", ".txt");
+        try {
+            FileUtils.writeStringToFile(data, input, UTF_8);
+            return new VowpalWabbitPredictor().predict(data, model);
+        }
+        finally {
+            FileUtils.deleteQuietly(data);
+        }
+    }
+
+    private TcPredictionProcess getPredictionProcess() throws Exception
+    {
+        if (predictionProcess == null || !predictionProcess.isAlive()) {
+            if (predictor == null) {
+                predictor = new VowpalWabbitPredictor();
+            }
+            predictionProcess = predictor.startPredictionProcess(model);
+        }
+        return predictionProcess;
+    }
+
+    protected List<Instance> getInstances(JCas aJCas, boolean isSequenceMod)
         throws AnalysisEngineProcessException
     {
-        File tempFile = null;
+        List<Instance> instances;
         try {
-            tempFile = FileUtil.createTempFile("vowpalWabbit" + System.currentTimeMillis(), ".txt");
-            tempFile.deleteOnExit();
-
-            try (BufferedWriter bw = new BufferedWriter(
-                    new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8))) {
-
-                InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
-                        false);
-                List<Instance> instances = extractor.getInstances(aJCas, true);
-
-                if (isSequenceMod) {
-                    Collections.sort(instances, new Comparator<Instance>()
-                    {
-
-                        @Override
-                        public int compare(Instance o1, Instance o2)
-                        {
-                            return Integer.compare(o1.getSequenceId(), o2.getSequenceId());
-                        }
-                    });
-                }
+            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
+                    false);
+            instances = extractor.getInstances(aJCas, true);
+        }
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
+        }
 
-                int prevSeqId = -1;
-                for (Instance instance : instances) {
+        if (isSequenceMod) {
+            Collections.sort(instances, new Comparator<Instance>()
+            {
 
-                    if (instance.getSequenceId() != prevSeqId && prevSeqId != -1) {
-                        bw.write("\n");
-                    }
+                @Override
+                public int compare(Instance o1, Instance o2)
+                {
+                    return Integer.compare(o1.getSequenceId(), o2.getSequenceId());
+                }
+            });
+        }
 
-                    bw.write("|");
+        return instances;
+    }
 
-                    for (Feature f : instance.getFeatures()) {
-                        bw.write(" ");
-                        bw.write(f.getName() + ":"
-                                + mapStringValues(f.getType(), f.getValue().toString()));
-                    }
-                    bw.write("\n");
+    /**
+     * Writes the instances in the input format of the binary. In sequence mode, each sequence is
+     * terminated by an empty line as in the training data and yields a single prediction line.
+     * 
+     * @param sb
+     *            the target of the input
+     * @param instances
+     *            the instances of a CAS
+     * @param isSequenceMod
+     *            if the instances are sequences
+     * @return the number of prediction lines the binary answers with
+     */
+    protected int writeInput(StringBuilder sb, List<Instance> instances, boolean isSequenceMod)
+    {
+        int numRecords = 0;
+        int prevSeqId = -1;
+        for (Instance instance : instances) {
+
+            if (isSequenceMod && instance.getSequenceId() != prevSeqId) {
+                if (prevSeqId != -1) {
+                    sb.append("\n");
                 }
+                prevSeqId = instance.getSequenceId();
+                numRecords++;
+            }
+            else if (!isSequenceMod) {
+                numRecords++;
+            }
+
+            sb.append("|");
+
+            for (Feature f : instance.getFeatures()) {
+                sb.append(" ");
+                sb.append(f.getName() + ":"
+                        + mapStringValues(f.getType(), f.getValue().toString()));
             }
+            sb.append("\n");
         }
-        catch (Exception e) {
+
+        if (isSequenceMod) {
+            sb.append("\n");
+        }
+
+        return numRecords;
+    }
+
+    @Override
+    public void collectionProcessComplete() throws AnalysisEngineProcessException
+    {
+        try {
+            shutdownPredictionProcess();
+        }
+        catch (IOException e) {
             throw new AnalysisEngineProcessException(e);
         }
 
-        return tempFile;
+        super.collectionProcessComplete();
+    }
+
+    @Override
+    public void destroy()
+    {
+        // an aborted pipeline never reaches collectionProcessComplete
+        try {
+            shutdownPredictionProcess();
+        }
+        catch (IOException e) {
+            LogFactory.getLog(getClass()).warn("Could not close the VowpalWabbit process", e);
+        }
+
+        super.destroy();
+    }
+
+    private void shutdownPredictionProcess() throws IOException
+    {
+        try {
+            if (predictionProcess != null) {
+                predictionProcess.close();
+            }
+        }
+        finally {
+            predictionProcess = null;
+            if (predictor != null) {
+                predictor.uninstallExecutable();
+                predictor = null;
+            }
+        }
     }
 
     protected String mapStringValues(FeatureType featureType, String value)
@@ -18,17 +18,23 @@ package org.dkpro.tc.ml.vowpalwabbit.core;
  ******************************************************************************/
 
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.uima.pear.util.FileUtil;
+import org.dkpro.tc.ml.base.TcPredictionProcess;
 import org.dkpro.tc.ml.base.TcPredictor;
 import org.dkpro.tc.ml.base.TcTrainer;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -57,6 +63,31 @@ public class VowpalWabbitBackendTest
         predict();
     }
 
+    @Test
+    public void testPredictionProcess() throws Exception
+    {
+        Assume.assumeTrue(VowpalWabbitPredictor.isPredictionProcessSupported());
+
+        train();
+        List<String> expected = new VowpalWabbitPredictor().predict(data, model);
+
+        // each example is sent as a request of its own to the running binary
+        List<String> actual = new ArrayList<>();
+        VowpalWabbitPredictor predictor = new VowpalWabbitPredictor();
+        TcPredictionProcess process = predictor.startPredictionProcess(model);
+        try {
+            for (String example : FileUtils.readLines(data, UTF_8)) {
+                actual.addAll(process.predict(example + "\n", 1));
+            }
+        }
+        finally {
+            process.close();
+            predictor.uninstallExecutable();
+        }
+
+        assertEquals(expected, actual);
+    }
+
     private void predict() throws Exception
     {
         TcPredictor predictor = new VowpalWabbitPredictor();
@@ -215,6 +215,29 @@ public class _eka
     public weka.core.Instance tcInstanceToWekaInstance(Instance instance, Instances trainingData,
             List<String> allClasses, boolean isRegressionExperiment)
         throws Exception
+    {
+        AttributeStore attributeStore = createAttributeStore(trainingData, allClasses,
+                isRegressionExperiment);
+        return tcInstanceToWekaInstance(instance, trainingData, attributeStore);
+    }
+
+    /**
+     * Maps the feature names onto the attributes of the training data header. The store does not
+     * depend on the instance and can be reused for all instances classified with the same model.
+     *
+     * @param trainingData
+     *            the training data header
+     * @param allClasses
+     *            the class labels
+     * @param isRegressionExperiment
+     *            is regression
+     * @return the attribute store
+     * @throws Exception
+     *             an exception
+     */
+    public AttributeStore createAttributeStore(Instances trainingData, List<String> allClasses,
+            boolean isRegressionExperiment)
+        throws Exception
     {
         AttributeStore attributeStore = new AttributeStore();
 
@@ -228,6 +251,24 @@ public class _eka
         Attribute outcomeAttribute = createOutcomeAttribute(allClasses, isRegressionExperiment);
         attributeStore.addAttribute(outcomeAttribute.name(), outcomeAttribute);
 
+        return attributeStore;
+    }
+
+    /**
+     * @param instance
+     *            the instance to convert
+     * @param trainingData
+     *            the training data header the instance belongs to
+     * @param attributeStore
+     *            the attribute store created for this header
+     * @return the Weka instance
+     * @throws Exception
+     *             an exception
+     */
+    public weka.core.Instance tcInstanceToWekaInstance(Instance instance, Instances trainingData,
+            AttributeStore attributeStore)
+        throws Exception
+    {
         double[] featureValues = getFeatureValues(attributeStore, instance);
 
         SparseInstance sparseInstance = new SparseInstance(1.0, featureValues);
@@ -253,7 +294,8 @@ public class _eka
     {
         double[] featureValues = new double[attributeStore.getAttributes().size()];
 
-        for (Feature feature : instance.getFeatures()) {
+        // the values are initialized with zero, zero-valued default features can be skipped
+        for (Feature feature : instance.getSparseFeatures()) {
 
             try {
                 Attribute attribute = attributeStore.getAttribute(feature.getName());
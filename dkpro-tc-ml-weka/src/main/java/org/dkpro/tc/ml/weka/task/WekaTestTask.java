@@ -18,11 +18,15 @@
  */
 package org.dkpro.tc.ml.weka.task;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -44,9 +48,11 @@ import meka.core.Result;
 import meka.core.ThresholdUtils;
 import weka.classifiers.Classifier;
 import weka.classifiers.Evaluation;
+import weka.core.AbstractInstance;
 import weka.core.Attribute;
 import weka.core.Instances;
-import weka.core.SelectedTag;
+import weka.core.SparseInstance;
+import weka.core.Utils;
 import weka.core.converters.ConverterUtils.DataSink;
 import weka.filters.Filter;
 import weka.filters.unsupervised.attribute.Add;
@@ -104,7 +110,9 @@ public class WekaTestTask
                 learningMode);
         testData = harmonizer.harmonize();
 
-        Instances copyTestData = new Instances(testData);
+        // single-label predictions are streamed and only need the ids, not a copy of the data
+        Instances copyTestData = multiLabel ? new Instances(testData) : null;
+        List<String> instanceIds = multiLabel ? null : getInstanceIds(testData);
         trainData = _eka.removeInstanceId(trainData, multiLabel);
         testData = _eka.removeInstanceId(testData, multiLabel);
 
@@ -130,9 +138,11 @@ public class WekaTestTask
             writeMlResultToFile(
                     new MultilabelResult(r.allTrueValues(), r.allPredictions(), threshold),
                     evalOutput);
-            testData = getPredictionInstancesMultiLabel(testData, cl,
+            testData = getPredictionInstancesMultiLabel(testData, r.allPredictions(),
                     getMekaThreshold(threshold, r, trainData));
             testData = _eka.addInstanceId(testData, copyTestData, true);
+
+            writePredictions(aContext, testData);
         }
         else {
 
@@ -140,12 +150,17 @@ public class WekaTestTask
             Classifier classifier = trainer.train(trainData, model,
                     getParameters(classificationArguments));
 
-            createWekaEvaluationObject(classifier, evalOutput, trainData, testData);
+            double[] predictions = createWekaEvaluationObject(classifier, evalOutput, trainData,
+                    testData);
 
-            testData = getPredictionInstancesSingleLabel(testData, classifier);
-            testData = _eka.addInstanceId(testData, copyTestData, false);
+            File predictionFile = getFile(aContext, "", Constants.FILENAME_PREDICTIONS,
+                    AccessMode.READWRITE);
+            writePredictionsSingleLabel(predictionFile, testData, instanceIds, predictions);
         }
+    }
 
+    private void writePredictions(TaskContext aContext, Instances testData) throws Exception
+    {
         // Write out the prediction - the data sink expects an .arff ending file so we game it a bit
         // and rename the file afterwards to .txt
         File predictionFile = getFile(aContext, "", Constants.FILENAME_PREDICTIONS,
@@ -155,15 +170,39 @@ public class WekaTestTask
         FileUtils.moveFile(arffDummy, predictionFile);
     }
 
-    protected void createWekaEvaluationObject(Classifier classifier, File evalOutput,
+    /**
+     * Classifies each test instance exactly once, the prediction is recorded in the evaluation
+     * object and returned for writing the prediction file.
+     */
+    protected double[] createWekaEvaluationObject(Classifier classifier, File evalOutput,
             Instances trainData, Instances testData)
         throws Exception
     {
         Evaluation eval = new Evaluation(trainData);
-        eval.evaluateModel(classifier, testData);
+
+        double[] predictions = new double[testData.numInstances()];
+        for (int i = 0; i < predictions.length; i++) {
+            predictions[i] = eval.evaluateModelOnceAndRecordPrediction(classifier,
+                    testData.instance(i));
+        }
 
         weka.core.SerializationHelper.write(evalOutput.getAbsolutePath(), eval);
 
+        return predictions;
+    }
+
+    private List<String> getInstanceIds(Instances data)
+    {
+        Attribute idAttribute = data.attribute(Constants.ID_FEATURE_NAME);
+        if (idAttribute == null) {
+            return null;
+        }
+
+        List<String> ids = new ArrayList<>(data.numInstances());
+        for (int i = 0; i < data.numInstances(); i++) {
+            ids.add(data.instance(i).stringValue(idAttribute));
+        }
+        return ids;
     }
 
     protected List<String> getParameters(List<Object> classificationArguments)
@@ -177,39 +216,98 @@ public class WekaTestTask
         return o;
     }
 
-    public Instances getPredictionInstancesSingleLabel(Instances testData, Classifier cl)
-        throws Exception
+    /**
+     * Writes the test data in ARFF format with the instance id as first and the prediction as
+     * last attribute. The rows are written one by one from the test instances, which avoids
+     * copying the whole data set for adding the two attributes.
+     * 
+     * @param predictionFile
+     *            the target file
+     * @param testData
+     *            the test data without instance ids
+     * @param instanceIds
+     *            the instance ids in the order of the test data or null if there are none
+     * @param predictions
+     *            the predicted class values
+     * @throws IOException
+     *             in case of an error
+     */
+    public static void writePredictionsSingleLabel(File predictionFile, Instances testData,
+            List<String> instanceIds, double[] predictions)
+        throws IOException
     {
-
-        StringBuffer classVals = new StringBuffer();
-        for (int i = 0; i < testData.classAttribute().numValues(); i++) {
-            if (classVals.length() > 0) {
-                classVals.append(",");
+        Attribute classAttribute = testData.classAttribute();
+        Attribute predictionAttribute;
+        if (classAttribute.isNominal()) {
+            List<String> classValues = new ArrayList<>();
+            for (int i = 0; i < classAttribute.numValues(); i++) {
+                classValues.add(classAttribute.value(i));
             }
-            classVals.append(testData.classAttribute().value(i));
+            predictionAttribute = new Attribute(PREDICTION_CLASS_LABEL_NAME, classValues);
         }
-
-        // get predictions
-        List<Double> labelPredictionList = new ArrayList<Double>();
-        for (int i = 0; i < testData.size(); i++) {
-            labelPredictionList.add(cl.classifyInstance(testData.instance(i)));
+        else {
+            predictionAttribute = new Attribute(PREDICTION_CLASS_LABEL_NAME);
         }
 
-        // add an attribute with the predicted values at the end off the attributes
-        Add filter = new Add();
-        filter.setAttributeName(WekaTestTask.PREDICTION_CLASS_LABEL_NAME);
-        if (classVals.length() > 0) {
-            filter.setAttributeType(new SelectedTag(Attribute.NOMINAL, Add.TAGS_TYPE));
-            filter.setNominalLabels(classVals.toString());
-        }
-        filter.setInputFormat(testData);
-        testData = Filter.useFilter(testData, filter);
+        int shift = instanceIds != null ? 1 : 0;
+        int predictionIndex = testData.numAttributes() + shift;
+        int decimals = AbstractInstance.s_numericAfterDecimalPoint;
 
-        // fill predicted values for each instance
-        for (int i = 0; i < labelPredictionList.size(); i++) {
-            testData.instance(i).setValue(testData.classIndex() + 1, labelPredictionList.get(i));
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(predictionFile), UTF_8))) {
+
+            writer.write(Instances.ARFF_RELATION + " " + Utils.quote(testData.relationName()));
+            writer.write("\n\n");
+            if (instanceIds != null) {
+                writer.write(new Attribute(Constants.ID_FEATURE_NAME, (List<String>) null)
+                        .toString());
+                writer.write("\n");
+            }
+            for (int i = 0; i < testData.numAttributes(); i++) {
+                writer.write(testData.attribute(i).toString());
+                writer.write("\n");
+            }
+            writer.write(predictionAttribute.toString());
+            writer.write("\n\n" + Instances.ARFF_DATA + "\n");
+
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < testData.numInstances(); i++) {
+                weka.core.Instance instance = testData.instance(i);
+                String prediction = Utils.isMissingValue(predictions[i]) ? "?"
+                        : predictionAttribute.isNominal()
+                                ? Utils.quote(predictionAttribute.value((int) predictions[i]))
+                                : Utils.doubleToString(predictions[i], decimals);
+
+                row.setLength(0);
+                if (instance instanceof SparseInstance) {
+                    row.append("{");
+                    if (instanceIds != null) {
+                        row.append("0 ").append(Utils.quote(instanceIds.get(i))).append(",");
+                    }
+                    for (int k = 0; k < instance.numValues(); k++) {
+                        int index = instance.index(k);
+                        row.append(index + shift).append(" ").append(instance.toString(index))
+                                .append(",");
+                    }
+                    row.append(predictionIndex).append(" ").append(prediction).append("}");
+                }
+                else {
+                    if (instanceIds != null) {
+                        row.append(Utils.quote(instanceIds.get(i))).append(",");
+                    }
+                    for (int j = 0; j < instance.numAttributes(); j++) {
+                        row.append(instance.toString(j)).append(",");
+                    }
+                    row.append(prediction);
+                }
+                if (instance.weight() != 1.0) {
+                    row.append(",{").append(Utils.doubleToString(instance.weight(), decimals))
+                            .append("}");
+                }
+                row.append("\n");
+                writer.write(row.toString());
+            }
         }
-        return testData;
     }
 
     protected Result getEvaluationMultilabel(Classifier cl, Instances trainData, Instances testData,
@@ -234,17 +332,14 @@ public class WekaTestTask
         }
     }
 
-    private Instances getPredictionInstancesMultiLabel(Instances testData, Classifier cl,
-            double[] thresholdArray)
+    private Instances getPredictionInstancesMultiLabel(Instances testData,
+            double[][] predictions, double[] thresholdArray)
         throws Exception
     {
         int numLabels = testData.classIndex();
 
-        // get predictions
-        List<double[]> labelPredictionList = new ArrayList<double[]>();
-        for (int i = 0; i < testData.numInstances(); i++) {
-            labelPredictionList.add(cl.distributionForInstance(testData.instance(i)));
-        }
+        // the predictions were recorded during the evaluation
+        List<double[]> labelPredictionList = Arrays.asList(predictions);
 
         // add attributes to store predictions in test data
         Add filter = new Add();
@@ -27,13 +27,11 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.log4j.Logger;
 import org.apache.uima.UimaContext;
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
@@ -46,6 +44,7 @@ import org.dkpro.tc.api.features.Feature;
 import org.dkpro.tc.api.features.FeatureExtractorResource_ImplBase;
 import org.dkpro.tc.api.features.Instance;
 import org.dkpro.tc.api.type.TextClassificationOutcome;
+import org.dkpro.tc.api.type.TextClassificationTarget;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.ml.ModelSerialization_ImplBase;
 import org.dkpro.tc.core.ml.TcShallowLearningAdapter;
@@ -55,10 +54,12 @@ import org.dkpro.tc.ml.weka.core._eka;
 import org.dkpro.tc.ml.weka.util.AttributeStore;
 import org.dkpro.tc.ml.weka.writer.WekaDataWriter;
 
+import weka.classifiers.BatchPredictor;
 import weka.classifiers.Classifier;
 import weka.core.Attribute;
 import weka.core.Instances;
 import weka.core.SparseInstance;
+import weka.core.Utils;
 public class WekaLoadModelConnector
     extends ModelSerialization_ImplBase
     implements Constants
@@ -79,10 +80,13 @@ public class WekaLoadModelConnector
     private Classifier cls;
     private Instances trainingData;
     private List<String> classLabels;
+    private AttributeStore attributeStore;
+    private InstanceExtractor extractor;
+    private _eka converter;
 
     boolean useSparse = false;
 
-    private String bipartitionThreshold;
+    private double threshold;
 
     @Override
     public void initialize(UimaContext context) throws ResourceInitializationException
@@ -92,7 +96,7 @@ public class WekaLoadModelConnector
         try {
             TcShallowLearningAdapter initMachineLearningAdapter = initMachineLearningAdapter(
                     tcModelLocation);
-            bipartitionThreshold = initBipartitionThreshold(tcModelLocation);
+            threshold = Double.valueOf(initBipartitionThreshold(tcModelLocation));
             useSparse = initMachineLearningAdapter.useSparseFeatures();
 
             loadClassifier();
@@ -100,6 +104,9 @@ public class WekaLoadModelConnector
             if (!learningMode.equals(Constants.LM_REGRESSION)) {
                 loadClassLabels();
             }
+            converter = new _eka();
+            attributeStore = createAttributeStore();
+            extractor = new InstanceExtractor(featureMode, featureExtractors, false);
 
             verifyTcVersion(tcModelLocation, getClass());
             writeFeatureMode(tcModelLocation, featureMode);
@@ -138,6 +145,18 @@ public class WekaLoadModelConnector
                 new FileInputStream(new File(tcModelLocation, "training_data")));
         trainingData = (Instances) inT.readObject();
         inT.close();
+
+        // only the header is needed, models of older versions might still contain instances
+        trainingData.delete();
+    }
+
+    private AttributeStore createAttributeStore() throws Exception
+    {
+        if (learningMode.equals(Constants.LM_MULTI_LABEL)) {
+            return createMekaAttributeStore(trainingData, classLabels);
+        }
+        return converter.createAttributeStore(trainingData, classLabels,
+                learningMode.equals(Constants.LM_REGRESSION));
     }
 
     private void loadClassifier() throws Exception
@@ -149,153 +168,202 @@ public class WekaLoadModelConnector
     @Override
     public void process(JCas jcas) throws AnalysisEngineProcessException
     {
+        List<Instance> instances = extractor.getInstances(jcas, useSparse);
+        if (instances.isEmpty()) {
+            return;
+        }
 
-        Instance instance = null;
-        try {
+        boolean isMultiLabel = learningMode.equals(Constants.LM_MULTI_LABEL);
 
-            InstanceExtractor extractor = new InstanceExtractor(featureMode, featureExtractors,
-                    false);
-            List<Instance> instances = extractor.getInstances(jcas, useSparse);
-            instance = instances.get(0);
+        double[][] distributions;
+        Instances wekaInstances;
+        try {
+            wekaInstances = toWekaInstances(instances, isMultiLabel);
+            distributions = isMultiLabel ? distributionsForInstances(wekaInstances) : null;
         }
-        catch (Exception e1) {
-            throw new AnalysisEngineProcessException(e1);
+        catch (Exception e) {
+            throw new AnalysisEngineProcessException(e);
         }
 
-        boolean isMultiLabel = learningMode.equals(Constants.LM_MULTI_LABEL);
-        boolean isRegression = learningMode.equals(Constants.LM_REGRESSION);
-
         if (!isMultiLabel) {
             // single-label
-            weka.core.Instance wekaInstance = null;
-            try {
-                wekaInstance = new _eka().tcInstanceToWekaInstance(instance, trainingData,
-                        classLabels, isRegression);
-            }
-            catch (Exception e) {
-                throw new AnalysisEngineProcessException(e);
+            List<TextClassificationOutcome> outcomes = new ArrayList<>(
+                    JCasUtil.select(jcas, TextClassificationOutcome.class));
+            if (outcomes.size() != instances.size()) {
+                throw new IllegalStateException("Expected [" + instances.size()
+                        + "] TC outcomes but found [" + outcomes.size() + "]");
             }
 
-            Object val = null;
+            List<String> predictions;
             try {
-                if (!isRegression) {
-                    val = classLabels.get((int) cls.classifyInstance(wekaInstance));
-                }
-                else {
-                    val = cls.classifyInstance(wekaInstance);
-                }
+                predictions = classifyInstances(wekaInstances);
             }
             catch (Exception e) {
                 throw new AnalysisEngineProcessException(e);
             }
 
-            TextClassificationOutcome outcome = getOutcome(jcas);
-            outcome.setOutcome(val.toString());
+            for (int i = 0; i < outcomes.size(); i++) {
+                outcomes.get(i).setOutcome(predictions.get(i));
+            }
         }
         else {
             // multi-label
-            weka.core.Instance mekaInstance = null;
-            try {
-                mekaInstance = tcInstanceToMekaInstance(instance, trainingData,
-                        classLabels);
+            if (FM_DOCUMENT.equals(featureMode) || FM_PAIR.equals(featureMode)) {
+                setMultiLabelOutcomes(jcas, distributions[0], wekaInstances,
+                        new ArrayList<>(JCasUtil.select(jcas, TextClassificationOutcome.class)),
+                        null);
             }
-            catch (Exception e) {
-                throw new AnalysisEngineProcessException(e);
+            else {
+                List<TextClassificationTarget> targets = new ArrayList<>(
+                        JCasUtil.select(jcas, TextClassificationTarget.class));
+                for (int i = 0; i < targets.size(); i++) {
+                    TextClassificationTarget target = targets.get(i);
+                    setMultiLabelOutcomes(jcas, distributions[i], wekaInstances,
+                            JCasUtil.selectCovered(jcas, TextClassificationOutcome.class, target),
+                            target);
+                }
             }
+        }
+    }
 
-            double[] vals = null;
-            try {
-                vals = cls.distributionForInstance(mekaInstance);
-            }
-            catch (Exception e) {
-                throw new AnalysisEngineProcessException(e);
+    private Instances toWekaInstances(List<Instance> instances, boolean isMultiLabel)
+        throws Exception
+    {
+        Instances wekaInstances = new Instances(trainingData, instances.size());
+        for (Instance instance : instances) {
+            weka.core.Instance wekaInstance;
+            if (isMultiLabel) {
+                wekaInstance = tcInstanceToMekaInstance(instance, trainingData);
             }
-            List<String> outcomes = new ArrayList<String>();
-            for (int i = 0; i < vals.length; i++) {
-                if (vals[i] >= Double.valueOf(bipartitionThreshold)) {
-                    String label = mekaInstance.attribute(i).name()
-                            .split(WekaDataWriter.CLASS_ATTRIBUTE_PREFIX)[1];
-                    outcomes.add(label);
-                }
+            else {
+                wekaInstance = converter.tcInstanceToWekaInstance(instance, trainingData,
+                        attributeStore);
             }
+            wekaInstances.add(wekaInstance);
+        }
+        return wekaInstances;
+    }
 
-            // TextClassificationFocus focus = null;
-            if (FM_DOCUMENT.equals(featureMode) || FM_PAIR.equals(featureMode)) {
-                Collection<TextClassificationOutcome> oldOutcomes = JCasUtil.select(jcas,
-                        TextClassificationOutcome.class);
-                List<Annotation> annotationsList = new ArrayList<Annotation>();
-                for (TextClassificationOutcome oldOutcome : oldOutcomes) {
-                    annotationsList.add(oldOutcome);
+    /**
+     * Classifies all instances of a CAS at once, classifiers that predict batches more efficiently
+     * than single instances receive the whole batch.
+     */
+    private List<String> classifyInstances(Instances wekaInstances) throws Exception
+    {
+        boolean isRegression = learningMode.equals(Constants.LM_REGRESSION);
+
+        List<String> predictions = new ArrayList<>(wekaInstances.numInstances());
+        if (isBatchPredictor()) {
+            double[][] distributions = ((BatchPredictor) cls)
+                    .distributionsForInstances(wekaInstances);
+            for (double[] distribution : distributions) {
+                if (isRegression) {
+                    predictions.add(Double.toString(distribution[0]));
                 }
-                for (Annotation annotation : annotationsList) {
-                    annotation.removeFromIndexes();
+                else {
+                    predictions.add(classLabels.get(Utils.maxIndex(distribution)));
                 }
             }
+            return predictions;
+        }
+
+        for (int i = 0; i < wekaInstances.numInstances(); i++) {
+            double val = cls.classifyInstance(wekaInstances.instance(i));
+            if (isRegression) {
+                predictions.add(Double.toString(val));
+            }
             else {
-                TextClassificationOutcome annotation = getOutcome(jcas);
-                annotation.removeFromIndexes();
-                // focus = JCasUtil.selectSingle(jcas, TextClassificationFocus.class);
+                predictions.add(classLabels.get((int) val));
             }
-            if (outcomes.size() > 0) {
-                TextClassificationOutcome newOutcome = new TextClassificationOutcome(jcas);
-                newOutcome.setOutcome(outcomes.get(0));
-                newOutcome.addToIndexes();
+        }
+        return predictions;
+    }
+
+    private double[][] distributionsForInstances(Instances wekaInstances) throws Exception
+    {
+        if (isBatchPredictor()) {
+            return ((BatchPredictor) cls).distributionsForInstances(wekaInstances);
+        }
+
+        double[][] distributions = new double[wekaInstances.numInstances()][];
+        for (int i = 0; i < distributions.length; i++) {
+            distributions[i] = cls.distributionForInstance(wekaInstances.instance(i));
+        }
+        return distributions;
+    }
+
+    private boolean isBatchPredictor()
+    {
+        return cls instanceof BatchPredictor
+                && ((BatchPredictor) cls).implementsMoreEfficientBatchPrediction();
+    }
+
+    /**
+     * Replaces the given outcome annotations with one annotation per label whose probability
+     * reaches the bipartition threshold. New annotations span the target, or nothing in document
+     * and pair mode.
+     */
+    private void setMultiLabelOutcomes(JCas jcas, double[] vals, Instances wekaInstances,
+            List<TextClassificationOutcome> oldOutcomes, TextClassificationTarget target)
+    {
+        List<String> outcomes = new ArrayList<String>();
+        for (int i = 0; i < vals.length; i++) {
+            if (vals[i] >= threshold) {
+                String label = wekaInstances.attribute(i).name()
+                        .split(WekaDataWriter.CLASS_ATTRIBUTE_PREFIX)[1];
+                outcomes.add(label);
             }
-            if (outcomes.size() > 1) {
-                // add more outcome annotations
-                try {
-
-                    for (int i = 1; i < outcomes.size(); i++) {
-                        TextClassificationOutcome newOutcome = new TextClassificationOutcome(jcas);
-                        newOutcome.setOutcome(outcomes.get(i));
-                        newOutcome.addToIndexes();
-                    }
-                }
-                catch (Exception ex) {
-                    String msg = "Error while trying to retrieve TC focus from CAS. Details: "
-                            + ex.getMessage();
-                    Logger.getLogger(getClass()).error(msg, ex);
-                    throw new RuntimeException(msg, ex);
-                }
+        }
+
+        if (target != null && oldOutcomes.size() != 1) {
+            throw new IllegalStateException("There should be exactly one TC outcome");
+        }
+        for (Annotation annotation : new ArrayList<>(oldOutcomes)) {
+            annotation.removeFromIndexes();
+        }
+
+        for (String outcome : outcomes) {
+            TextClassificationOutcome newOutcome = new TextClassificationOutcome(jcas);
+            if (target != null) {
+                newOutcome.setBegin(target.getBegin());
+                newOutcome.setEnd(target.getEnd());
             }
+            newOutcome.setOutcome(outcome);
+            newOutcome.addToIndexes();
         }
     }
 
-    private TextClassificationOutcome getOutcome(JCas jcas)
+    private AttributeStore createMekaAttributeStore(Instances trainingData,
+            List<String> allClassLabels)
+        throws Exception
     {
-        List<TextClassificationOutcome> outcomes = new ArrayList<>(
-                JCasUtil.select(jcas, TextClassificationOutcome.class));
-        if (outcomes.size() != 1) {
-            throw new IllegalStateException("There should be exactly one TC outcome");
+        AttributeStore attributeStore = new AttributeStore();
+        List<Attribute> outcomeAttributes = createOutcomeAttributes(allClassLabels);
+
+        // in Meka, class label attributes have to go on top
+        for (Attribute attribute : outcomeAttributes) {
+            attributeStore.addAttributeAtBegin(attribute.name(), attribute);
         }
 
-        return outcomes.get(0);
+        for (int i = outcomeAttributes.size(); i < trainingData.numAttributes(); i++) {
+            attributeStore.addAttribute(trainingData.attribute(i).name(),
+                    trainingData.attribute(i));
+        }
+        trainingData.setClassIndex(outcomeAttributes.size());
+
+        return attributeStore;
     }
-    
+
     private weka.core.Instance tcInstanceToMekaInstance(Instance instance,
-          Instances trainingData, List<String> allClassLabels)
-      throws Exception
-  {
-      AttributeStore attributeStore = new AttributeStore();
-      List<Attribute> outcomeAttributes = createOutcomeAttributes(allClassLabels);
-
-      // in Meka, class label attributes have to go on top
-      for (Attribute attribute : outcomeAttributes) {
-          attributeStore.addAttributeAtBegin(attribute.name(), attribute);
-      }
-
-      for (int i = outcomeAttributes.size(); i < trainingData.numAttributes(); i++) {
-          attributeStore.addAttribute(trainingData.attribute(i).name(),
-                  trainingData.attribute(i));
-      }
-
-      double[] featureValues = getFeatureValues(attributeStore, instance);
-
-      SparseInstance sparseInstance = new SparseInstance(1.0, featureValues);
-      trainingData.setClassIndex(outcomeAttributes.size());
-      sparseInstance.setDataset(trainingData);
-      return sparseInstance;
-  }
+            Instances trainingData)
+        throws Exception
+    {
+        double[] featureValues = getFeatureValues(attributeStore, instance);
+
+        SparseInstance sparseInstance = new SparseInstance(1.0, featureValues);
+        sparseInstance.setDataset(trainingData);
+        return sparseInstance;
+    }
     
    
     private   List<Attribute> createOutcomeAttributes(List<String> outcomeValues)
@@ -316,7 +384,8 @@ public class WekaLoadModelConnector
     {
         double[] featureValues = new double[attributeStore.getAttributes().size()];
 
-        for (Feature feature : instance.getFeatures()) {
+        // the values are initialized with zero, zero-valued default features can be skipped
+        for (Feature feature : instance.getSparseFeatures()) {
 
             try {
                 Attribute attribute = attributeStore.getAttribute(feature.getName());
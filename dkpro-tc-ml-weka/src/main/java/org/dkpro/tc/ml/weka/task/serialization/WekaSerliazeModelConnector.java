@@ -153,12 +153,11 @@ public class WekaSerliazeModelConnector
             }
         }
 
-        // write training data header
+        // write training data header, the copy shares the attributes but none of the instances
         ObjectOutputStream outT = new ObjectOutputStream(
                 new FileOutputStream(new File(outputFolder, "training_data")));
-        Instances emptyTrainCopy = new Instances(trainData);
-        emptyTrainCopy.delete();
-        outT.writeObject(emptyTrainCopy);
+        Instances header = new Instances(trainData, 0);
+        outT.writeObject(header);
         outT.close();
 
         // write model file
@@ -25,11 +25,13 @@ import java.util.Map.Entry;
 
 import weka.core.Attribute;
 import org.dkpro.tc.api.exception.TextClassificationException;
+import org.dkpro.tc.api.features.FeatureVocabulary;
 
 /**
  * Data structure that stores a collection of Weka attributes.
  */
 public class AttributeStore
+    implements FeatureVocabulary
 {
 
     private ArrayList<Attribute> attributes;
@@ -75,6 +77,12 @@ public class AttributeStore
         return nameOffsetMap.containsKey(name);
     }
 
+    @Override
+    public boolean contains(String featureName)
+    {
+        return containsAttributeName(featureName);
+    }
+
     public int size()
     {
         return attributes.size();
@@ -92,13 +100,24 @@ public class AttributeStore
 
     public int getAttributeOffset(String name)
     {
-        if (!nameOffsetMap.containsKey(name)) {
+        int offset = indexOf(name);
+        if (offset == -1) {
             System.err.println("No entry for: " + name);
-            return -1;
         }
-        else {
-            return nameOffsetMap.get(name);
+        return offset;
+    }
 
-        }
+    /**
+     * Looks up the offset of an attribute without reporting unknown names, which is the common
+     * case when features of the test data are mapped onto the training attributes.
+     * 
+     * @param name
+     *            the attribute name
+     * @return the offset of the attribute or -1 if there is no attribute with this name
+     */
+    public int indexOf(String name)
+    {
+        Integer offset = nameOffsetMap.get(name);
+        return offset != null ? offset : -1;
     }
 }
@@ -174,65 +174,102 @@ public class WekaDataWriter
     {
         double[] featureValues = new double[attributeStore.getAttributes().size()];
 
-        for (Feature feature : instance.getFeatures()) {
+        // values are initialized with zero, zero default features need not be filled in
+        for (Feature feature : instance.getSparseFeatures()) {
+            int offset = attributeStore.indexOf(feature.getName());
+            if (offset == -1) {
+                logger.debug("Feature name [" + feature.getName() + "] unknown - ignored");
+                continue;
+            }
+            featureValues[offset] = getAttributeValue(attributeStore.getAttributes().get(offset),
+                    feature);
+        }
+        return featureValues;
+    }
 
-            try {
-                Attribute attribute = attributeStore.getAttribute(feature.getName());
-                Object featureValue = feature.getValue();
+    /**
+     * Builds the sparse instance directly from the non-default features of the instance without
+     * materializing a dense vector over all attributes. Unknown features are skipped, if a feature
+     * name occurs more than once the last value wins as in the dense representation.
+     */
+    SparseInstance getSparseInstance(AttributeStore attributeStore, Instance instance)
+    {
+        Collection<Feature> features = instance.getSparseFeatures();
+        double[] values = new double[features.size()];
+        // attribute offset in the upper, feature position in the lower bits, sorting yields
+        // ascending offsets as required by SparseInstance and keeps the feature order for ties
+        long[] order = new long[features.size()];
+
+        int n = 0;
+        for (Feature feature : features) {
+            int offset = attributeStore.indexOf(feature.getName());
+            if (offset == -1) {
+                logger.debug("Feature name [" + feature.getName() + "] unknown - ignored");
+                continue;
+            }
+            values[n] = getAttributeValue(attributeStore.getAttributes().get(offset), feature);
+            order[n] = ((long) offset << 32) | n;
+            n++;
+        }
+        Arrays.sort(order, 0, n);
+
+        int[] indices = new int[n];
+        double[] sparseValues = new double[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            int offset = (int) (order[i] >>> 32);
+            double value = values[(int) order[i]];
+            if (i + 1 < n && (int) (order[i + 1] >>> 32) == offset) {
+                continue;
+            }
+            if (value != 0) {
+                indices[size] = offset;
+                sparseValues[size] = value;
+                size++;
+            }
+        }
 
-                double attributeValue;
-                if (feature.getType() == FeatureType.NUMERIC) {
-                    // numeric attribute
-                    attributeValue = ((Number) feature.getValue()).doubleValue();
-                }
-                else if (feature.getType() == FeatureType.BOOLEAN) {
-                    // boolean attribute
-                    if (featureValue instanceof Boolean) {
-                        // value is provided as true/false value
-                        attributeValue = (Boolean) featureValue ? 1.0d : 0.0d;
-                    }
-                    else {
-                        // we already have numerical values
-                        if (featureValue instanceof Double) {
-                            attributeValue = (Double) featureValue;
-                        }
-                        else {
-                            attributeValue = ((Integer) featureValue).doubleValue();
-                        }
-                    }
-                }
-                else {
-                    // nominal or string
-                    Object stringValue = feature.getValue();
-                    if (!attribute.isNominal() && !attribute.isString()) {
-                        throw new IllegalArgumentException(
-                                "Attribute neither nominal nor string: " + stringValue);
-                    }
-
-                    int valIndex = attribute.indexOfValue(stringValue.toString());
-                    if (valIndex == -1) {
-                        if (attribute.isNominal()) {
-                            throw new IllegalArgumentException(
-                                    "Value not defined for given nominal attribute!");
-                        }
-                        else {
-                            attribute.addStringValue(stringValue.toString());
-                            valIndex = attribute.indexOfValue(stringValue.toString());
-                        }
-                    }
-                    attributeValue = valIndex;
-                }
-                int offset = attributeStore.getAttributeOffset(attribute.name());
+        return new SparseInstance(1.0, Arrays.copyOf(sparseValues, size),
+                Arrays.copyOf(indices, size), attributeStore.size());
+    }
 
-                if (offset != -1) {
-                    featureValues[offset] = attributeValue;
-                }
+    private double getAttributeValue(Attribute attribute, Feature feature)
+    {
+        Object featureValue = feature.getValue();
+
+        if (feature.getType() == FeatureType.NUMERIC) {
+            // numeric attribute
+            return ((Number) featureValue).doubleValue();
+        }
+        else if (feature.getType() == FeatureType.BOOLEAN) {
+            // boolean attribute
+            if (featureValue instanceof Boolean) {
+                // value is provided as true/false value
+                return (Boolean) featureValue ? 1.0d : 0.0d;
             }
-            catch (NullPointerException e) {
-                logger.debug("Feature name [" + feature.getName() + "] unknown - ignored");
+            // we already have numerical values
+            if (featureValue instanceof Double) {
+                return (Double) featureValue;
             }
+            return ((Integer) featureValue).doubleValue();
         }
-        return featureValues;
+
+        // nominal or string
+        if (!attribute.isNominal() && !attribute.isString()) {
+            throw new IllegalArgumentException(
+                    "Attribute neither nominal nor string: " + featureValue);
+        }
+
+        int valIndex = attribute.indexOfValue(featureValue.toString());
+        if (valIndex == -1) {
+            if (attribute.isNominal()) {
+                throw new IllegalArgumentException(
+                        "Value not defined for given nominal attribute!");
+            }
+            attribute.addStringValue(featureValue.toString());
+            valIndex = attribute.indexOfValue(featureValue.toString());
+        }
+        return valIndex;
     }
 
     @Override
@@ -249,15 +286,13 @@ public class WekaDataWriter
             // wekaInstances.setClass(outcomeAttribute);
 
             for (Instance inst : instances) {
-                double[] featureValues = getFeatureValues(attributeStore, inst);
-
                 weka.core.Instance wekaInstance;
 
                 if (useSparse) {
-                    wekaInstance = new SparseInstance(1.0, featureValues);
+                    wekaInstance = getSparseInstance(attributeStore, inst);
                 }
                 else {
-                    wekaInstance = new DenseInstance(1.0, featureValues);
+                    wekaInstance = new DenseInstance(1.0, getFeatureValues(attributeStore, inst));
                 }
 
                 wekaInstance.setDataset(masterInstance);
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.weka.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dkpro.tc.core.Constants;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SparseInstance;
+import weka.core.Utils;
+import weka.core.converters.ArffLoader;
+
+public class WekaTestTaskTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWritePredictionsSingleLabel() throws Exception
+    {
+        Instances testData = createTestData(new Attribute("outcome", Arrays.asList("x", "y")));
+        testData.add(new DenseInstance(1.0, new double[] { 0.5, 1, 0 }));
+        testData.add(new SparseInstance(1.0, new double[] { 0.0, 0, 1 }));
+        testData.add(new DenseInstance(2.5, new double[] { 1.5, 0, 1 }));
+        testData.add(new SparseInstance(0.5, new double[] { 3.0, 1, 0 }));
+
+        List<String> ids = Arrays.asList("0_0", "0_1", "doc 2", "doc,3");
+        double[] predictions = new double[] { 1, 0, 0, Utils.missingValue() };
+
+        File predictionFile = folder.newFile(Constants.FILENAME_PREDICTIONS);
+        WekaTestTask.writePredictionsSingleLabel(predictionFile, testData, ids, predictions);
+
+        Instances written = load(predictionFile);
+
+        assertEquals(testData.numAttributes() + 2, written.numAttributes());
+        assertEquals(Constants.ID_FEATURE_NAME, written.attribute(0).name());
+        assertTrue(written.attribute(0).isString());
+        Attribute prediction = written.attribute(written.numAttributes() - 1);
+        assertEquals(Constants.PREDICTION_CLASS_LABEL_NAME, prediction.name());
+        assertTrue(prediction.isNominal());
+        assertEquals(testData.numInstances(), written.numInstances());
+
+        for (int i = 0; i < written.numInstances(); i++) {
+            weka.core.Instance expected = testData.instance(i);
+            weka.core.Instance actual = written.instance(i);
+
+            assertEquals(ids.get(i), actual.stringValue(0));
+            assertEquals(expected.weight(), actual.weight(), 0.0);
+            for (int j = 0; j < testData.numAttributes(); j++) {
+                assertEquals(expected.value(j), actual.value(j + 1), 0.0);
+            }
+        }
+
+        assertEquals("y", written.instance(0).stringValue(prediction));
+        assertEquals("x", written.instance(1).stringValue(prediction));
+        assertEquals("x", written.instance(2).stringValue(prediction));
+        assertTrue(written.instance(3).isMissing(prediction));
+    }
+
+    @Test
+    public void testWritePredictionsRegressionWithoutIds() throws Exception
+    {
+        Instances testData = createTestData(new Attribute("outcome"));
+        testData.add(new DenseInstance(1.0, new double[] { 0.5, 1, 2.0 }));
+        testData.add(new SparseInstance(3.0, new double[] { 0.0, 0, 4.5 }));
+
+        double[] predictions = new double[] { 2.25, 4.0 };
+
+        File predictionFile = folder.newFile(Constants.FILENAME_PREDICTIONS);
+        WekaTestTask.writePredictionsSingleLabel(predictionFile, testData, null, predictions);
+
+        Instances written = load(predictionFile);
+
+        assertEquals(testData.numAttributes() + 1, written.numAttributes());
+        Attribute prediction = written.attribute(written.numAttributes() - 1);
+        assertEquals(Constants.PREDICTION_CLASS_LABEL_NAME, prediction.name());
+        assertTrue(prediction.isNumeric());
+
+        for (int i = 0; i < written.numInstances(); i++) {
+            weka.core.Instance expected = testData.instance(i);
+            weka.core.Instance actual = written.instance(i);
+
+            assertEquals(expected.weight(), actual.weight(), 0.0);
+            for (int j = 0; j < testData.numAttributes(); j++) {
+                assertEquals(expected.value(j), actual.value(j), 0.0);
+            }
+            assertEquals(predictions[i], actual.value(prediction), 0.0);
+        }
+    }
+
+    private Instances createTestData(Attribute outcome)
+    {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("f0"));
+        attributes.add(new Attribute("f1", Arrays.asList("a", "b")));
+        attributes.add(outcome);
+
+        Instances testData = new Instances("test", attributes, 0);
+        testData.setClassIndex(attributes.size() - 1);
+        return testData;
+    }
+
+    private Instances load(File file) throws Exception
+    {
+        ArffLoader loader = new ArffLoader();
+        loader.setFile(file);
+        return loader.getDataSet();
+    }
+}
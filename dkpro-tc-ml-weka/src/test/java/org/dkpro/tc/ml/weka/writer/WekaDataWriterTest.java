@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.weka.writer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dkpro.tc.api.features.Feature;
+import org.dkpro.tc.api.features.FeatureType;
+import org.dkpro.tc.api.features.Instance;
+import org.dkpro.tc.ml.weka.util.AttributeStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import weka.core.Attribute;
+import weka.core.SparseInstance;
+
+public class WekaDataWriterTest
+{
+    AttributeStore attributeStore;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        attributeStore = new AttributeStore();
+        attributeStore.addAttribute("f0", new Attribute("f0"));
+        attributeStore.addAttribute("f1", new Attribute("f1"));
+        attributeStore.addAttribute("f2", new Attribute("f2"));
+        attributeStore.addAttribute("f3", new Attribute("f3"));
+    }
+
+    @Test
+    public void testSparseInstance() throws Exception
+    {
+        List<Feature> features = new ArrayList<>();
+        features.add(new Feature("f3", 3.0, FeatureType.NUMERIC));
+        features.add(new Feature("unknown", 5.0, FeatureType.NUMERIC));
+        features.add(new Feature("f1", 1.0, FeatureType.NUMERIC));
+        features.add(new Feature("f2", 0.0, FeatureType.NUMERIC));
+
+        SparseInstance instance = new WekaDataWriter().getSparseInstance(attributeStore,
+                new Instance(features, "a"));
+
+        assertEquals(4, instance.numAttributes());
+        assertEquals(2, instance.numValues());
+        assertEquals(1, instance.index(0));
+        assertEquals(3, instance.index(1));
+        assertEquals(0.0, instance.value(0), 0.0);
+        assertEquals(1.0, instance.value(1), 0.0);
+        assertEquals(0.0, instance.value(2), 0.0);
+        assertEquals(3.0, instance.value(3), 0.0);
+    }
+
+    @Test
+    public void testLastDuplicateFeatureWins() throws Exception
+    {
+        List<Feature> features = new ArrayList<>();
+        features.add(new Feature("f2", 1.0, FeatureType.NUMERIC));
+        features.add(new Feature("f2", 2.0, FeatureType.NUMERIC));
+
+        SparseInstance instance = new WekaDataWriter().getSparseInstance(attributeStore,
+                new Instance(features, "a"));
+
+        assertEquals(1, instance.numValues());
+        assertEquals(2.0, instance.value(2), 0.0);
+    }
+}
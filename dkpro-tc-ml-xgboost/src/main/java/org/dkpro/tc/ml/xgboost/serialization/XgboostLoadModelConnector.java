@@ -42,7 +42,6 @@ public class XgboostLoadModelConnector
         File predictions = FileUtil.createTempFile("xgboostPrediction", ".txt");
         FileUtils.writeLines(predictions, UTF_8.toString(), predict);
 
-        predictions.deleteOnExit();
         return predictions;
     }
 
@@ -19,18 +19,23 @@ package org.dkpro.tc.ml;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.uima.analysis_engine.AnalysisEngineProcessException;
 import org.apache.uima.cas.AbstractCas;
 import org.apache.uima.cas.CAS;
 import org.apache.uima.cas.CASException;
+import org.apache.uima.cas.FeatureStructure;
 import org.apache.uima.cas.text.AnnotationFS;
 import org.apache.uima.fit.component.JCasMultiplier_ImplBase;
 import org.apache.uima.fit.descriptor.ConfigurationParameter;
 import org.apache.uima.fit.util.JCasUtil;
 import org.apache.uima.jcas.JCas;
+import org.apache.uima.jcas.cas.Sofa;
+import org.apache.uima.jcas.cas.TOP;
 import org.apache.uima.util.CasCopier;
 import org.dkpro.tc.api.type.JCasId;
 import org.dkpro.tc.api.type.TextClassificationSequence;
@@ -41,7 +46,8 @@ import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
 /*
  * This JCasMultiplier creates a new JCas for each TextClassificationUnit or
  * TextClassificationSequence annotation in the original JCas. All other
- * TextClassificationUnit and TextClassificationUnitSequence are removed.
+ * TextClassificationUnit and TextClassificationUnitSequence are not copied into the new JCas,
+ * i.e. only the annotations that belong to the split are transferred.
  */
 public class FoldClassificationUnitCasMultiplier
     extends JCasMultiplier_ImplBase
@@ -66,7 +72,6 @@ public class FoldClassificationUnitCasMultiplier
     private Integer seqCounter;
 
     private List<AnnotationFS> buf = new ArrayList<AnnotationFS>();
-    private List<TextClassificationTarget> seqModeUnitsCoveredBySequenceAnno = new ArrayList<>();
 
     int totalNum = 0;
     int annosPerCas = 0;
@@ -79,7 +84,6 @@ public class FoldClassificationUnitCasMultiplier
         unitCounter = 0;
         seqCounter = 0;
         totalNum = 0;
-        seqModeUnitsCoveredBySequenceAnno = new ArrayList<>();
 
         if (useSequences) {
             annotations = JCasUtil.select(aJCas, TextClassificationSequence.class);
@@ -142,8 +146,9 @@ public class FoldClassificationUnitCasMultiplier
         emptyJCas.setDocumentText(jCas.getDocumentText());
         CAS emptyCas = emptyJCas.getCas();
 
-        // Copy current CAS to the empty CAS.
-        CasCopier.copyCas(jCas.getCas(), emptyCas, false);
+        // Copy the current CAS to the empty CAS, leaving out the text classification annotations
+        // that do not belong to this split instead of copying and deleting them afterwards
+        copyWithoutTextClassificationAnnotations(emptyCas);
         JCas copyJCas;
         try {
             copyJCas = emptyCas.getJCas();
@@ -181,7 +186,6 @@ public class FoldClassificationUnitCasMultiplier
         String currentDocUri = DocumentMetaData.get(jCas).getDocumentUri() + "_" + subCASCounter;
         DocumentMetaData.get(copyJCas).setDocumentUri(currentDocUri);
 
-        deleteAllTextClassificationAnnotation(copyJCas);
         setTargetAnnotation(copyJCas);
 
         assignNewId(copyJCas);
@@ -210,12 +214,6 @@ public class FoldClassificationUnitCasMultiplier
                         s.getBegin(), s.getEnd());
                 seq.addToIndexes();
                 seq.setId(seqCounter++);
-
-                // re-add the units that are covered by those sequences
-                for (TextClassificationTarget u : seqModeUnitsCoveredBySequenceAnno) {
-                    u.addToIndexes();
-                }
-                seqModeUnitsCoveredBySequenceAnno = new ArrayList<>();
             }
         }
         else {
@@ -229,28 +227,40 @@ public class FoldClassificationUnitCasMultiplier
         }
     }
 
-    private void deleteAllTextClassificationAnnotation(JCas copyJCas)
+    private void copyWithoutTextClassificationAnnotations(CAS targetCas)
     {
+        // in sequence mode, the units covered by the sequences of this split are kept
+        Set<FeatureStructure> keep = new HashSet<>();
         if (useSequences) {
-            // record units covered by sequence
             for (AnnotationFS seq : buf) {
-                seqModeUnitsCoveredBySequenceAnno.addAll(JCasUtil.selectCovered(copyJCas,
-                        TextClassificationTarget.class, seq.getBegin(), seq.getEnd()));
-            }
-            for (TextClassificationSequence s : JCasUtil.select(copyJCas,
-                    TextClassificationSequence.class)) {
-                s.removeFromIndexes();
+                keep.addAll(JCasUtil.selectCovered(jCas, TextClassificationTarget.class,
+                        seq.getBegin(), seq.getEnd()));
             }
-            for (TextClassificationTarget u : JCasUtil.select(copyJCas,
-                    TextClassificationTarget.class)) {
-                u.removeFromIndexes();
+        }
+
+        CasCopier copier = new CasCopier(jCas.getCas(), targetCas);
+
+        // the other views are copied unchanged, only the view that is split is filtered
+        Iterator<CAS> views = jCas.getCas().getViewIterator();
+        while (views.hasNext()) {
+            CAS view = views.next();
+            if (!view.getViewName().equals(jCas.getViewName())) {
+                copier.copyCasView(view, true);
             }
         }
-        else {
-            for (TextClassificationTarget u : JCasUtil.select(copyJCas,
-                    TextClassificationTarget.class)) {
-                u.removeFromIndexes();
+
+        for (TOP fs : JCasUtil.selectAll(jCas)) {
+            if (fs instanceof Sofa) {
+                continue;
+            }
+            // the sequences are only replaced in sequence mode, unit mode keeps them as they are
+            if (useSequences && fs instanceof TextClassificationSequence) {
+                continue;
+            }
+            if (fs instanceof TextClassificationTarget && !keep.contains(fs)) {
+                continue;
             }
+            targetCas.addFsToIndexes(copier.copyFs(fs));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long-lived prediction process of an external classifier binary that keeps its model loaded
+ * between requests. Requests are written to the standard input of the process and the
+ * predictions are read back from its standard output. A response is framed by the number of
+ * records that were sent, a record in the output is either a single line or, for sequence taggers
+ * such as CRFsuite, a block of lines that is terminated by an empty line.
+ * 
+ * The framing requires that the binary writes each record as soon as it is complete. Binaries
+ * that write through the C standard library buffer their output when it is a pipe, the process is
+ * therefore started with line-buffered output by <code>stdbuf</code> where it is available, see
+ * {@link #isLineBufferingSupported()}. A request fails if the process does not write any output for {@link #setResponseTimeout(long)}
+ * milliseconds, instead of waiting forever for output that is stuck in a buffer.
+ */
+public class TcPredictionProcess
+    implements Closeable
+{
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = 60000;
+
+    private static final String[] STDBUF_LOCATIONS = { "/usr/bin/stdbuf", "/bin/stdbuf",
+            "/usr/local/bin/stdbuf" };
+
+    private final List<String> command;
+    private final boolean blankLineTerminated;
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BufferedReader reader;
+    private final ExecutorService requestWriter;
+    private final ExecutorService responseReader;
+
+    private long responseTimeout = DEFAULT_RESPONSE_TIMEOUT_MILLIS;
+
+    /**
+     * @param aCommand
+     *            the command that starts the binary in a mode in which it reads from standard
+     *            input and writes the predictions to standard output
+     * @param aBlankLineTerminated
+     *            true if each record in the output is terminated by an empty line, false if each
+     *            output line is a record of its own
+     * @throws IOException
+     *             if the process cannot be started
+     */
+    public TcPredictionProcess(List<String> aCommand, boolean aBlankLineTerminated)
+        throws IOException
+    {
+        command = new ArrayList<>(aCommand);
+        blankLineTerminated = aBlankLineTerminated;
+
+        ProcessBuilder pb = new ProcessBuilder(lineBuffered(command));
+        pb.redirectError(Redirect.INHERIT);
+        process = pb.start();
+
+        writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), UTF_8));
+        reader = new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8));
+
+        // Requests are written on their own thread, otherwise a large request could block on a
+        // full output pipe of the process which nobody reads yet
+        requestWriter = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "prediction-process-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        // Responses are read on their own thread, which lets a request time out if the process
+        // stops writing output
+        responseReader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "prediction-process-reader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Sets how long a request waits for the next output line of the process before it fails.
+     * 
+     * @param aMillis
+     *            the timeout in milliseconds, defaults to one minute
+     */
+    public void setResponseTimeout(long aMillis)
+    {
+        responseTimeout = aMillis;
+    }
+
+    /**
+     * Binaries that buffer their output when it is a pipe, such as CRFsuite, can only be used as
+     * prediction process if their output is line-buffered. Callers should fall back to a one-shot
+     * prediction if this is not supported on the current platform, e.g. on macOS or Windows.
+     * 
+     * @return true if <code>stdbuf</code> is available to start processes with line-buffered
+     *         output
+     */
+    public static boolean isLineBufferingSupported()
+    {
+        return findStdbuf() != null;
+    }
+
+    private static String findStdbuf()
+    {
+        for (String location : STDBUF_LOCATIONS) {
+            if (new File(location).canExecute()) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> lineBuffered(List<String> aCommand)
+    {
+        String stdbuf = findStdbuf();
+        if (stdbuf == null) {
+            return aCommand;
+        }
+        List<String> wrapped = new ArrayList<>();
+        wrapped.add(stdbuf);
+        wrapped.add("-oL");
+        wrapped.addAll(aCommand);
+        return wrapped;
+    }
+
+    /**
+     * Sends the request to the process and waits for the predictions of all records it contains.
+     * 
+     * @param aRequest
+     *            the feature information in the input format of the binary, the request must be
+     *            complete, i.e. the last record has to be terminated as well
+     * @param aNumberOfRecords
+     *            the number of records in the request
+     * @return the output lines of the process, including the empty lines that terminate records
+     * @throws IOException
+     *             if the process terminated or the communication with the process failed, the
+     *             process cannot be used anymore afterwards
+     */
+    public synchronized List<String> predict(String aRequest, int aNumberOfRecords)
+        throws IOException
+    {
+        if (!isAlive()) {
+            throw new IOException("The prediction process " + command + " is not running");
+        }
+
+        Future<?> request = requestWriter.submit(() -> {
+            writer.write(aRequest);
+            writer.flush();
+            return null;
+        });
+
+        AtomicInteger linesRead = new AtomicInteger();
+        Future<List<String>> response = responseReader
+                .submit(() -> readRecords(aNumberOfRecords, linesRead));
+
+        List<String> output;
+        try {
+            output = awaitResponse(response, linesRead);
+            request.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new IOException(e);
+        }
+        catch (ExecutionException e) {
+            abort();
+            throw new IOException(e.getCause());
+        }
+        catch (IOException e) {
+            abort();
+            throw e;
+        }
+
+        return output;
+    }
+
+    private List<String> readRecords(int aNumberOfRecords, AtomicInteger aLinesRead)
+        throws IOException
+    {
+        List<String> output = new ArrayList<>();
+        int records = 0;
+        while (records < aNumberOfRecords) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("The prediction process " + command + " terminated after ["
+                        + records + "] of [" + aNumberOfRecords + "] records");
+            }
+            output.add(line);
+            aLinesRead.incrementAndGet();
+            if (!blankLineTerminated || line.isEmpty()) {
+                records++;
+            }
+        }
+        return output;
+    }
+
+    private List<String> awaitResponse(Future<List<String>> aResponse, AtomicInteger aLinesRead)
+        throws InterruptedException, ExecutionException, IOException
+    {
+        int seen = 0;
+        while (true) {
+            try {
+                return aResponse.get(responseTimeout, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException e) {
+                int read = aLinesRead.get();
+                if (read == seen) {
+                    throw new IOException("The prediction process " + command
+                            + " wrote no output for [" + responseTimeout
+                            + "] ms, the binary might buffer its output");
+                }
+                seen = read;
+            }
+        }
+    }
+
+    public boolean isAlive()
+    {
+        return process.isAlive() && !requestWriter.isShutdown();
+    }
+
+    /**
+     * Closes the standard input of the process, which lets the binary terminate regularly. A
+     * process that does not terminate in time is killed.
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (requestWriter.isShutdown()) {
+            return;
+        }
+        requestWriter.shutdownNow();
+        responseReader.shutdownNow();
+
+        try {
+            writer.close();
+        }
+        catch (IOException e) {
+            // process already gone
+        }
+
+        try {
+            if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Kills the process after a failed request; the request writer might still block on the
+     * standard input of the process, which is released by killing the process first.
+     */
+    private void abort()
+    {
+        process.destroyForcibly();
+        requestWriter.shutdownNow();
+        responseReader.shutdownNow();
+    }
+}
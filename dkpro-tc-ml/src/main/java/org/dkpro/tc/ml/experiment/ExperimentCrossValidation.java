@@ -37,6 +37,7 @@ import org.dkpro.tc.api.exception.TextClassificationException;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.DKProTcShallowTestTask;
 import org.dkpro.tc.core.task.ExtractFeaturesTask;
+import org.dkpro.tc.core.task.FeatureCacheTask;
 import org.dkpro.tc.core.task.InitTask;
 import org.dkpro.tc.core.task.MetaInfoTask;
 import org.dkpro.tc.core.task.OutcomeCollectionTask;
@@ -52,11 +53,13 @@ public class ExperimentCrossValidation
 {
     protected Comparator<String> comparator;
     protected InitTask initTask;
+    protected FeatureCacheTask featureCacheTask;
     protected OutcomeCollectionTask collectionTask;
     protected MetaInfoTask metaTask;
     protected ExtractFeaturesTask extractFeaturesTrainTask;
     protected ExtractFeaturesTask extractFeaturesTestTask;
     protected TaskBase testTask;
+    protected boolean useFeatureCache = false;
 
     public ExperimentCrossValidation()
     {/* needed for Groovy */
@@ -106,6 +109,18 @@ public class ExperimentCrossValidation
         this.comparator = aComparator;        
     }
 
+    /**
+     * Extracts the features of feature extractors which do not depend on meta collection once
+     * before the folds are run instead of once per fold. Disabled by default.
+     * 
+     * @param useFeatureCache
+     *            use the feature cache
+     */
+    public void setUseFeatureCache(boolean useFeatureCache)
+    {
+        this.useFeatureCache = useFeatureCache;
+    }
+
     /**
      * Initializes the experiment. This is called automatically before execution. It's not done
      * directly in the constructor, because we want to be able to use setters instead of the
@@ -131,6 +146,15 @@ public class ExperimentCrossValidation
         initTask.setType(initTask.getType() + "-" + experimentName);
         initTask.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TRAIN.toString());
 
+        // features of fold-invariant extractors are extracted once for all folds
+        if (useFeatureCache) {
+            featureCacheTask = new FeatureCacheTask();
+            featureCacheTask.setType(featureCacheTask.getType() + "-" + experimentName);
+            featureCacheTask.setAttribute(TC_TASK_TYPE, TcTaskType.FEATURE_CACHE.toString());
+            featureCacheTask.addImport(initTask, InitTask.OUTPUT_KEY_TRAIN,
+                    FeatureCacheTask.INPUT_KEY);
+        }
+
         // inner batch task (carried out numFolds times)
         DefaultBatchTask crossValidationTask = new DefaultBatchTask()
         {
@@ -185,6 +209,7 @@ public class ExperimentCrossValidation
                 ExtractFeaturesTask.COLLECTION_INPUT_KEY);
         extractFeaturesTrainTask.setAttribute(TC_TASK_TYPE,
                 TcTaskType.FEATURE_EXTRACTION_TRAIN.toString());
+        addFeatureCacheImport(extractFeaturesTrainTask);
 
         // extracting features from test data (numFolds times)
         extractFeaturesTestTask = new ExtractFeaturesTask();
@@ -199,6 +224,7 @@ public class ExperimentCrossValidation
                 ExtractFeaturesTask.COLLECTION_INPUT_KEY);
         extractFeaturesTestTask.setAttribute(TC_TASK_TYPE,
                 TcTaskType.FEATURE_EXTRACTION_TEST.toString());
+        addFeatureCacheImport(extractFeaturesTestTask);
 
         // test task operating on the models of the feature extraction train and test tasks
         List<Report> reports = new ArrayList<>();
@@ -225,6 +251,9 @@ public class ExperimentCrossValidation
         // ================== CONFIG OF THE INNER BATCH TASK =======================
 
         crossValidationTask.addImport(initTask, InitTask.OUTPUT_KEY_TRAIN);
+        if (featureCacheTask != null) {
+            crossValidationTask.addImport(featureCacheTask, FeatureCacheTask.OUTPUT_KEY);
+        }
         crossValidationTask.setType(crossValidationTask.getType() + "-" + experimentName);
         crossValidationTask.addTask(collectionTask);
         crossValidationTask.addTask(metaTask);
@@ -240,9 +269,22 @@ public class ExperimentCrossValidation
 
         // DKPro Lab issue 38: must be added as *first* task
         addTask(initTask);
+        if (featureCacheTask != null) {
+            addTask(featureCacheTask);
+        }
         addTask(crossValidationTask);
     }
 
+    private void addFeatureCacheImport(ExtractFeaturesTask task)
+    {
+        if (featureCacheTask == null) {
+            return;
+        }
+        task.setUseFeatureCache(true);
+        task.addImport(featureCacheTask, FeatureCacheTask.OUTPUT_KEY,
+                ExtractFeaturesTask.FEATURE_CACHE_INPUT_KEY);
+    }
+
     /**
      * 
      * @param fileNames
@@ -47,6 +47,7 @@ public class ExperimentTrainTest
     protected ExtractFeaturesTask featuresTrainTask;
     protected ExtractFeaturesTask featuresTestTask;
     protected TaskBase testTask;
+    protected boolean useCasContainer = false;
 
     public ExperimentTrainTest()
     {/* needed for Groovy */
@@ -63,6 +64,18 @@ public class ExperimentTrainTest
         setAttribute(TC_TASK_TYPE, TcTaskType.EVALUATION.toString());
     }
 
+    /**
+     * Stores the preprocessed training and test data each in a single CAS container instead of
+     * one file per document. Disabled by default.
+     * 
+     * @param useCasContainer
+     *            use a CAS container
+     */
+    public void setUseCasContainer(boolean useCasContainer)
+    {
+        this.useCasContainer = useCasContainer;
+    }
+
     /**
      * Initializes the experiment. This is called automatically before execution. It's not done
      * directly in the constructor, because we want to be able to use setters instead of the
@@ -80,6 +93,7 @@ public class ExperimentTrainTest
         initTaskTrain = new InitTask();
         initTaskTrain.setPreprocessing(getPreprocessing());
         initTaskTrain.setOperativeViews(operativeViews);
+        initTaskTrain.setUseCasContainer(useCasContainer);
         initTaskTrain.setTesting(false);
         initTaskTrain.setType(initTaskTrain.getType() + "-Train-" + experimentName);
         initTaskTrain.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TRAIN.toString());
@@ -89,6 +103,7 @@ public class ExperimentTrainTest
         initTaskTest.setTesting(true);
         initTaskTest.setPreprocessing(getPreprocessing());
         initTaskTest.setOperativeViews(operativeViews);
+        initTaskTest.setUseCasContainer(useCasContainer);
         initTaskTest.setType(initTaskTest.getType() + "-Test-" + experimentName);
         initTaskTest.setAttribute(TC_TASK_TYPE, TcTaskType.INIT_TEST.toString());
 
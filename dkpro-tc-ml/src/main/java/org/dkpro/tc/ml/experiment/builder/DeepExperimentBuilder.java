@@ -53,6 +53,7 @@ public class DeepExperimentBuilder
     protected String embeddingPath;
     protected int maximumLength;
     protected boolean vectorize = true;
+    protected boolean numpy = false;
 
     /**
      * Creates an experiment builder object.
@@ -100,6 +101,10 @@ public class DeepExperimentBuilder
         dimensions.add(getAsDimensionReaders());
         dimensions.add(getAsDimensionPythonPath());
         dimensions.add(getAsDimensionVectorizeToInteger());
+
+        if (numpy) {
+            dimensions.add(Dimension.create(DIM_VECTORIZE_TO_NUMPY, numpy));
+        }
         
         if(maximumLength != -1) {
             dimensions.add(getAsDimensionMaximumLength());
@@ -453,4 +458,19 @@ public class DeepExperimentBuilder
         return this;
     }
 
+    /**
+     * If the integer vectors shall additionally be written as NumPy matrices, which are passed to
+     * the user code instead of the text files. Requires integer vectorization. Default is false
+     * 
+     * @param numpy
+     *          boolean if NumPy output is requested
+     * @return
+     *      the builder object
+     */
+    public DeepExperimentBuilder vectorizeToNumpy(boolean numpy)
+    {
+        this.numpy = numpy;
+        return this;
+    }
+
 }
@@ -86,6 +86,8 @@ public abstract class PreTrainedModelProviderAbstract
 
     protected AnalysisEngine engine;
 
+    protected AnalysisEngine conversionEngine;
+
     protected int jcasId;
     protected List<ExternalResourceDescription> featureExtractors;
 
@@ -114,10 +116,51 @@ public abstract class PreTrainedModelProviderAbstract
         catch (Exception e) {
             throw new ResourceInitializationException(e);
         }
+
+        if (conversionAnnotator != null && conversionAnnotator.length > 0) {
+            conversionEngine = createConversionEngine(conversionAnnotator);
+        }
+    }
+
+    private static AnalysisEngine createConversionEngine(String[] conversionAnnotator)
+        throws ResourceInitializationException
+    {
+        String name = conversionAnnotator[0];
+        Object[] parameters = new String[0];
+        if (conversionAnnotator.length > 1) {
+            parameters = new String[conversionAnnotator.length - 1];
+            System.arraycopy(conversionAnnotator, 1, parameters, 0, conversionAnnotator.length - 1);
+        }
+
+        Class<? extends AnalysisComponent> forName;
+        try {
+            forName = Class.forName(name).asSubclass(AnalysisComponent.class);
+        }
+        catch (ClassNotFoundException | ClassCastException e) {
+            throw new ResourceInitializationException(new IllegalArgumentException(
+                    "The conversion annotator [" + name + "] provided by parameter ["
+                            + PARAM_CONVERTION_ANNOTATOR + "] is not an available UIMA component",
+                    e));
+        }
+
+        return AnalysisEngineFactory.createEngine(forName, parameters);
     }
 
     protected abstract void validateUimaParameter();
 
+    @Override
+    public void destroy()
+    {
+        // lets the load model connector release the model data it shares with other instances
+        if (engine != null) {
+            engine.destroy();
+        }
+        if (conversionEngine != null) {
+            conversionEngine.destroy();
+        }
+        super.destroy();
+    }
+
 	/*
      * Produces a resource manager that is used when creating the engine which is aware of the class
      * files located in the model folder
@@ -214,23 +257,7 @@ public abstract class PreTrainedModelProviderAbstract
 
     protected void callConversionEngine(JCas aJCas) throws AnalysisEngineProcessException
     {
-        String name = conversionAnnotator[0];
-        Object[] parameters = new String[0];
-        if (conversionAnnotator.length > 1) {
-            parameters = new String[conversionAnnotator.length - 1];
-            System.arraycopy(conversionAnnotator, 1, parameters, 0, conversionAnnotator.length - 1);
-        }
-        try {
-            @SuppressWarnings("unchecked")
-            Class<? extends AnalysisComponent> forName = (Class<? extends AnalysisComponent>) Class
-                    .forName(name);
-            AnalysisEngine conversionEngine = AnalysisEngineFactory.createEngine(forName,
-                    parameters);
-            conversionEngine.process(aJCas);
-        }
-        catch (Exception e) {
-            throw new AnalysisEngineProcessException(e);
-        }
+        conversionEngine.process(aJCas);
 
         for (TextClassificationOutcome o : JCasUtil.select(aJCas,
                 TextClassificationOutcome.class)) {
@@ -47,6 +47,17 @@ public class PreTrainedModelProviderUnitMode extends PreTrainedModelProviderAbst
 	@ConfigurationParameter(name = PARAM_NAME_TARGET_ANNOTATION, mandatory = true)
 	private String targetName;
 
+	/**
+	 * If true, all units of a document are annotated at once and classified in a single run of the
+	 * model, i.e. one feature extraction pass and one call of the machine learning backend per
+	 * document. By default (false), each unit is classified on its own, which is required for
+	 * feature extractors that look at other {@link TextClassificationTarget} annotations than the
+	 * one being classified.
+	 */
+	public static final String PARAM_CLASSIFY_UNITS_AT_ONCE = "classifyUnitsAtOnce";
+	@ConfigurationParameter(name = PARAM_CLASSIFY_UNITS_AT_ONCE, mandatory = true, defaultValue = "false")
+	private boolean classifyUnitsAtOnce;
+
 	protected void validateUimaParameter() {
 		if (!featureMode.equals(FM_UNIT)) {
 			throw new IllegalArgumentException(
@@ -71,7 +82,11 @@ public class PreTrainedModelProviderUnitMode extends PreTrainedModelProviderAbst
 			id.addToIndexes();
 		}
 
-		processUnit(aJCas);
+		if (classifyUnitsAtOnce) {
+			processUnits(aJCas);
+		} else {
+			processUnit(aJCas);
+		}
 
 		if (conversionAnnotator != null && conversionAnnotator.length > 0) {
 			callConversionEngine(aJCas);
@@ -82,6 +97,34 @@ public class PreTrainedModelProviderUnitMode extends PreTrainedModelProviderAbst
 		}
 	}
 
+	private void processUnits(JCas aJCas) throws AnalysisEngineProcessException {
+		Type type = aJCas.getCas().getTypeSystem().getType(targetName);
+		List<AnnotationFS> targetAnnotation = new ArrayList<AnnotationFS>(CasUtil.select(aJCas.getCas(), type));
+		if (targetAnnotation.isEmpty()) {
+			return;
+		}
+
+		List<TextClassificationTarget> targets = new ArrayList<TextClassificationTarget>();
+		for (AnnotationFS target : targetAnnotation) {
+			TextClassificationTarget tcs = new TextClassificationTarget(aJCas, target.getBegin(), target.getEnd());
+			tcs.addToIndexes();
+			targets.add(tcs);
+
+			TextClassificationOutcome tco = new TextClassificationOutcome(aJCas, target.getBegin(), target.getEnd());
+			tco.setOutcome(Constants.TC_OUTCOME_DUMMY_VALUE);
+			tco.addToIndexes();
+		}
+
+		// the load model connector extracts and classifies the instances of all targets at once
+		// and sets the predictions on the outcome annotations
+		engine.process(aJCas);
+
+		// as in the unit by unit classification, only the outcomes remain
+		for (TextClassificationTarget tcs : targets) {
+			tcs.removeFromIndexes();
+		}
+	}
+
 	private void processUnit(JCas aJCas) throws AnalysisEngineProcessException {
 		Type type = aJCas.getCas().getTypeSystem().getType(targetName);
 		Collection<AnnotationFS> typeSelection = CasUtil.select(aJCas.getCas(), type);
@@ -29,6 +29,7 @@ import org.dkpro.lab.storage.impl.PropertiesAdapter;
 import org.dkpro.lab.task.Task;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.util.ReportUtils;
+import org.dkpro.tc.ml.report.util.Id2OutcomeStatistics;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 import org.dkpro.tc.ml.report.util.SortedKeyProperties;
 
@@ -53,30 +54,33 @@ public class BasicResultReport
         String learningMode = getDiscriminator(getContext().getStorageService(),
                 getContext().getId(), DIM_LEARNING_MODE);
 
+        // a single pass over the id2outcome file provides all measures
+        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
+                ID_OUTCOME_KEY);
+        Id2OutcomeStatistics statistics = Id2OutcomeStatistics.read(id2outcomeFile,
+                learningMode);
+
         Properties pa = new SortedKeyProperties();
-        pa = addPredictedResults(pa, learningMode);
+        pa = addPredictedResults(pa, id2outcomeFile, statistics);
         pa = addMajorityBaselineResults(pa, learningMode);
         pa = addRandomBaselineResult(pa, learningMode);
 
-        writeConfusionMatrixForSingleLabel(learningMode);
-        writeFScoreForSingleLabel(learningMode);
+        writeConfusionMatrixForSingleLabel(id2outcomeFile, statistics);
+        writeFScoreForSingleLabel(statistics);
 
         writeToDisk(pa);
     }
 
-    private void writeFScoreForSingleLabel(String learningMode) throws Exception
+    private void writeFScoreForSingleLabel(Id2OutcomeStatistics statistics) throws Exception
     {
-        if (!learningMode.equals(LM_SINGLE_LABEL)) {
+        if (!statistics.getLearningMode().equals(LM_SINGLE_LABEL)) {
             return;
         }
 
         File fscoreFile = getContext().getStorageService().locateKey(getContext().getId(),
                 FILE_SCORE_PER_CATEGORY + ".tsv");
 
-        File id2o = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
-
-        ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(id2o, learningMode);
+        ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(statistics);
         r.writeResults(fscoreFile);
     }
 
@@ -89,25 +93,25 @@ public class BasicResultReport
         }
     }
 
-    private void writeConfusionMatrixForSingleLabel(String learningMode) throws Exception
+    private void writeConfusionMatrixForSingleLabel(File id2outcomeFile,
+            Id2OutcomeStatistics statistics)
+        throws Exception
     {
-        if (!learningMode.equals(LM_SINGLE_LABEL)) {
+        if (!statistics.getLearningMode().equals(LM_SINGLE_LABEL)) {
             return;
         }
-        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
 
-        MetricComputationUtil.writeConfusionMatrix(id2outcomeFile,
+        MetricComputationUtil.writeConfusionMatrix(statistics,
                 new File(id2outcomeFile.getParentFile(), FILE_CONFUSION_MATRIX));
     }
 
-    private Properties addPredictedResults(Properties pa, String learningMode) throws Exception
+    private Properties addPredictedResults(Properties pa, File id2outcomeFile,
+            Id2OutcomeStatistics statistics)
+        throws Exception
     {
-        File id2outcomeFile = getContext().getStorageService().locateKey(getContext().getId(),
-                ID_OUTCOME_KEY);
+        MetricComputationUtil.checkNotEmpty(id2outcomeFile, statistics);
 
-        Map<String, String> resultMap = MetricComputationUtil.getResults(id2outcomeFile,
-                learningMode);
+        Map<String, String> resultMap = MetricComputationUtil.getResults(statistics);
 
         
         for (Entry<String, String> e : resultMap.entrySet()) {
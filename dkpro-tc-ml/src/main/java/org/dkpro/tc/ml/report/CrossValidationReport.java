@@ -35,6 +35,7 @@ import org.dkpro.lab.task.Task;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 import org.dkpro.tc.core.util.ReportUtils;
+import org.dkpro.tc.ml.report.util.Id2OutcomeStatistics;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 
 /**
@@ -106,8 +107,11 @@ public class CrossValidationReport
                 return;
             }
 
-            Map<String, String> results = MetricComputationUtil.getResults(combinedId2outcome,
+            // a single pass over the combined file provides all measures
+            Id2OutcomeStatistics statistics = Id2OutcomeStatistics.read(combinedId2outcome,
                     learningMode);
+            MetricComputationUtil.checkNotEmpty(combinedId2outcome, statistics);
+            Map<String, String> results = MetricComputationUtil.getResults(statistics);
             values.putAll(results);
 
             // add keys and values sorted by keys
@@ -130,14 +134,13 @@ public class CrossValidationReport
                 String matrixName = getMLSetup(id) + registerGetMapping(id) + "_"
                         + FILE_CONFUSION_MATRIX;
                 File confusionMatrix = getContext().getFile(matrixName, AccessMode.READWRITE);
-                MetricComputationUtil.writeConfusionMatrix(combinedId2outcome, confusionMatrix);
+                MetricComputationUtil.writeConfusionMatrix(statistics, confusionMatrix);
 
                 String catScoreName = getMLSetup(id) + registerGetMapping(id) + "_"
                         + FILE_SCORE_PER_CATEGORY + FILE_ENDING;
                 File fscoreFile = getContext().getStorageService().locateKey(getContext().getId(),
                         catScoreName);
-                ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(combinedId2outcome,
-                        learningMode);
+                ResultPerCategoryCalculator r = new ResultPerCategoryCalculator(statistics);
                 r.writeResults(fscoreFile);
 
                 sysoutResults(id, r, results);
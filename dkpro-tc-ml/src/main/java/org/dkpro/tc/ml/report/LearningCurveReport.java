@@ -27,12 +27,14 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 
 import org.apache.commons.io.FileUtils;
 import org.dkpro.lab.reporting.ChartUtil;
@@ -42,7 +44,7 @@ import org.dkpro.lab.task.impl.TaskBase;
 import org.dkpro.tc.core.Constants;
 import org.dkpro.tc.core.task.TcTaskTypeUtil;
 import org.dkpro.tc.core.util.ReportUtils;
-import org.dkpro.tc.ml.report.util.Tc2LtlabEvalConverter;
+import org.dkpro.tc.ml.report.util.Id2OutcomeStatistics;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.NumberAxis;
@@ -52,15 +54,6 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.xy.DefaultXYDataset;
 
-import de.unidue.ltl.evaluation.core.EvaluationData;
-import de.unidue.ltl.evaluation.measures.Accuracy;
-import de.unidue.ltl.evaluation.measures.EvaluationMeasure;
-import de.unidue.ltl.evaluation.measures.categorial.Fscore;
-import de.unidue.ltl.evaluation.measures.categorial.Precision;
-import de.unidue.ltl.evaluation.measures.categorial.Recall;
-import de.unidue.ltl.evaluation.measures.correlation.PearsonCorrelation;
-import de.unidue.ltl.evaluation.measures.correlation.SpearmanCorrelation;
-
 /**
  * Collects the final evaluation results in a cross validation setting.
  */
@@ -87,7 +80,6 @@ public class LearningCurveReport
 
     }
 
-    @SuppressWarnings("rawtypes")
     private Map<LearningCurveRunIdentifier, Map<Integer, List<File>>> writeOverallResults(String learningMode,
             StorageService store, Set<String> idPool)
         throws Exception
@@ -109,21 +101,22 @@ public class LearningCurveReport
 
         if (learningMode.equals(LM_SINGLE_LABEL)) {
             for (Entry<LearningCurveRunIdentifier,Map<Integer, List<File>>> e : dataMap.entrySet()) {
-                List<Double> stageAveraged = averagePerStage(e.getValue(), Accuracy.class, true);
-                writePlot(e.getKey().md5, stageAveraged, maxNumberFolds,
-                        Accuracy.class.getSimpleName());
+                List<Double> stageAveraged = averagePerStage(e.getValue(),
+                        Id2OutcomeStatistics::getAccuracy, learningMode);
+                writePlot(e.getKey().md5, stageAveraged, maxNumberFolds, "Accuracy");
             }
 
         }
         else if (learningMode.equals(LM_REGRESSION)) {
-            List<Class<? extends EvaluationMeasure>> regMetrics = new ArrayList<>();
-            regMetrics.add(PearsonCorrelation.class);
-            regMetrics.add(SpearmanCorrelation.class);
-            for (Class<? extends EvaluationMeasure> m : regMetrics) {
+            Map<String, ToDoubleFunction<Id2OutcomeStatistics>> regMetrics = new LinkedHashMap<>();
+            regMetrics.put("PearsonCorrelation", Id2OutcomeStatistics::getPearsonCorrelation);
+            regMetrics.put("SpearmanCorrelation", Id2OutcomeStatistics::getSpearmanCorrelation);
+            for (Entry<String, ToDoubleFunction<Id2OutcomeStatistics>> m : regMetrics.entrySet()) {
 
                 for (Entry<LearningCurveRunIdentifier,Map<Integer, List<File>>> e : dataMap.entrySet()) {
-                    List<Double> stageAveraged = averagePerStage(e.getValue(), m, false);
-                    writePlot(e.getKey().md5, stageAveraged, maxNumberFolds, m.getSimpleName());
+                    List<Double> stageAveraged = averagePerStage(e.getValue(), m.getValue(),
+                            learningMode);
+                    writePlot(e.getKey().md5, stageAveraged, maxNumberFolds, m.getKey());
                 }
             }
         }
@@ -139,9 +132,8 @@ public class LearningCurveReport
         return dataMap;
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     private List<Double> averagePerStage(Map<Integer, List<File>> map,
-            Class<? extends EvaluationMeasure> class1, boolean isSingleLabel)
+            ToDoubleFunction<Id2OutcomeStatistics> measure, String learningMode)
         throws Exception
     {
         List<Double> stageAveraged = new ArrayList<>();
@@ -149,26 +141,20 @@ public class LearningCurveReport
         List<Integer> keys = new ArrayList<Integer>(map.keySet());
         Collections.sort(keys);
         for (Integer numFolds : keys) {
-            List<File> st = map.get(numFolds);
-            EvaluationData stageData = new EvaluationData<>();
-            for (File f : st) {
-            	EvaluationData run=null;
-            	if(isSingleLabel) {
-                run = Tc2LtlabEvalConverter
-                        .convertSingleLabelModeId2Outcome(f);
-            	}else {
-            		run = Tc2LtlabEvalConverter
-                            .convertRegressionModeId2Outcome(f);
-            	}
-                stageData.registerBulk(run);
-            }
-            EvaluationMeasure measure = class1.getDeclaredConstructor(EvaluationData.class)
-                    .newInstance(stageData);
-            stageAveraged.add(measure.getResult());
+            stageAveraged.add(measure.applyAsDouble(readStage(map.get(numFolds), learningMode)));
         }
         return stageAveraged;
     }
 
+    private Id2OutcomeStatistics readStage(List<File> runs, String learningMode) throws Exception
+    {
+        Id2OutcomeStatistics stageData = new Id2OutcomeStatistics(learningMode);
+        for (File f : runs) {
+            stageData.add(f);
+        }
+        return stageData;
+    }
+
     private Map<LearningCurveRunIdentifier, Map<Integer, List<File>>> collectRuns(StorageService store,
             Set<String> collectSubtasks)
         throws Exception
@@ -481,27 +467,12 @@ public class LearningCurveReport
         List<Integer> keys = new ArrayList<Integer>(map.keySet());
         Collections.sort(keys);
         for (Integer numFolds : keys) {
-            List<File> st = map.get(numFolds);
-            EvaluationData<String> stageData = new EvaluationData<>();
-            for (File f : st) {
-                EvaluationData<String> run = Tc2LtlabEvalConverter
-                        .convertSingleLabelModeId2Outcome(f);
-                stageData.registerBulk(run);
-            }
-
-            Set<String> categories = new HashSet<>();
-            stageData.forEach(x -> {
-                categories.add(x.getGold());
-                categories.add(x.getPredicted());
-            });
+            Id2OutcomeStatistics stageData = readStage(map.get(numFolds), LM_SINGLE_LABEL);
 
-            Precision<String> precision = new Precision<>(stageData);
-            Recall<String> recall = new Recall<>(stageData);
-            Fscore<String> fscore = new Fscore<>(stageData);
             List<CategoricalPerformance> cp = new ArrayList<>();
-            for (String c : categories) {
-                cp.add(new CategoricalPerformance(c, precision.getPrecisionForLabel(c),
-                        recall.getRecallForLabel(c), fscore.getScoreForLabel(c)));
+            for (String c : stageData.getLabels()) {
+                cp.add(new CategoricalPerformance(c, stageData.getPrecision(c),
+                        stageData.getRecall(c), stageData.getFscore(c)));
             }
 
             Collections.sort(cp, new Comparator<CategoricalPerformance>()
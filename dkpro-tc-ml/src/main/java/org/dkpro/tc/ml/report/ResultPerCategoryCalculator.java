@@ -24,6 +24,7 @@ import java.util.Locale;
 
 import org.apache.commons.io.FileUtils;
 import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.report.util.Id2OutcomeStatistics;
 import org.dkpro.tc.ml.report.util.MetricComputationUtil;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -33,6 +34,7 @@ public class ResultPerCategoryCalculator
 {
     private File id2o;
     private String learningMode;
+    private Id2OutcomeStatistics statistics;
 
     public ResultPerCategoryCalculator(File id2o, String learningMode)
     {
@@ -44,11 +46,29 @@ public class ResultPerCategoryCalculator
         }
 
     }
+
+    /**
+     * Uses statistics that were already collected instead of reading the id2outcome file again
+     * 
+     * @param statistics
+     *            single-label statistics of an id2outcome file
+     */
+    public ResultPerCategoryCalculator(Id2OutcomeStatistics statistics)
+    {
+        this.statistics = statistics;
+        this.learningMode = statistics.getLearningMode();
+
+        if (!this.learningMode.equals(LM_SINGLE_LABEL)) {
+            throw new IllegalArgumentException("Single label mode required");
+        }
+    }
     
     public String getResults() throws Exception
     {
 
-        List<String[]> computeFScores = MetricComputationUtil.computePerCategoryResults(id2o, learningMode);
+        List<String[]> computeFScores = statistics != null
+                ? MetricComputationUtil.computePerCategoryResults(statistics)
+                : MetricComputationUtil.computePerCategoryResults(id2o, learningMode);
         
         NumberFormat nf = NumberFormat.getInstance(Locale.getDefault());
 
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.report.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.dkpro.tc.core.Constants;
+
+/**
+ * Accumulates the evaluation statistics of one or more id2outcome files in a single pass over each
+ * file. Only counts and sums are kept in memory, i.e. a confusion matrix for single-label
+ * classification, the moments of gold and predicted values for regression and match counts for
+ * multi-label classification. The Spearman correlation is the only measure that requires the
+ * regression values themselves, they are kept as primitive arrays.
+ */
+public class Id2OutcomeStatistics
+{
+    private static final int HEADER_LINES = 3;
+
+    private final String learningMode;
+
+    private long numLines;
+
+    private long numInstances;
+
+    // single-label
+    private Map<String, Map<String, Long>> confusion = new TreeMap<>();
+    private Map<String, Long> goldCounts = new HashMap<>();
+    private Map<String, Long> predictedCounts = new HashMap<>();
+    private long correct;
+
+    // regression
+    private double meanGold;
+    private double meanPredicted;
+    private double m2Gold;
+    private double m2Predicted;
+    private double coMoment;
+    private double sumSquaredError;
+    private double sumAbsoluteError;
+    private double[] goldValues = new double[0];
+    private double[] predictedValues = new double[0];
+
+    // multi-label
+    private long exactMatches;
+    private long hammingMismatches;
+    private long hammingPositions;
+    private double jaccardSum;
+
+    public Id2OutcomeStatistics(String learningMode)
+    {
+        if (learningMode == null) {
+            throw new IllegalArgumentException("The learning mode is null");
+        }
+        if (!learningMode.equals(Constants.LM_SINGLE_LABEL)
+                && !learningMode.equals(Constants.LM_REGRESSION)
+                && !learningMode.equals(Constants.LM_MULTI_LABEL)) {
+            throw new IllegalArgumentException(
+                    "Learning mode [" + learningMode + "] is not supported");
+        }
+        this.learningMode = learningMode;
+    }
+
+    /**
+     * Reads the statistics of a single id2outcome file.
+     * 
+     * @param id2outcome
+     *            the id2outcome file
+     * @param learningMode
+     *            the learning mode in which the file was created
+     * @return the statistics of the file
+     * @throws IOException
+     *             in case of an error
+     */
+    public static Id2OutcomeStatistics read(File id2outcome, String learningMode)
+        throws IOException
+    {
+        Id2OutcomeStatistics statistics = new Id2OutcomeStatistics(learningMode);
+        statistics.add(id2outcome);
+        return statistics;
+    }
+
+    /**
+     * Adds all predictions of an id2outcome file to the statistics.
+     * 
+     * @param id2outcome
+     *            the id2outcome file
+     * @throws IOException
+     *             in case of an error
+     */
+    public void add(File id2outcome) throws IOException
+    {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(id2outcome), UTF_8))) {
+
+            Map<String, String> labels = Collections.emptyMap();
+            int lineIdx = 0;
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                numLines++;
+                lineIdx++;
+
+                if (isRegression()) {
+                    // header and time stamp are comments, the labels are not needed
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                }
+                else if (lineIdx <= HEADER_LINES) {
+                    if (line.startsWith("#labels")) {
+                        labels = buildMappingFromHeader(line);
+                    }
+                    continue;
+                }
+
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                int lastIdx = line.lastIndexOf("=");
+                if (lastIdx < 0) {
+                    throw new IllegalArgumentException(
+                            "Index became negative when looking for an occurence of [=] in the string: ["
+                                    + line + "]");
+                }
+                String[] values = line.substring(lastIdx + 1).split(";");
+
+                if (isSingleLabel()) {
+                    addSingleLabel(label(labels, values[0]), label(labels, values[1]));
+                }
+                else if (isRegression()) {
+                    addRegression(Double.parseDouble(values[1]), Double.parseDouble(values[0]));
+                }
+                else {
+                    double threshold = Double.parseDouble(values[2]);
+                    addMultiLabel(values[1].split(","), values[0].split(","), threshold);
+                }
+                numInstances++;
+            }
+        }
+    }
+
+    private static String label(Map<String, String> labels, String id)
+    {
+        String label = labels.get(id);
+        return label != null ? label : id;
+    }
+
+    private void addSingleLabel(String prediction, String gold)
+    {
+        confusion.computeIfAbsent(gold, k -> new TreeMap<>()).merge(prediction, 1L, Long::sum);
+        goldCounts.merge(gold, 1L, Long::sum);
+        predictedCounts.merge(prediction, 1L, Long::sum);
+        if (gold.equals(prediction)) {
+            correct++;
+        }
+    }
+
+    private void addRegression(double gold, double prediction)
+    {
+        int n = (int) numInstances;
+        if (n == goldValues.length) {
+            int capacity = Math.max(16, n * 2);
+            goldValues = Arrays.copyOf(goldValues, capacity);
+            predictedValues = Arrays.copyOf(predictedValues, capacity);
+        }
+        goldValues[n] = gold;
+        predictedValues[n] = prediction;
+
+        // Welford's online algorithm for the (co-)variances
+        double count = n + 1;
+        double deltaGold = gold - meanGold;
+        double deltaPredicted = prediction - meanPredicted;
+        meanGold += deltaGold / count;
+        meanPredicted += deltaPredicted / count;
+        m2Gold += deltaGold * (gold - meanGold);
+        m2Predicted += deltaPredicted * (prediction - meanPredicted);
+        coMoment += deltaGold * (prediction - meanPredicted);
+
+        double error = prediction - gold;
+        sumSquaredError += error * error;
+        sumAbsoluteError += Math.abs(error);
+    }
+
+    private void addMultiLabel(String[] gold, String[] prediction, double threshold)
+    {
+        if (gold.length != prediction.length) {
+            throw new IllegalArgumentException("Gold and prediction vectors differ in length ["
+                    + gold.length + "] vs. [" + prediction.length + "]");
+        }
+
+        int intersection = 0;
+        int union = 0;
+        int mismatches = 0;
+        for (int i = 0; i < gold.length; i++) {
+            boolean g = Double.parseDouble(gold[i]) >= threshold;
+            boolean p = Double.parseDouble(prediction[i]) >= threshold;
+            if (g && p) {
+                intersection++;
+            }
+            if (g || p) {
+                union++;
+            }
+            if (g != p) {
+                mismatches++;
+            }
+        }
+
+        if (mismatches == 0) {
+            exactMatches++;
+        }
+        hammingMismatches += mismatches;
+        hammingPositions += gold.length;
+        jaccardSum += union == 0 ? 1.0 : (double) intersection / union;
+    }
+
+    private static Map<String, String> buildMappingFromHeader(String header)
+        throws IOException
+    {
+        Map<String, String> map = new HashMap<>();
+        for (String entry : header.replaceAll("#labels", "").trim().split(" ")) {
+            int indexOf = entry.indexOf("=");
+            if (indexOf < 0) {
+                continue;
+            }
+            map.put(entry.substring(0, indexOf).trim(),
+                    URLDecoder.decode(entry.substring(indexOf + 1).trim(), "utf-8"));
+        }
+        return map;
+    }
+
+    private boolean isSingleLabel()
+    {
+        return learningMode.equals(Constants.LM_SINGLE_LABEL);
+    }
+
+    private boolean isRegression()
+    {
+        return learningMode.equals(Constants.LM_REGRESSION);
+    }
+
+    public String getLearningMode()
+    {
+        return learningMode;
+    }
+
+    /**
+     * @return number of lines read, including header lines
+     */
+    public long getNumberOfLines()
+    {
+        return numLines;
+    }
+
+    public long getNumberOfInstances()
+    {
+        return numInstances;
+    }
+
+    public double getAccuracy()
+    {
+        return ratio(correct, numInstances);
+    }
+
+    /**
+     * In single-label classification every wrong prediction is a false positive for one label and
+     * a false negative for another one, the micro-averaged F-score thus equals the accuracy.
+     * 
+     * @return micro-averaged F-score
+     */
+    public double getMicroFscore()
+    {
+        return getAccuracy();
+    }
+
+    /**
+     * @return F-score averaged over all gold and predicted labels, undefined scores count as zero
+     */
+    public double getMacroFscore()
+    {
+        Set<String> labels = getLabels();
+        if (labels.isEmpty()) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (String l : labels) {
+            double f = getFscore(l);
+            sum += Double.isNaN(f) ? 0 : f;
+        }
+        return sum / labels.size();
+    }
+
+    /**
+     * @return sorted gold and predicted labels
+     */
+    public Set<String> getLabels()
+    {
+        Set<String> labels = new TreeSet<>(goldCounts.keySet());
+        labels.addAll(predictedCounts.keySet());
+        return labels;
+    }
+
+    /**
+     * @return sorted labels occurring in the gold standard
+     */
+    public Set<String> getGoldLabels()
+    {
+        return new TreeSet<>(goldCounts.keySet());
+    }
+
+    public long getGoldCount(String label)
+    {
+        return goldCounts.getOrDefault(label, 0L);
+    }
+
+    public long getCount(String gold, String prediction)
+    {
+        Map<String, Long> row = confusion.get(gold);
+        return row != null ? row.getOrDefault(prediction, 0L) : 0L;
+    }
+
+    public double getPrecision(String label)
+    {
+        return ratio(getCount(label, label), predictedCounts.getOrDefault(label, 0L));
+    }
+
+    public double getRecall(String label)
+    {
+        return ratio(getCount(label, label), getGoldCount(label));
+    }
+
+    public double getFscore(String label)
+    {
+        double p = getPrecision(label);
+        double r = getRecall(label);
+        return 2 * p * r / (p + r);
+    }
+
+    public double getPearsonCorrelation()
+    {
+        return coMoment / Math.sqrt(m2Gold * m2Predicted);
+    }
+
+    public double getSpearmanCorrelation()
+    {
+        int n = (int) numInstances;
+        double[] goldRanks = rank(goldValues, n);
+        double[] predictedRanks = rank(predictedValues, n);
+
+        double meanRank = (n + 1) / 2.0;
+        double co = 0;
+        double varGold = 0;
+        double varPredicted = 0;
+        for (int i = 0; i < n; i++) {
+            double g = goldRanks[i] - meanRank;
+            double p = predictedRanks[i] - meanRank;
+            co += g * p;
+            varGold += g * g;
+            varPredicted += p * p;
+        }
+        return co / Math.sqrt(varGold * varPredicted);
+    }
+
+    private static double[] rank(double[] values, int n)
+    {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double[] ranks = new double[n];
+        int i = 0;
+        while (i < n) {
+            int j = i;
+            while (j + 1 < n && values[order[j + 1]] == values[order[i]]) {
+                j++;
+            }
+            // ties share their average rank
+            double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                ranks[order[k]] = rank;
+            }
+            i = j + 1;
+        }
+        return ranks;
+    }
+
+    public double getMeanSquaredError()
+    {
+        return sumSquaredError / numInstances;
+    }
+
+    public double getMeanAbsoluteError()
+    {
+        return sumAbsoluteError / numInstances;
+    }
+
+    public double getExactMatchRatio()
+    {
+        return ratio(exactMatches, numInstances);
+    }
+
+    public double getHammingLoss()
+    {
+        return ratio(hammingMismatches, hammingPositions);
+    }
+
+    /**
+     * @return the Jaccard similarity of gold and predicted labels averaged over all instances
+     */
+    public double getMultilabelAccuracy()
+    {
+        return jaccardSum / numInstances;
+    }
+
+    private static double ratio(long numerator, long denominator)
+    {
+        return (double) numerator / denominator;
+    }
+}
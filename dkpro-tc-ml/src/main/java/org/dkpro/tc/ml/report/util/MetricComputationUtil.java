@@ -19,33 +19,17 @@ package org.dkpro.tc.ml.report.util;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.dkpro.tc.core.Constants;
 import static java.nio.charset.StandardCharsets.UTF_8;
-import de.tudarmstadt.ukp.dkpro.core.api.frequency.util.FrequencyDistribution;
-import de.unidue.ltl.evaluation.core.EvaluationData;
-import de.unidue.ltl.evaluation.measures.Accuracy;
-import de.unidue.ltl.evaluation.measures.EvaluationMeasure;
-import de.unidue.ltl.evaluation.measures.categorial.Fscore;
-import de.unidue.ltl.evaluation.measures.categorial.Precision;
-import de.unidue.ltl.evaluation.measures.categorial.Recall;
-import de.unidue.ltl.evaluation.measures.correlation.PearsonCorrelation;
-import de.unidue.ltl.evaluation.measures.correlation.SpearmanCorrelation;
-import de.unidue.ltl.evaluation.measures.multilabel.ExactMatchRatio;
-import de.unidue.ltl.evaluation.measures.multilabel.HammingLoss;
-import de.unidue.ltl.evaluation.measures.multilabel.MultilabelAccuracy;
-import de.unidue.ltl.evaluation.measures.regression.MeanAbsoluteError;
-import de.unidue.ltl.evaluation.measures.regression.MeanSquaredError;
-import de.unidue.ltl.evaluation.visualization.ConfusionMatrix;
 
 public class MetricComputationUtil {
 
@@ -65,55 +49,54 @@ public class MetricComputationUtil {
 			throw new IllegalArgumentException("The learning mode is null");
 		}
 
-		int numLines = FileUtils.readLines(id2o, UTF_8).size();
+		Id2OutcomeStatistics statistics = Id2OutcomeStatistics.read(id2o, mode);
+		checkNotEmpty(id2o, statistics);
+
+		return getResults(statistics);
+	}
+
+	/**
+	 * Ensures that the id2outcome file contained predictions besides its header
+	 * 
+	 * @param id2o       Id2outcome file
+	 * @param statistics the statistics read from the file
+	 */
+	public static void checkNotEmpty(File id2o, Id2OutcomeStatistics statistics) {
+		long numLines = statistics.getNumberOfLines();
 		if (numLines <= 3) {
 			throw new IllegalStateException("The provided file [" + id2o.getAbsolutePath()
 					+ "] appears empty, three lines of header are expected and found in total [" + numLines
 					+ "] in file");
 		}
+	}
 
+	/**
+	 * Computes the basic results from statistics that were already collected, see
+	 * {@link #getResults(File, String)}
+	 * 
+	 * @param statistics the statistics of an id2outcome file
+	 * @return a map with the computed results which depend on the learning mode
+	 */
+	public static Map<String, String> getResults(Id2OutcomeStatistics statistics) {
+
+		String mode = statistics.getLearningMode();
 		Map<String, String> map = new HashMap<>();
 
 		if (mode.equals(Constants.LM_SINGLE_LABEL)) {
-			EvaluationData<String> data = Tc2LtlabEvalConverter.convertSingleLabelModeId2Outcome(id2o);
-
-			Accuracy<String> acc = new Accuracy<>(data);
-			map.put(acc.getClass().getSimpleName(), localize(acc.getResult()));
-
-			Fscore<String> f = new Fscore<>(data);
-			map.put("Micro-F1", localize(f.getMicroFscore()));
-			map.put("Macro-F1", localize(f.getMacroFscore()));
+			map.put("Accuracy", localize(statistics.getAccuracy()));
+			map.put("Micro-F1", localize(statistics.getMicroFscore()));
+			map.put("Macro-F1", localize(statistics.getMacroFscore()));
 
 		} else if (mode.equals(Constants.LM_REGRESSION)) {
-
-			EvaluationData<Double> data = Tc2LtlabEvalConverter.convertRegressionModeId2Outcome(id2o);
-
-			EvaluationMeasure<?> m = new PearsonCorrelation(data);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
-
-			m = new SpearmanCorrelation(data);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
-
-			m = new MeanSquaredError(data);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
-
-			m = new MeanAbsoluteError(data);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
+			map.put("PearsonCorrelation", getExceptionFreeResult(statistics::getPearsonCorrelation));
+			map.put("SpearmanCorrelation", getExceptionFreeResult(statistics::getSpearmanCorrelation));
+			map.put("MeanSquaredError", getExceptionFreeResult(statistics::getMeanSquaredError));
+			map.put("MeanAbsoluteError", getExceptionFreeResult(statistics::getMeanAbsoluteError));
 
 		} else if (mode.equals(Constants.LM_MULTI_LABEL)) {
-
-			EvaluationData<String> data = Tc2LtlabEvalConverter.convertMultiLabelModeId2Outcome(id2o);
-
-			EvaluationMeasure<?> m = new ExactMatchRatio<>(data);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
-
-			EvaluationData<Integer> dataInt = Tc2LtlabEvalConverter.convertMultiLabelModeId2OutcomeUseInteger(id2o);
-
-			m = new HammingLoss(dataInt);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
-
-			m = new MultilabelAccuracy(dataInt);
-			map.put(m.getClass().getSimpleName(), getExceptionFreeResult(m));
+			map.put("ExactMatchRatio", getExceptionFreeResult(statistics::getExactMatchRatio));
+			map.put("HammingLoss", getExceptionFreeResult(statistics::getHammingLoss));
+			map.put("MultilabelAccuracy", getExceptionFreeResult(statistics::getMultilabelAccuracy));
 
 		}
 		return map;
@@ -129,28 +112,22 @@ public class MetricComputationUtil {
 			throw new IllegalArgumentException("This method computes FScore for single label");
 		}
 
-		List<String[]> fscores = new ArrayList<>();
-
-		EvaluationData<String> m = Tc2LtlabEvalConverter.convertSingleLabelModeId2Outcome(id2o);
-
-		FrequencyDistribution<String> fd = new FrequencyDistribution<>();
-		m.forEach(e -> fd.addSample(e.getGold(), 1));
+		return computePerCategoryResults(Id2OutcomeStatistics.read(id2o, mode));
+	}
 
-		Set<String> occurringLabels = new HashSet<>();
-		m.forEach(e -> occurringLabels.add(e.getGold()));
+	public static List<String[]> computePerCategoryResults(Id2OutcomeStatistics statistics) {
 
-		List<String> uniqueLabels = new ArrayList<>(occurringLabels);
-		Collections.sort(uniqueLabels);
+		if (!statistics.getLearningMode().equals(Constants.LM_SINGLE_LABEL)) {
+			throw new IllegalArgumentException("This method computes FScore for single label");
+		}
 
-		Fscore<String> score = new Fscore<>(m);
-		Precision<String> precision = new Precision<>(m);
-		Recall<String> recall = new Recall<>(m);
+		List<String[]> fscores = new ArrayList<>();
 
-		for (String l : uniqueLabels) {
-			Long n = fd.getCount(l);
-			Double p = precision.getPrecisionForLabel(l);
-			Double r = recall.getRecallForLabel(l);
-			Double f = score.getScoreForLabel(l);
+		for (String l : statistics.getGoldLabels()) {
+			Long n = statistics.getGoldCount(l);
+			Double p = statistics.getPrecision(l);
+			Double r = statistics.getRecall(l);
+			Double f = statistics.getFscore(l);
 			fscores.add(new String[] { l, n.toString(), localize(p), localize(r), localize(f) });
 		}
 
@@ -171,10 +148,53 @@ public class MetricComputationUtil {
 	 * @throws Exception In case of an error
 	 */
 	public static void writeConfusionMatrix(File id2outcome, File matrixFile) throws Exception {
-		EvaluationData<String> data = Tc2LtlabEvalConverter.convertSingleLabelModeId2Outcome(id2outcome);
+		writeConfusionMatrix(Id2OutcomeStatistics.read(id2outcome, Constants.LM_SINGLE_LABEL), matrixFile);
+	}
+
+	/**
+	 * Writes the confusion matrix of statistics that were already collected, see
+	 * {@link #writeConfusionMatrix(File, File)}
+	 * 
+	 * @param statistics The single-label statistics of an id2outcome file
+	 * @param matrixFile The file of the output marix
+	 * @throws Exception In case of an error
+	 */
+	public static void writeConfusionMatrix(Id2OutcomeStatistics statistics, File matrixFile) throws Exception {
+		FileUtils.writeStringToFile(matrixFile, getMatrix(statistics), UTF_8);
+	}
+
+	/**
+	 * Renders the confusion matrix from the counts of the statistics, the rows are
+	 * the gold labels and the columns the predicted labels
+	 * 
+	 * @param statistics The single-label statistics of an id2outcome file
+	 * @return the matrix as text
+	 */
+	private static String getMatrix(Id2OutcomeStatistics statistics) {
+		List<String> labels = new ArrayList<>(statistics.getLabels());
+
+		int width = 0;
+		for (String gold : labels) {
+			width = Math.max(width, gold.length());
+			for (String prediction : labels) {
+				width = Math.max(width, String.valueOf(statistics.getCount(gold, prediction)).length());
+			}
+		}
 
-		ConfusionMatrix<String> matrix = new ConfusionMatrix<>(data);
-		FileUtils.writeStringToFile(matrixFile, getMatrix(matrix), UTF_8);
+		StringBuilder sb = new StringBuilder();
+		sb.append(StringUtils.leftPad("", width));
+		for (String prediction : labels) {
+			sb.append(" ").append(StringUtils.leftPad(prediction, width));
+		}
+		sb.append("\n");
+		for (String gold : labels) {
+			sb.append(StringUtils.leftPad(gold, width));
+			for (String prediction : labels) {
+				sb.append(" ").append(StringUtils.leftPad(String.valueOf(statistics.getCount(gold, prediction)), width));
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
 	}
 
 	/**
@@ -185,25 +205,12 @@ public class MetricComputationUtil {
 	 * @return a string with the computed measure or the exception error message if
 	 *         an error occurred
 	 */
-	private static String getExceptionFreeResult(EvaluationMeasure<?> measure) {
+	private static String getExceptionFreeResult(Callable<Double> measure) {
 		String val = null;
 
 		try {
-			val = localize(measure.getResult());
-
-		} catch (Exception e) {
-			String stackTrace = ExceptionUtils.getStackTrace(e);
-			return "Exception occurred with following stack trace: [" + stackTrace + "]";
-		}
+			val = localize(measure.call());
 
-		return val;
-	}
-
-	private static String getMatrix(ConfusionMatrix<String> matrix) {
-		String val = "";
-
-		try {
-			val = matrix.toText();
 		} catch (Exception e) {
 			String stackTrace = ExceptionUtils.getStackTrace(e);
 			return "Exception occurred with following stack trace: [" + stackTrace + "]";
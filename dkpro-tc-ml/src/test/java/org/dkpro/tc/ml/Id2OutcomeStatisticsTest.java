@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+
+import org.dkpro.tc.core.Constants;
+import org.dkpro.tc.ml.report.util.Id2OutcomeStatistics;
+import org.dkpro.tc.ml.report.util.MetricComputationUtil;
+import org.dkpro.tc.ml.report.util.Tc2LtlabEvalConverter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.unidue.ltl.evaluation.core.EvaluationData;
+import de.unidue.ltl.evaluation.measures.Accuracy;
+import de.unidue.ltl.evaluation.measures.categorial.Fscore;
+import de.unidue.ltl.evaluation.measures.correlation.PearsonCorrelation;
+import de.unidue.ltl.evaluation.measures.correlation.SpearmanCorrelation;
+import de.unidue.ltl.evaluation.measures.multilabel.ExactMatchRatio;
+import de.unidue.ltl.evaluation.measures.multilabel.HammingLoss;
+import de.unidue.ltl.evaluation.measures.multilabel.MultilabelAccuracy;
+import de.unidue.ltl.evaluation.measures.regression.MeanAbsoluteError;
+import de.unidue.ltl.evaluation.measures.regression.MeanSquaredError;
+
+public class Id2OutcomeStatisticsTest
+{
+    private static final String FOLDER = "src/test/resources/id2outcome/convert/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSingleLabel() throws Exception
+    {
+        File id2o = new File(FOLDER + "singleLabelID2outcome.txt");
+        Id2OutcomeStatistics stats = Id2OutcomeStatistics.read(id2o, Constants.LM_SINGLE_LABEL);
+
+        assertEquals(11, stats.getNumberOfLines());
+        assertEquals(8, stats.getNumberOfInstances());
+
+        EvaluationData<String> data = Tc2LtlabEvalConverter.convertSingleLabelModeId2Outcome(id2o);
+        assertEquals(new Accuracy<>(data).getResult(), stats.getAccuracy(), 0.0001);
+        assertEquals(0.5, stats.getMicroFscore(), 0.0001);
+        Fscore<String> fscore = new Fscore<>(data);
+        assertEquals(fscore.getMicroFscore(), stats.getMicroFscore(), 0.0001);
+        assertEquals(fscore.getMacroFscore(), stats.getMacroFscore(), 0.0001);
+        assertEquals(fscore.getScoreForLabel("alt.atheism"), stats.getFscore("alt.atheism"),
+                0.0001);
+
+        assertEquals(new ArrayList<>(Arrays.asList("alt.atheism", "comp.graphics")),
+                new ArrayList<>(stats.getGoldLabels()));
+        assertEquals(4, stats.getGoldCount("alt.atheism"));
+        assertEquals(3, stats.getCount("alt.atheism", "comp.graphics"));
+
+        assertEquals(0.5, stats.getPrecision("alt.atheism"), 0.0001);
+        assertEquals(0.25, stats.getRecall("alt.atheism"), 0.0001);
+        assertEquals(0.3333, stats.getFscore("alt.atheism"), 0.0001);
+        assertEquals(0.5, stats.getPrecision("comp.graphics"), 0.0001);
+        assertEquals(0.75, stats.getRecall("comp.graphics"), 0.0001);
+        assertEquals(0.6, stats.getFscore("comp.graphics"), 0.0001);
+        assertEquals(0.4667, stats.getMacroFscore(), 0.0001);
+    }
+
+    @Test
+    public void testConfusionMatrixLayout() throws Exception
+    {
+        File id2o = new File(FOLDER + "singleLabelID2outcome.txt");
+        File matrixFile = folder.newFile(Constants.FILE_CONFUSION_MATRIX);
+        MetricComputationUtil.writeConfusionMatrix(
+                Id2OutcomeStatistics.read(id2o, Constants.LM_SINGLE_LABEL), matrixFile);
+
+        // rows are the gold labels, columns the predicted labels
+        assertEquals(
+                  "                alt.atheism comp.graphics\n"
+                + "  alt.atheism             1             3\n"
+                + "comp.graphics             1             3\n",
+                FileUtils.readFileToString(matrixFile, "utf-8"));
+    }
+
+    @Test
+    public void testAccumulateFiles() throws Exception
+    {
+        File id2o = new File(FOLDER + "singleLabelID2outcome.txt");
+        Id2OutcomeStatistics stats = new Id2OutcomeStatistics(Constants.LM_SINGLE_LABEL);
+        stats.add(id2o);
+        stats.add(id2o);
+
+        assertEquals(16, stats.getNumberOfInstances());
+        assertEquals(0.5, stats.getAccuracy(), 0.0001);
+        assertEquals(6, stats.getCount("alt.atheism", "comp.graphics"));
+    }
+
+    @Test
+    public void testRegression() throws Exception
+    {
+        File id2o = new File(FOLDER + "regressionID2outcome.txt");
+        Id2OutcomeStatistics stats = Id2OutcomeStatistics.read(id2o, Constants.LM_REGRESSION);
+
+        assertEquals(50, stats.getNumberOfInstances());
+
+        EvaluationData<Double> data = Tc2LtlabEvalConverter.convertRegressionModeId2Outcome(id2o);
+        assertEquals(new PearsonCorrelation(data).getResult(), stats.getPearsonCorrelation(),
+                0.0001);
+        assertEquals(new MeanSquaredError(data).getResult(), stats.getMeanSquaredError(), 0.0001);
+        assertEquals(new MeanAbsoluteError(data).getResult(), stats.getMeanAbsoluteError(),
+                0.0001);
+        assertEquals(new SpearmanCorrelation(data).getResult(), stats.getSpearmanCorrelation(),
+                0.0001);
+    }
+
+    @Test
+    public void testSpearmanWithTies() throws Exception
+    {
+        File id2o = folder.newFile("id2outcome.txt");
+        FileUtils.writeLines(id2o, "utf-8",
+                Arrays.asList("#ID=PREDICTION;GOLDSTANDARD;THRESHOLD", "#labels",
+                        "#Fri Jan 26 09:42:02 CET 2018", "a=1.0;1.0;0", "b=2.0;2.0;0",
+                        "c=3.0;2.0;0", "d=4.0;3.0;0"));
+        Id2OutcomeStatistics stats = Id2OutcomeStatistics.read(id2o, Constants.LM_REGRESSION);
+
+        assertEquals(4, stats.getNumberOfInstances());
+        assertEquals(0.9487, stats.getSpearmanCorrelation(), 0.0001);
+
+        EvaluationData<Double> data = Tc2LtlabEvalConverter.convertRegressionModeId2Outcome(id2o);
+        assertEquals(new SpearmanCorrelation(data).getResult(), stats.getSpearmanCorrelation(),
+                0.0001);
+    }
+
+    @Test
+    public void testMultiLabel() throws Exception
+    {
+        File id2o = new File(FOLDER + "multiLabelId2outcome.txt");
+        Id2OutcomeStatistics stats = Id2OutcomeStatistics.read(id2o, Constants.LM_MULTI_LABEL);
+
+        assertEquals(3, stats.getNumberOfInstances());
+        assertEquals(0.0, stats.getExactMatchRatio(), 0.0001);
+        assertEquals(0.2, stats.getHammingLoss(), 0.0001);
+        assertEquals(0.6111, stats.getMultilabelAccuracy(), 0.0001);
+
+        EvaluationData<String> data = Tc2LtlabEvalConverter.convertMultiLabelModeId2Outcome(id2o);
+        assertEquals(new ExactMatchRatio<>(data).getResult(), stats.getExactMatchRatio(), 0.0001);
+
+        EvaluationData<Integer> dataInt = Tc2LtlabEvalConverter
+                .convertMultiLabelModeId2OutcomeUseInteger(id2o);
+        assertEquals(new HammingLoss(dataInt).getResult(), stats.getHammingLoss(), 0.0001);
+        assertEquals(new MultilabelAccuracy(dataInt).getResult(), stats.getMultilabelAccuracy(),
+                0.0001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLearningMode()
+    {
+        new Id2OutcomeStatistics("unknown");
+    }
+}
@@ -42,6 +42,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import de.tudarmstadt.ukp.dkpro.core.api.metadata.type.DocumentMetaData;
+import de.tudarmstadt.ukp.dkpro.core.api.segmentation.type.Token;
 import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasReader;
 import de.tudarmstadt.ukp.dkpro.core.io.bincas.BinaryCasWriter;
 
@@ -192,6 +193,55 @@ public class TestFoldUtil
         assertEquals(new Integer(1), numTcusCas.get(12));
     }
 
+    @Test
+    public void testNoSeqSplittingKeepsOtherViews() throws Exception
+    {
+        TemporaryFolder tmpFoldViews = new TemporaryFolder();
+        tmpFoldViews.create();
+
+        JCas jcas = JCasFactory.createJCas();
+        jcas.setDocumentText("a b c d");
+        setUnit(jcas, 0, 1);
+        setUnit(jcas, 2, 3);
+        setUnit(jcas, 4, 5);
+        setUnit(jcas, 6, 7);
+
+        DocumentMetaData dmd = new DocumentMetaData(jcas);
+        dmd.setDocumentId("id");
+        dmd.addToIndexes();
+
+        createJCasIdAnnotation(jcas);
+
+        JCas otherView = jcas.createView("other");
+        otherView.setDocumentText("other text");
+        new Token(otherView, 0, 5).addToIndexes();
+        new Token(otherView, 6, 10).addToIndexes();
+
+        AnalysisEngine writer = AnalysisEngineFactory.createEngine(BinaryCasWriter.class,
+                BinaryCasWriter.PARAM_TARGET_LOCATION, tmpFoldViews.getRoot(),
+                BinaryCasWriter.PARAM_FORMAT, "6+");
+        writer.process(jcas);
+
+        File output = FoldUtil.createMinimalSplit(tmpFoldViews.getRoot().getAbsolutePath(), 2, 1,
+                false);
+
+        List<File> writtenBins = getWrittenBins(output);
+        assertEquals(2, writtenBins.size());
+
+        for (File f : writtenBins) {
+            JCas split = JCasFactory.createJCas();
+            createReader(split, f).getNext(split.getCas());
+
+            assertEquals(2, JCasUtil.select(split, TextClassificationTarget.class).size());
+
+            JCas splitOtherView = split.getView("other");
+            assertEquals("other text", splitOtherView.getDocumentText());
+            assertEquals(2, JCasUtil.select(splitOtherView, Token.class).size());
+        }
+
+        tmpFoldViews.delete();
+    }
+
     private List<Integer> countNumberOfTextClassificationUnitsPerCas(List<File> writtenBins)
         throws Exception
     {
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2019
+ * Ubiquitous Knowledge Processing (UKP) Lab
+ * Technische Universität Darmstadt
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.dkpro.tc.ml.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TcPredictionProcessTest
+{
+    private static final List<String> ECHO = Arrays.asList("cat");
+
+    @Before
+    public void setup()
+    {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    }
+
+    @Test
+    public void testLineRecords() throws Exception
+    {
+        try (TcPredictionProcess process = new TcPredictionProcess(ECHO, false)) {
+            assertEquals(Arrays.asList("1", "2"), process.predict("1\n2\n", 2));
+            assertEquals(Arrays.asList("3"), process.predict("3\n", 1));
+        }
+    }
+
+    @Test
+    public void testBlankLineTerminatedRecords() throws Exception
+    {
+        try (TcPredictionProcess process = new TcPredictionProcess(ECHO, true)) {
+            assertEquals(Arrays.asList("A", "B", "", "C", ""),
+                    process.predict("A\nB\n\nC\n\n", 2));
+            assertEquals(Arrays.asList("D", ""), process.predict("D\n\n", 1));
+        }
+    }
+
+    @Test
+    public void testRequestLargerThanPipeBuffer() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        int lines = 100000;
+        for (int i = 0; i < lines; i++) {
+            sb.append("label").append(i).append("\n");
+        }
+
+        try (TcPredictionProcess process = new TcPredictionProcess(ECHO, false)) {
+            List<String> output = process.predict(sb.toString(), lines);
+            assertEquals(lines, output.size());
+            assertEquals("label" + (lines - 1), output.get(lines - 1));
+        }
+    }
+
+    @Test
+    public void testBinaryThatBuffersItsOutput() throws Exception
+    {
+        // sed fully buffers its output to a pipe unless it is started by stdbuf
+        assumeTrue(new File("/usr/bin/stdbuf").canExecute()
+                || new File("/bin/stdbuf").canExecute());
+
+        try (TcPredictionProcess process = new TcPredictionProcess(
+                Arrays.asList("sed", "-e", "s/^/x/"), false)) {
+            process.setResponseTimeout(5000);
+            assertEquals(Arrays.asList("x1", "x2"), process.predict("1\n2\n", 2));
+            assertEquals(Arrays.asList("x3"), process.predict("3\n", 1));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTimeoutWithoutOutput() throws Exception
+    {
+        try (TcPredictionProcess process = new TcPredictionProcess(
+                Arrays.asList("sleep", "30"), false)) {
+            process.setResponseTimeout(200);
+            process.predict("1\n", 1);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testPredictAfterClose() throws Exception
+    {
+        TcPredictionProcess process = new TcPredictionProcess(ECHO, false);
+        process.close();
+        assertFalse(process.isAlive());
+        process.predict("1\n", 1);
+    }
+}